@@ -0,0 +1,29 @@
+package org.htsjdk.core.api;
+
+/**
+ * Any object with a position on a named contig, using 1-based, closed coordinates.
+ */
+public interface Locatable {
+
+    /**
+     * @return name of the contig this object is located on. Will not be null.
+     */
+    String getContig();
+
+    /**
+     * @return 1-based start position (inclusive)
+     */
+    int getStart();
+
+    /**
+     * @return 1-based end position (inclusive)
+     */
+    int getEnd();
+
+    /**
+     * @return number of bases spanned by this object
+     */
+    default int getLengthOnReference() {
+        return getEnd() - getStart() + 1;
+    }
+}
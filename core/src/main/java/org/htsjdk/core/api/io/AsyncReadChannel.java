@@ -0,0 +1,53 @@
+package org.htsjdk.core.api.io;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A channel for non-blocking positional reads from an {@link IOResource}. Reads may be issued concurrently
+ * from any number of threads, and complete independently of each other.
+ */
+public interface AsyncReadChannel extends Closeable {
+
+    /**
+     * Start reading a sequence of bytes from this channel into the given buffer, starting at the given position.
+     * The returned future completes with the number of bytes read, which may be less than
+     * {@code destination.remaining()}, or -1 if {@code position} is at or beyond the end of the resource.
+     *
+     * The buffer must not be used by the caller until the returned future completes.
+     *
+     * @param position position in the resource at which to start reading. Must be non-negative.
+     * @param destination the buffer into which bytes are to be transferred
+     * @return a future for the number of bytes read, or -1 at the end of the resource
+     */
+    CompletableFuture<Integer> readAsync(long position, ByteBuffer destination);
+
+    /**
+     * Start reading from this channel until the given buffer is full or the end of the resource is reached.
+     *
+     * @param position position in the resource at which to start reading. Must be non-negative.
+     * @param destination the buffer into which bytes are to be transferred
+     * @return a future for the total number of bytes read, or -1 if {@code position} is at the end of the resource
+     */
+    default CompletableFuture<Integer> readFullyAsync(final long position, final ByteBuffer destination) {
+        return readAsync(position, destination).thenCompose(bytesRead -> {
+            if (bytesRead <= 0 || !destination.hasRemaining()) {
+                return CompletableFuture.completedFuture(bytesRead);
+            }
+            return readFullyAsync(position + bytesRead, destination)
+                    .thenApply(remainingRead -> remainingRead < 0 ? bytesRead : bytesRead + remainingRead);
+        });
+    }
+
+    /**
+     * @return the current size of the resource, in bytes
+     */
+    long size();
+
+    /**
+     * Close this channel. Reads that have not completed may fail.
+     */
+    @Override
+    void close();
+}
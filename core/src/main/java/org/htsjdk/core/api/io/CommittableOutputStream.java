@@ -0,0 +1,48 @@
+package org.htsjdk.core.api.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that is either committed, making everything written visible in the resource, or aborted,
+ * leaving the resource as it was. Returned by {@link IOResource#getOutputStream(WriteOptions)}.
+ *
+ * With {@link WriteOptions#isAtomicCommit()}, closing a stream that has not been committed aborts it, so that
+ * an exception thrown from a try-with-resources block never publishes a partially written resource:
+ *
+ * <pre>{@code
+ * try (final CommittableOutputStream outputStream = resource.getOutputStream(writeOptions)) {
+ *     write(outputStream);
+ *     outputStream.commit();
+ * }
+ * }</pre>
+ *
+ * Without atomic commit, data is written to the resource in place, so closing the stream also commits it, and
+ * aborting it only stops writing.
+ */
+public abstract class CommittableOutputStream extends OutputStream {
+
+    /**
+     * Write the buffered bytes, sync if required by the {@link WriteOptions.SyncPolicy}, close the stream, and
+     * replace the resource with the data written if committing atomically. If anything fails, the resource is
+     * left as it was. Does nothing if the stream is already committed.
+     *
+     * @throws IOException if writing or committing failed, or the stream was closed without being committed
+     */
+    public abstract void commit() throws IOException;
+
+    /**
+     * Close the stream without committing: when committing atomically, the data written is discarded and the
+     * resource is left as it was. Does nothing if the stream is already closed.
+     *
+     * @throws IOException if closing the stream failed
+     */
+    public abstract void abort() throws IOException;
+
+    /**
+     * Commit the stream if it is not committed atomically, and abort it otherwise, unless it was already
+     * committed.
+     */
+    @Override
+    public abstract void close() throws IOException;
+}
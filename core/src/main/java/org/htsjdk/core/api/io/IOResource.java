@@ -3,8 +3,10 @@ package org.htsjdk.core.api.io;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface representing htsjdk-next input/output resources.
@@ -87,4 +89,44 @@ public interface IOResource {
      * @return {@code OutputStream} for this URI.
      */
     OutputStream getOutputStream();
+
+    /**
+     * Get an {@code OutputStream} for this resource that coalesces writes into large direct buffers, as configured
+     * by {@code writeOptions}. With {@link WriteOptions#isAtomicCommit()}, the resource is only replaced when the
+     * stream is {@link CommittableOutputStream#commit() committed}; closing it without committing leaves the
+     * resource as it was.
+     * @param writeOptions buffering, alignment, sync and commit options. May not be null.
+     * @return {@code CommittableOutputStream} for this URI.
+     */
+    CommittableOutputStream getOutputStream(WriteOptions writeOptions);
+
+    /**
+     * Get an {@code AsyncReadChannel} for non-blocking positional reads from this resource. Many reads can be
+     * in flight on the same channel at once. The caller is responsible for closing the channel.
+     * @return {@code AsyncReadChannel} for this resource.
+     */
+    AsyncReadChannel getAsyncReadChannel();
+
+    /**
+     * Get a new {@code PositionalReader} for thread-safe positional reads from this resource. To share a single
+     * reader between all the threads reading a resource, use
+     * {@link org.htsjdk.core.io.SharedPositionalReaders#acquire(IOResource)}. The caller is responsible for
+     * closing the reader.
+     * @return {@code PositionalReader} for this resource.
+     */
+    PositionalReader getPositionalReader();
+
+    /**
+     * Asynchronously read bytes from this resource, starting at {@code offset}, until {@code destination} is full
+     * or the end of the resource is reached. This opens and closes a channel for each call; callers issuing many
+     * reads against the same resource should use {@link #getAsyncReadChannel()} instead.
+     *
+     * @param offset position in the resource at which to start reading. Must be non-negative.
+     * @param destination the buffer into which bytes are to be transferred
+     * @return a future for the number of bytes read, or -1 if {@code offset} is at the end of the resource
+     */
+    default CompletableFuture<Integer> readAsync(final long offset, final ByteBuffer destination) {
+        final AsyncReadChannel channel = getAsyncReadChannel();
+        return channel.readFullyAsync(offset, destination).whenComplete((bytesRead, throwable) -> channel.close());
+    }
 }
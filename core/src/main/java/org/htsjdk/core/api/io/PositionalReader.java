@@ -0,0 +1,54 @@
+package org.htsjdk.core.api.io;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * A thread-safe reader for positional (pread-style) reads from an {@link IOResource}. Unlike a stream, a
+ * positional reader has no current position, so a single instance can be shared by any number of threads
+ * reading different parts of the resource at the same time.
+ *
+ * Implementations throw {@link org.htsjdk.core.exception.HtsjdkIOException} on I/O failure.
+ */
+public interface PositionalReader extends Closeable {
+
+    /**
+     * Read a sequence of bytes into the given buffer, starting at the given position in the resource.
+     *
+     * @param position position in the resource at which to start reading. Must be non-negative.
+     * @param destination the buffer into which bytes are to be transferred
+     * @return the number of bytes read, which may be less than {@code destination.remaining()}, or -1 if
+     * {@code position} is at or beyond the end of the resource
+     */
+    int read(long position, ByteBuffer destination);
+
+    /**
+     * Read bytes until the given buffer is full or the end of the resource is reached.
+     *
+     * @param position position in the resource at which to start reading. Must be non-negative.
+     * @param destination the buffer into which bytes are to be transferred
+     * @return the total number of bytes read, or -1 if {@code position} is at or beyond the end of the resource
+     */
+    default int readFully(final long position, final ByteBuffer destination) {
+        int totalRead = 0;
+        while (destination.hasRemaining()) {
+            final int bytesRead = read(position + totalRead, destination);
+            if (bytesRead < 0) {
+                return totalRead == 0 ? -1 : totalRead;
+            }
+            totalRead += bytesRead;
+        }
+        return totalRead;
+    }
+
+    /**
+     * @return the current size of the resource, in bytes
+     */
+    long size();
+
+    /**
+     * Close this reader. Must not be called while reads are still in progress.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,185 @@
+package org.htsjdk.core.api.io;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+/**
+ * Options for {@link IOResource#getOutputStream(WriteOptions)}, which returns a stream that coalesces writes
+ * into large direct buffers and writes them to the resource with gathering writes.
+ *
+ * Defaults suit sustained sequential writes of large files: {@value #DEFAULT_BUFFER_SIZE}-byte buffers, up to
+ * {@value #DEFAULT_MAX_BUFFERS} of which are written per system call, no alignment, an fsync on close, and
+ * no atomic commit.
+ */
+public final class WriteOptions {
+
+    /**
+     * Default size of each buffer, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Default number of full buffers accumulated before they are written with a single gathering write.
+     */
+    public static final int DEFAULT_MAX_BUFFERS = 4;
+
+    /**
+     * Options with all the defaults.
+     */
+    public static final WriteOptions DEFAULT = builder().build();
+
+    /**
+     * When data is forced to the storage device (fsync).
+     */
+    public enum SyncPolicy {
+        /** Never; data reaches the device when the operating system writes it back. */
+        NEVER,
+        /** Once, when the stream is committed (before an atomic commit, if enabled). */
+        ON_CLOSE,
+        /** On every {@link java.io.OutputStream#flush()}, and when the stream is committed. */
+        ON_FLUSH
+    }
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final int alignment;
+    private final SyncPolicy syncPolicy;
+    private final boolean atomicCommit;
+
+    private WriteOptions(final Builder builder) {
+        this.alignment = builder.alignment;
+        // buffers are a whole number of aligned blocks
+        this.bufferSize = alignment == 0 ? builder.bufferSize : Math.max(1, builder.bufferSize / alignment) * alignment;
+        this.maxBuffers = builder.maxBuffers;
+        this.syncPolicy = builder.syncPolicy;
+        this.atomicCommit = builder.atomicCommit;
+    }
+
+    /**
+     * @return a builder initialized with the defaults
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return size of each buffer, in bytes. A multiple of the alignment, if any.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return number of full buffers written per gathering write
+     */
+    public int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    /**
+     * @return block size to which the offset and length of every write, except the last, are aligned, or 0 for
+     * no alignment
+     */
+    public int getAlignment() {
+        return alignment;
+    }
+
+    /**
+     * @return when data is forced to the storage device
+     */
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    /**
+     * @return true if data is written to a temporary file, which atomically replaces the resource when the stream
+     * is committed
+     */
+    public boolean isAtomicCommit() {
+        return atomicCommit;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WriteOptions(bufferSize=%d, maxBuffers=%d, alignment=%d, syncPolicy=%s, atomicCommit=%b)",
+                bufferSize, maxBuffers, alignment, syncPolicy, atomicCommit);
+    }
+
+    /**
+     * Builder for {@link WriteOptions}.
+     */
+    public static final class Builder {
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private int maxBuffers = DEFAULT_MAX_BUFFERS;
+        private int alignment = 0;
+        private SyncPolicy syncPolicy = SyncPolicy.ON_CLOSE;
+        private boolean atomicCommit = false;
+
+        private Builder() {}
+
+        /**
+         * @param bufferSize size of each buffer, in bytes. Must be positive. Rounded down to a multiple of the
+         *                   alignment, if any.
+         * @return this builder
+         */
+        public Builder setBufferSize(final int bufferSize) {
+            ParamUtils.validate(bufferSize > 0, () -> "buffer size must be positive: " + bufferSize);
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * @param maxBuffers number of full buffers accumulated before they are written with a single gathering
+         *                   write. Must be positive.
+         * @return this builder
+         */
+        public Builder setMaxBuffers(final int maxBuffers) {
+            ParamUtils.validate(maxBuffers > 0, () -> "max buffers must be positive: " + maxBuffers);
+            this.maxBuffers = maxBuffers;
+            return this;
+        }
+
+        /**
+         * Align the offset and length of every write, except the last one on close, to a block size, as
+         * required for direct I/O (for example 4096 bytes). With alignment, {@link java.io.OutputStream#flush()}
+         * only writes whole blocks; the remainder is written on close.
+         *
+         * @param alignment block size, a power of two, or 0 for no alignment
+         * @return this builder
+         */
+        public Builder setAlignment(final int alignment) {
+            ParamUtils.validate(alignment >= 0 && (alignment & (alignment - 1)) == 0,
+                    () -> "alignment must be 0 or a power of two: " + alignment);
+            this.alignment = alignment;
+            return this;
+        }
+
+        /**
+         * @param syncPolicy when data is forced to the storage device. May not be null.
+         * @return this builder
+         */
+        public Builder setSyncPolicy(final SyncPolicy syncPolicy) {
+            this.syncPolicy = ParamUtils.nonNull(syncPolicy, () -> "sync policy cannot be null");
+            return this;
+        }
+
+        /**
+         * @param atomicCommit true to write to a temporary file next to the resource, and atomically move it
+         *                     over the resource when the stream is {@link CommittableOutputStream#commit()
+         *                     committed}, so that readers never observe a partially written resource. Closing
+         *                     the stream without committing discards the data. Committing fails, leaving the
+         *                     resource as it was, if the file system cannot move the file atomically.
+         * @return this builder
+         */
+        public Builder setAtomicCommit(final boolean atomicCommit) {
+            this.atomicCommit = atomicCommit;
+            return this;
+        }
+
+        /**
+         * @return the options
+         */
+        public WriteOptions build() {
+            return new WriteOptions(this);
+        }
+    }
+}
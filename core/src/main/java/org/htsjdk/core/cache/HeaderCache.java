@@ -0,0 +1,183 @@
+package org.htsjdk.core.cache;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache of decoded file headers, shared by all the readers of a process, so that reopening a file with a large
+ * header (tens of thousands of contigs or read groups) does not decode it again.
+ *
+ * Entries are keyed by resource URI, and validated against the {@link ResourceFingerprint} (size, modification
+ * time and file key) of the resource on every lookup, so a header is reloaded as soon as its file changes. A
+ * cache hit costs one metadata lookup. Resources that are not backed by a {@link java.nio.file.Path}, and so have
+ * no fingerprint, are never cached.
+ *
+ * When several threads request the header of the same resource at the same time, it is loaded only once, by
+ * the first of them, and the others wait for the result. A failed load is not cached.
+ *
+ * The cache holds at most {@code maxEntries} headers, evicting the least recently used. Since headers are shared,
+ * they must be immutable; a reader would typically keep its cache in a static field:
+ *
+ * <pre>
+ *     private static final HeaderCache&lt;CramHeader&gt; HEADER_CACHE =
+ *             new HeaderCache&lt;&gt;(HeaderCache.DEFAULT_MAX_ENTRIES, CramHeader::read);
+ * </pre>
+ *
+ * @param <H> type of the headers
+ */
+public final class HeaderCache<H> {
+
+    /**
+     * Default maximum number of cached headers.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final HeaderLoader<? extends H> loader;
+    private final Map<URI, Entry<H>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries maximum number of cached headers. Must be positive.
+     * @param loader reads the header of a resource on a cache miss. May not be null.
+     */
+    public HeaderCache(final int maxEntries, final HeaderLoader<? extends H> loader) {
+        ParamUtils.validate(maxEntries > 0, () -> "max entries must be positive: " + maxEntries);
+        this.loader = ParamUtils.nonNull(loader, () -> "loader cannot be null");
+        // access-ordered, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<URI, Entry<H>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<URI, Entry<H>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the header of a resource, loading it if it is not cached or the resource has changed.
+     *
+     * @param ioResource the resource. May not be null.
+     * @return the header
+     * @throws HtsjdkIOException if the header could not be loaded
+     */
+    public H get(final IOResource ioResource) {
+        ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+        final Optional<ResourceFingerprint> fingerprint = ResourceFingerprint.of(ioResource);
+        if (!fingerprint.isPresent()) {
+            misses.increment();
+            return load(ioResource);
+        }
+
+        final Entry<H> entry;
+        final boolean owner;
+        synchronized (entries) {
+            final Entry<H> existing = entries.get(ioResource.getURI());
+            owner = existing == null || !existing.fingerprint.equals(fingerprint.get());
+            if (owner) {
+                entry = new Entry<>(fingerprint.get());
+                entries.put(ioResource.getURI(), entry);
+            } else {
+                entry = existing;
+            }
+        }
+
+        if (owner) {
+            misses.increment();
+            try {
+                entry.header.complete(load(ioResource));
+            } catch (final RuntimeException | Error e) {
+                synchronized (entries) {
+                    entries.remove(ioResource.getURI(), entry);
+                }
+                entry.header.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            hits.increment();
+        }
+
+        try {
+            return entry.header.join();
+        } catch (final CompletionException e) {
+            // loaded by another thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HtsjdkException("Failed loading header of " + ioResource.getURIString(), e.getCause());
+        }
+    }
+
+    /**
+     * Remove the header of a resource from the cache, if present.
+     *
+     * @param ioResource the resource. May not be null.
+     */
+    public void invalidate(final IOResource ioResource) {
+        ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+        synchronized (entries) {
+            entries.remove(ioResource.getURI());
+        }
+    }
+
+    /**
+     * Remove all the cached headers.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return number of cached headers, including headers being loaded
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that loaded the header
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private H load(final IOResource ioResource) {
+        try {
+            return ParamUtils.nonNull(loader.load(ioResource), () -> "header loader returned null");
+        } catch (final IOException e) {
+            throw new HtsjdkIOException("Failed loading header of " + ioResource.getURIString(), e);
+        }
+    }
+
+    private static final class Entry<H> {
+        private final ResourceFingerprint fingerprint;
+        private final CompletableFuture<H> header = new CompletableFuture<>();
+
+        private Entry(final ResourceFingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
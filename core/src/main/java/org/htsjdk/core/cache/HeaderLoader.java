@@ -0,0 +1,23 @@
+package org.htsjdk.core.cache;
+
+import org.htsjdk.core.api.io.IOResource;
+
+import java.io.IOException;
+
+/**
+ * Reads the header of a resource, for a {@link HeaderCache}.
+ *
+ * @param <H> type of the header
+ */
+@FunctionalInterface
+public interface HeaderLoader<H> {
+
+    /**
+     * @param ioResource the resource whose header to read
+     * @return the header. Must be immutable (or at least safe to share between threads), and must not be null.
+     * Expensive parts that are not always needed should be decoded lazily, for example with
+     * {@link org.htsjdk.core.utils.Lazy}.
+     * @throws IOException if the header could not be read
+     */
+    H load(IOResource ioResource) throws IOException;
+}
@@ -0,0 +1,99 @@
+package org.htsjdk.core.cache;
+
+import org.htsjdk.core.api.io.IOResource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Identifies a version of a resource by its URI, size, modification time and, where the file system provides
+ * one, file key (for example the inode), so that a cached value can be checked against the current resource.
+ */
+public final class ResourceFingerprint {
+
+    private final URI uri;
+    private final long size;
+    private final long lastModifiedMillis;
+    private final Object fileKey;
+
+    private ResourceFingerprint(final URI uri, final long size, final long lastModifiedMillis, final Object fileKey) {
+        this.uri = uri;
+        this.size = size;
+        this.lastModifiedMillis = lastModifiedMillis;
+        this.fileKey = fileKey;
+    }
+
+    /**
+     * Read the current fingerprint of a resource. This costs a single metadata lookup ({@code stat}).
+     *
+     * @param ioResource the resource
+     * @return the fingerprint, or an empty optional if the resource is not backed by a {@link Path} or its
+     * attributes cannot be read
+     */
+    public static Optional<ResourceFingerprint> of(final IOResource ioResource) {
+        if (!ioResource.isPath()) {
+            return Optional.empty();
+        }
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(ioResource.toPath(), BasicFileAttributes.class);
+            return Optional.of(new ResourceFingerprint(
+                    ioResource.getURI(),
+                    attributes.size(),
+                    attributes.lastModifiedTime().toMillis(),
+                    attributes.fileKey()));
+        } catch (final IOException | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the URI of the resource
+     */
+    public URI getURI() {
+        return uri;
+    }
+
+    /**
+     * @return the size of the resource, in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the last modification time of the resource, in milliseconds since the epoch
+     */
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ResourceFingerprint that = (ResourceFingerprint) o;
+        return size == that.size
+                && lastModifiedMillis == that.lastModifiedMillis
+                && uri.equals(that.uri)
+                && Objects.equals(fileKey, that.fileKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(uri, size, lastModifiedMillis, fileKey);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (size %d, modified %d)", uri, size, lastModifiedMillis);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains process-wide caches of data decoded from resources, such as file headers.
+ */
+package org.htsjdk.core.cache;
@@ -0,0 +1,225 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32;
+
+/**
+ * CRCs of a sequence of blocks, computed in parallel, and combined into the CRC of their concatenation, as needed
+ * by block-based writers (BGZF members and CRAM blocks each carry their own CRC32, and the whole output its
+ * checksum) without a second pass over the data.
+ *
+ * {@link #combine} derives the CRC of a concatenation from the CRCs of its parts and the length of the second
+ * part, in {@code O(log(length))} time, so writers that already compute a CRC per block can also get the CRC of
+ * the whole output for free.
+ */
+public final class BlockChecksums {
+
+    // blocks are grouped into tasks of at least this many bytes, to amortize the scheduling overhead
+    private static final int MIN_TASK_BYTES = 1024 * 1024;
+
+    private final ChecksumAlgorithm algorithm;
+    private final long[] blockValues;
+    private final long combinedValue;
+    private final long totalLength;
+
+    private BlockChecksums(final ChecksumAlgorithm algorithm, final long[] blockValues, final long combinedValue, final long totalLength) {
+        this.algorithm = algorithm;
+        this.blockValues = blockValues;
+        this.combinedValue = combinedValue;
+        this.totalLength = totalLength;
+    }
+
+    /**
+     * Compute the CRCs of blocks in parallel, on the compute executor.
+     *
+     * @param blocks the blocks, from their position to their limit. Their positions are not modified. May not be
+     *               null.
+     * @param algorithm a CRC algorithm
+     * @param executorProvider provider of the compute executor. May not be null.
+     * @return the CRCs of the blocks, and of their concatenation
+     */
+    public static BlockChecksums compute(
+            final List<? extends ByteBuffer> blocks,
+            final ChecksumAlgorithm algorithm,
+            final ExecutorProvider executorProvider) {
+        ParamUtils.nonNull(blocks, () -> "blocks cannot be null");
+        ParamUtils.validate(algorithm.isCrc(), () -> algorithm + " is not a CRC");
+        ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+
+        final long[] blockValues = new long[blocks.size()];
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        int taskStart = 0;
+        long taskBytes = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            taskBytes += blocks.get(i).remaining();
+            if (taskBytes >= MIN_TASK_BYTES || i == blocks.size() - 1) {
+                final int first = taskStart;
+                final int last = i;
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    for (int block = first; block <= last; block++) {
+                        blockValues[block] = crc(algorithm, blocks.get(block));
+                    }
+                }, executorProvider.getComputeExecutor()));
+                taskStart = i + 1;
+                taskBytes = 0;
+            }
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HtsjdkException("Failed computing block checksums", e.getCause());
+        }
+
+        long combined = 0;
+        long totalLength = 0;
+        for (int i = 0; i < blockValues.length; i++) {
+            final int length = blocks.get(i).remaining();
+            combined = combine(algorithm, combined, blockValues[i], length);
+            totalLength += length;
+        }
+        return new BlockChecksums(algorithm, blockValues, combined, totalLength);
+    }
+
+    /**
+     * Compute the CRC of a buffer in parallel, by splitting it into blocks.
+     *
+     * @param data the data, from its position to its limit. Its position is not modified. May not be null.
+     * @param blockSize size of the blocks, in bytes; the last block may be shorter. Must be positive.
+     * @param algorithm a CRC algorithm
+     * @param executorProvider provider of the compute executor. May not be null.
+     * @return the CRCs of the blocks, and of the whole buffer
+     */
+    public static BlockChecksums compute(
+            final ByteBuffer data,
+            final int blockSize,
+            final ChecksumAlgorithm algorithm,
+            final ExecutorProvider executorProvider) {
+        ParamUtils.nonNull(data, () -> "data cannot be null");
+        ParamUtils.validate(blockSize > 0, () -> "block size must be positive: " + blockSize);
+        final List<ByteBuffer> blocks = new ArrayList<>();
+        for (int start = data.position(); start < data.limit(); start += Math.min(blockSize, data.limit() - start)) {
+            final ByteBuffer block = data.duplicate();
+            block.position(start).limit(Math.min(data.limit(), start + blockSize));
+            blocks.add(block);
+        }
+        return compute(blocks, algorithm, executorProvider);
+    }
+
+    /**
+     * Combine the CRCs of two consecutive sequences of bytes into the CRC of their concatenation.
+     *
+     * @param algorithm a CRC algorithm
+     * @param crc1 CRC of the first sequence
+     * @param crc2 CRC of the second sequence
+     * @param length2 length of the second sequence, in bytes. Must not be negative.
+     * @return the CRC of the first sequence followed by the second
+     */
+    public static long combine(final ChecksumAlgorithm algorithm, final long crc1, final long crc2, final long length2) {
+        ParamUtils.validate(algorithm.isCrc(), () -> algorithm + " is not a CRC");
+        ParamUtils.validate(length2 >= 0, () -> "length cannot be negative: " + length2);
+        if (length2 == 0) {
+            return crc1;
+        }
+        // Apply length2 zero bytes to crc1, by repeated squaring of the operator that applies one zero bit, as in
+        // zlib's crc32_combine; the CRC of the concatenation is then that XOR crc2.
+        int[] odd = new int[32];
+        int[] even = new int[32];
+        odd[0] = algorithm.getPolynomial();
+        for (int n = 1; n < 32; n++) {
+            odd[n] = 1 << (n - 1);
+        }
+        square(even, odd);  // two zero bits
+        square(odd, even);  // four zero bits
+
+        int crc = (int) crc1;
+        long remaining = length2;
+        // the first squaring gives the operator for one zero byte
+        do {
+            square(even, odd);
+            if ((remaining & 1) != 0) {
+                crc = times(even, crc);
+            }
+            remaining >>>= 1;
+            final int[] swap = odd;
+            odd = even;
+            even = swap;
+        } while (remaining != 0);
+        return (crc ^ (int) crc2) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return the algorithm of the CRCs
+     */
+    public ChecksumAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return number of blocks
+     */
+    public int getBlockCount() {
+        return blockValues.length;
+    }
+
+    /**
+     * @param blockIndex index of a block
+     * @return CRC of the block, as an unsigned 32-bit value
+     */
+    public long getBlockValue(final int blockIndex) {
+        return blockValues[ParamUtils.validateIndex(blockIndex, blockValues.length)];
+    }
+
+    /**
+     * @return CRC of the concatenation of all the blocks, as an unsigned 32-bit value
+     */
+    public long getCombinedValue() {
+        return combinedValue;
+    }
+
+    /**
+     * @return total length of the blocks, in bytes
+     */
+    public long getTotalLength() {
+        return totalLength;
+    }
+
+    private static long crc(final ChecksumAlgorithm algorithm, final ByteBuffer block) {
+        if (algorithm == ChecksumAlgorithm.CRC32) {
+            final CRC32 crc = new CRC32();
+            crc.update(block.duplicate());
+            return crc.getValue();
+        }
+        final Crc32c crc = new Crc32c();
+        crc.update(block.duplicate());
+        return crc.getValue();
+    }
+
+    // product of a 32x32 matrix over GF(2), stored by column, and a vector
+    private static int times(final int[] matrix, final int vector) {
+        int product = 0;
+        int remaining = vector;
+        for (int column = 0; remaining != 0; column++, remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                product ^= matrix[column];
+            }
+        }
+        return product;
+    }
+
+    private static void square(final int[] square, final int[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = times(matrix, matrix[n]);
+        }
+    }
+}
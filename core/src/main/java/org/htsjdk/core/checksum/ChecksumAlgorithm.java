@@ -0,0 +1,40 @@
+package org.htsjdk.core.checksum;
+
+/**
+ * Checksum algorithms supported by the checksumming streams and channels.
+ */
+public enum ChecksumAlgorithm {
+    /**
+     * CRC-32 (as used by zlib, gzip, BGZF and CRAM blocks).
+     */
+    CRC32(true, 0xEDB88320),
+    /**
+     * CRC-32C (Castagnoli), hardware-accelerated on most CPUs.
+     */
+    CRC32C(true, 0x82F63B78),
+    /**
+     * MD5 (as used for reference sequence checksums).
+     */
+    MD5(false, 0);
+
+    private final boolean isCrc;
+    // reversed polynomial, for CRCs
+    private final int polynomial;
+
+    ChecksumAlgorithm(final boolean isCrc, final int polynomial) {
+        this.isCrc = isCrc;
+        this.polynomial = polynomial;
+    }
+
+    /**
+     * @return true if this algorithm is a 32-bit CRC, whose value can be obtained as a {@code long}, and whose
+     * values can be combined by {@link BlockChecksums#combine}
+     */
+    public boolean isCrc() {
+        return isCrc;
+    }
+
+    int getPolynomial() {
+        return polynomial;
+    }
+}
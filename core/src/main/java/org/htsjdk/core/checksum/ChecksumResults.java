@@ -0,0 +1,81 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checksums of all the bytes that went through a checksumming stream or channel.
+ */
+public final class ChecksumResults {
+
+    private final Map<ChecksumAlgorithm, byte[]> digests;
+    private final long byteCount;
+
+    ChecksumResults(final Map<ChecksumAlgorithm, byte[]> digests, final long byteCount) {
+        this.digests = Collections.unmodifiableMap(new EnumMap<>(digests));
+        this.byteCount = byteCount;
+    }
+
+    /**
+     * @return number of bytes checksummed
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * @return the algorithms for which a checksum was computed
+     */
+    public Set<ChecksumAlgorithm> getAlgorithms() {
+        return digests.keySet();
+    }
+
+    /**
+     * @param algorithm a computed algorithm
+     * @return the checksum, as bytes. CRCs are big-endian.
+     */
+    public byte[] getDigest(final ChecksumAlgorithm algorithm) {
+        return getComputedDigest(algorithm).clone();
+    }
+
+    /**
+     * @param algorithm a computed algorithm
+     * @return the checksum, as lower case hexadecimal (for MD5, in the format of {@code md5sum})
+     */
+    public String getHexDigest(final ChecksumAlgorithm algorithm) {
+        final byte[] digest = getComputedDigest(algorithm);
+        final StringBuilder hex = new StringBuilder(2 * digest.length);
+        for (final byte b : digest) {
+            hex.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @param algorithm a computed CRC algorithm
+     * @return the CRC, as an unsigned 32-bit value
+     */
+    public long getCrc(final ChecksumAlgorithm algorithm) {
+        ParamUtils.validate(algorithm.isCrc(), () -> algorithm + " is not a CRC");
+        final byte[] digest = getComputedDigest(algorithm);
+        return (digest[0] & 0xFFL) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF);
+    }
+
+    private byte[] getComputedDigest(final ChecksumAlgorithm algorithm) {
+        final byte[] digest = digests.get(algorithm);
+        ParamUtils.validate(digest != null, () -> String.format("%s was not computed (computed: %s)", algorithm, digests.keySet()));
+        return digest;
+    }
+
+    @Override
+    public String toString() {
+        return digests.keySet().stream()
+                .map(algorithm -> algorithm + "=" + getHexDigest(algorithm))
+                .collect(Collectors.joining(", ", "ChecksumResults{bytes=" + byteCount + ", ", "}"));
+    }
+}
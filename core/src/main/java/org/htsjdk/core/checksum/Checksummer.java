@@ -0,0 +1,117 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Updates the checksums of several algorithms at once, for the checksumming streams and channels. Not thread-safe.
+ */
+final class Checksummer {
+
+    private final CRC32 crc32;
+    private final Crc32c crc32c;
+    private final MessageDigest md5;
+    private long byteCount;
+    private ChecksumResults results;
+
+    Checksummer(final Set<ChecksumAlgorithm> algorithms) {
+        ParamUtils.nonEmpty(algorithms, () -> "algorithms cannot be null or empty");
+        crc32 = algorithms.contains(ChecksumAlgorithm.CRC32) ? new CRC32() : null;
+        crc32c = algorithms.contains(ChecksumAlgorithm.CRC32C) ? new Crc32c() : null;
+        md5 = algorithms.contains(ChecksumAlgorithm.MD5) ? newMd5() : null;
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform is required to support MD5
+            throw new HtsjdkException("MD5 is not available", e);
+        }
+    }
+
+    void update(final int b) {
+        if (crc32 != null) {
+            crc32.update(b);
+        }
+        if (crc32c != null) {
+            crc32c.update(b);
+        }
+        if (md5 != null) {
+            md5.update((byte) b);
+        }
+        byteCount++;
+    }
+
+    void update(final byte[] bytes, final int offset, final int length) {
+        if (crc32 != null) {
+            crc32.update(bytes, offset, length);
+        }
+        if (crc32c != null) {
+            crc32c.update(bytes, offset, length);
+        }
+        if (md5 != null) {
+            md5.update(bytes, offset, length);
+        }
+        byteCount += length;
+    }
+
+    // checksum the bytes of buffer between start and its position, leaving the buffer unchanged
+    void updateRange(final ByteBuffer buffer, final int start) {
+        final ByteBuffer range = buffer.duplicate();
+        range.limit(range.position()).position(start);
+        final int length = range.remaining();
+        if (range.hasArray()) {
+            update(range.array(), range.arrayOffset() + range.position(), length);
+            return;
+        }
+        if (crc32 != null) {
+            crc32.update(range.duplicate());
+        }
+        if (crc32c != null) {
+            crc32c.update(range.duplicate());
+        }
+        if (md5 != null) {
+            md5.update(range.duplicate());
+        }
+        byteCount += length;
+    }
+
+    // compute the results once; later calls return the same results
+    ChecksumResults finish() {
+        if (results == null) {
+            final Map<ChecksumAlgorithm, byte[]> digests = new EnumMap<>(ChecksumAlgorithm.class);
+            if (crc32 != null) {
+                digests.put(ChecksumAlgorithm.CRC32, toBytes(crc32.getValue()));
+            }
+            if (crc32c != null) {
+                digests.put(ChecksumAlgorithm.CRC32C, toBytes(crc32c.getValue()));
+            }
+            if (md5 != null) {
+                digests.put(ChecksumAlgorithm.MD5, md5.digest());
+            }
+            results = new ChecksumResults(digests, byteCount);
+        }
+        return results;
+    }
+
+    // results, once finished
+    ChecksumResults getResults() {
+        if (results == null) {
+            throw new IllegalStateException("Checksums are only available once closed");
+        }
+        return results;
+    }
+
+    private static byte[] toBytes(final long crc) {
+        return new byte[] { (byte) (crc >>> 24), (byte) (crc >>> 16), (byte) (crc >>> 8), (byte) crc };
+    }
+}
@@ -0,0 +1,98 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * An input stream that computes checksums of the bytes read through it, as they are read. Skipped bytes are read
+ * and checksummed too, so that the checksums always cover the whole stream up to the last byte consumed. The
+ * checksums are available from {@link #getResults()} once the stream is closed.
+ */
+public final class ChecksummingInputStream extends FilterInputStream {
+
+    private final Checksummer checksummer;
+
+    /**
+     * @param inputStream the stream to read from. May not be null.
+     * @param algorithms the checksums to compute. May not be null or empty.
+     */
+    public ChecksummingInputStream(final InputStream inputStream, final Set<ChecksumAlgorithm> algorithms) {
+        super(ParamUtils.nonNull(inputStream, () -> "input stream cannot be null"));
+        this.checksummer = new Checksummer(algorithms);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = in.read();
+        if (b >= 0) {
+            checksummer.update(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final int count = in.read(b, off, len);
+        if (count > 0) {
+            checksummer.update(b, off, count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        // skipped bytes are read, so that they are included in the checksum
+        final byte[] skipped = new byte[(int) Math.min(n, 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            final int count = read(skipped, 0, (int) Math.min(remaining, skipped.length));
+            if (count < 0) {
+                break;
+            }
+            remaining -= count;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        // not supported: a reset would checksum bytes twice
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Close the underlying stream, and compute the checksums of the bytes read.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            checksummer.finish();
+        }
+    }
+
+    /**
+     * @return checksums of all the bytes read
+     * @throws IllegalStateException if the stream is not closed
+     */
+    public ChecksumResults getResults() {
+        return checksummer.getResults();
+    }
+}
@@ -0,0 +1,60 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * An output stream that computes checksums of the bytes written through it, as they are written, e.g. around
+ * the stream returned by {@link org.htsjdk.core.api.io.IOResource#getOutputStream()}, so that the checksums of
+ * an output are known without reading it back. The checksums are available from {@link #getResults()} once the
+ * stream is closed.
+ */
+public final class ChecksummingOutputStream extends FilterOutputStream {
+
+    private final Checksummer checksummer;
+
+    /**
+     * @param outputStream the stream to write to. May not be null.
+     * @param algorithms the checksums to compute. May not be null or empty.
+     */
+    public ChecksummingOutputStream(final OutputStream outputStream, final Set<ChecksumAlgorithm> algorithms) {
+        super(ParamUtils.nonNull(outputStream, () -> "output stream cannot be null"));
+        this.checksummer = new Checksummer(algorithms);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        out.write(b);
+        checksummer.update(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+        checksummer.update(b, off, len);
+    }
+
+    /**
+     * Close the underlying stream, and compute the checksums of the bytes written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            checksummer.finish();
+        }
+    }
+
+    /**
+     * @return checksums of all the bytes written
+     * @throws IllegalStateException if the stream is not closed
+     */
+    public ChecksumResults getResults() {
+        return checksummer.getResults();
+    }
+}
@@ -0,0 +1,62 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Set;
+
+/**
+ * A channel that computes checksums of the bytes read through it, as they are read. The checksums are available
+ * from {@link #getResults()} once the channel is closed.
+ */
+public final class ChecksummingReadableChannel implements ReadableByteChannel {
+
+    private final ReadableByteChannel channel;
+    private final Checksummer checksummer;
+
+    /**
+     * @param channel the channel to read from. May not be null.
+     * @param algorithms the checksums to compute. May not be null or empty.
+     */
+    public ChecksummingReadableChannel(final ReadableByteChannel channel, final Set<ChecksumAlgorithm> algorithms) {
+        this.channel = ParamUtils.nonNull(channel, () -> "channel cannot be null");
+        this.checksummer = new Checksummer(algorithms);
+    }
+
+    @Override
+    public int read(final ByteBuffer destination) throws IOException {
+        final int start = destination.position();
+        final int count = channel.read(destination);
+        if (count > 0) {
+            checksummer.updateRange(destination, start);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Close the underlying channel, and compute the checksums of the bytes read.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            checksummer.finish();
+        }
+    }
+
+    /**
+     * @return checksums of all the bytes read
+     * @throws IllegalStateException if the channel is not closed
+     */
+    public ChecksumResults getResults() {
+        return checksummer.getResults();
+    }
+}
@@ -0,0 +1,60 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Set;
+
+/**
+ * A channel that computes checksums of the bytes written through it, as they are written. The checksums are
+ * available from {@link #getResults()} once the channel is closed.
+ */
+public final class ChecksummingWritableChannel implements WritableByteChannel {
+
+    private final WritableByteChannel channel;
+    private final Checksummer checksummer;
+
+    /**
+     * @param channel the channel to write to. May not be null.
+     * @param algorithms the checksums to compute. May not be null or empty.
+     */
+    public ChecksummingWritableChannel(final WritableByteChannel channel, final Set<ChecksumAlgorithm> algorithms) {
+        this.channel = ParamUtils.nonNull(channel, () -> "channel cannot be null");
+        this.checksummer = new Checksummer(algorithms);
+    }
+
+    @Override
+    public int write(final ByteBuffer source) throws IOException {
+        final int start = source.position();
+        final int count = channel.write(source);
+        checksummer.updateRange(source, start);
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Close the underlying channel, and compute the checksums of the bytes written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            checksummer.finish();
+        }
+    }
+
+    /**
+     * @return checksums of all the bytes written
+     * @throws IllegalStateException if the channel is not closed
+     */
+    public ChecksumResults getResults() {
+        return checksummer.getResults();
+    }
+}
@@ -0,0 +1,90 @@
+package org.htsjdk.core.checksum;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * CRC-32C (Castagnoli) checksum.
+ *
+ * This class is replaced in the multi-release jar by a Java 21 version (src/main/java21) that delegates to
+ * {@code java.util.zip.CRC32C}, which the JIT compiles to CRC32C instructions; both versions must keep the same
+ * signatures. This version is a table-driven implementation processing 8 bytes per step (slicing-by-8).
+ */
+public final class Crc32c implements Checksum {
+
+    private static final int[][] TABLES = createTables();
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(final int b) {
+        crc = (crc >>> 8) ^ TABLES[0][(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(final byte[] b, final int off, final int len) {
+        int value = crc;
+        int index = off;
+        final int end = off + len;
+        for (; index + 8 <= end; index += 8) {
+            final int low = value
+                    ^ (b[index] & 0xFF) ^ (b[index + 1] & 0xFF) << 8 ^ (b[index + 2] & 0xFF) << 16 ^ (b[index + 3] & 0xFF) << 24;
+            value = TABLES[7][low & 0xFF] ^ TABLES[6][(low >>> 8) & 0xFF]
+                    ^ TABLES[5][(low >>> 16) & 0xFF] ^ TABLES[4][low >>> 24]
+                    ^ TABLES[3][b[index + 4] & 0xFF] ^ TABLES[2][b[index + 5] & 0xFF]
+                    ^ TABLES[1][b[index + 6] & 0xFF] ^ TABLES[0][b[index + 7] & 0xFF];
+        }
+        for (; index < end; index++) {
+            value = (value >>> 8) ^ TABLES[0][(value ^ b[index]) & 0xFF];
+        }
+        crc = value;
+    }
+
+    /**
+     * Update the checksum with the remaining bytes of a buffer.
+     *
+     * @param buffer the bytes, from its position to its limit. Its position is advanced to its limit.
+     */
+    public void update(final ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } else {
+            final byte[] chunk = new byte[Math.min(buffer.remaining(), 8192)];
+            while (buffer.hasRemaining()) {
+                final int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                update(chunk, 0, length);
+            }
+        }
+    }
+
+    @Override
+    public long getValue() {
+        return ~crc & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+
+    // TABLES[k][b] is the CRC of byte b followed by k zero bytes
+    private static int[][] createTables() {
+        final int polynomial = ChecksumAlgorithm.CRC32C.getPolynomial();
+        final int[][] tables = new int[8][256];
+        for (int b = 0; b < 256; b++) {
+            int value = b;
+            for (int bit = 0; bit < 8; bit++) {
+                value = (value & 1) != 0 ? (value >>> 1) ^ polynomial : value >>> 1;
+            }
+            tables[0][b] = value;
+        }
+        for (int b = 0; b < 256; b++) {
+            for (int k = 1; k < 8; k++) {
+                tables[k][b] = (tables[k - 1][b] >>> 8) ^ tables[0][tables[k - 1][b] & 0xFF];
+            }
+        }
+        return tables;
+    }
+}
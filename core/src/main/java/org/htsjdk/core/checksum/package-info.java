@@ -0,0 +1,5 @@
+/**
+ * Contains checksums computed incrementally as data flows through streams and channels (CRC32, CRC32C and MD5),
+ * and per-block CRCs computed in parallel and combined.
+ */
+package org.htsjdk.core.checksum;
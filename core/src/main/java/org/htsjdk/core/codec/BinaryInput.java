@@ -0,0 +1,163 @@
+package org.htsjdk.core.codec;
+
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads values written by {@link BinaryOutput} from a {@link ByteBuffer}.
+ *
+ * Methods throw {@link HtsjdkException} if the input is truncated or malformed.
+ */
+public final class BinaryInput {
+
+    private final SymbolTable symbols = new SymbolTable();
+    private final ByteBuffer buffer;
+
+    /**
+     * @param buffer the buffer to read, from its position to its limit. May not be null. The position of
+     *               {@code buffer} is not modified.
+     */
+    public BinaryInput(final ByteBuffer buffer) {
+        this.buffer = ParamUtils.nonNull(buffer, () -> "buffer cannot be null").slice();
+    }
+
+    /**
+     * @return true if there are bytes left to read
+     */
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * @return the next byte, as an unsigned value
+     */
+    public int readByte() {
+        try {
+            return buffer.get() & 0xFF;
+        } catch (final BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @param length number of bytes to read
+     * @return the next {@code length} bytes
+     */
+    public byte[] readBytes(final int length) {
+        ParamUtils.validate(length >= 0, () -> "length must be non-negative: " + length);
+        if (length > buffer.remaining()) {
+            throw truncated(null);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @return the next value, written by {@link BinaryOutput#writeInt(int)}
+     */
+    public int readInt() {
+        try {
+            return buffer.getInt();
+        } catch (final BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return the next value, written by {@link BinaryOutput#writeUnsignedInt(int)}
+     */
+    public int readUnsignedInt() {
+        try {
+            return Varints.readUnsignedInt(buffer);
+        } catch (final BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return the next value, written by {@link BinaryOutput#writeSignedInt(int)}
+     */
+    public int readSignedInt() {
+        try {
+            return Varints.readSignedInt(buffer);
+        } catch (final BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return the next value, written by {@link BinaryOutput#writeUnsignedLong(long)}
+     */
+    public long readUnsignedLong() {
+        try {
+            return Varints.readUnsignedLong(buffer);
+        } catch (final BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return the next value, written by {@link BinaryOutput#writeSignedLong(long)}
+     */
+    public long readSignedLong() {
+        try {
+            return Varints.readSignedLong(buffer);
+        } catch (final BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return the next string, written by {@link BinaryOutput#writeString(String)}
+     */
+    public String readString() {
+        return new String(readBytes(readLength()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the next symbol, written by {@link BinaryOutput#writeSymbol(String)}
+     */
+    public String readSymbol() {
+        final int code = readUnsignedInt();
+        if (code == 0) {
+            final String symbol = readString();
+            symbols.add(symbol);
+            return symbol;
+        }
+        final String symbol = symbols.getSymbol(code - 1);
+        if (symbol == null) {
+            throw new HtsjdkException(String.format(
+                    "Undefined symbol ID %d (%d symbols defined)", code - 1, symbols.size()));
+        }
+        return symbol;
+    }
+
+    /**
+     * @return the next bases, written by {@link BinaryOutput#writeBases(byte[])}
+     */
+    public byte[] readBases() {
+        final int length = readLength();
+        if (PackedBases.packedLength(length) > buffer.remaining()) {
+            throw truncated(null);
+        }
+        return PackedBases.unpack(buffer, length);
+    }
+
+    // a length prefix, which is malformed if it does not fit in a non-negative int
+    private int readLength() {
+        final int length = readUnsignedInt();
+        if (length < 0) {
+            throw new HtsjdkException("Malformed binary input: invalid length " + Integer.toUnsignedString(length));
+        }
+        return length;
+    }
+
+    private static HtsjdkException truncated(final Throwable cause) {
+        return new HtsjdkException("Unexpected end of binary input", cause);
+    }
+}
@@ -0,0 +1,213 @@
+package org.htsjdk.core.codec;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A growable buffer to which a {@link RecordCodec} encodes records.
+ *
+ * Besides fixed-width and variable-length integers, it writes strings, symbols (repeated strings, written in
+ * full on first use and as a small integer ID afterwards, see {@link #writeSymbol(String)}) and packed bases.
+ * Symbol IDs are scoped to the output, and are reset by {@link #clear()}, so each buffer produced is
+ * self-contained.
+ */
+public final class BinaryOutput {
+
+    /**
+     * Default initial capacity of the output buffer.
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 64 * 1024;
+
+    private final SymbolTable symbols = new SymbolTable();
+    private ByteBuffer buffer;
+
+    /**
+     * Create an output with a capacity of {@link #DEFAULT_INITIAL_CAPACITY} bytes.
+     */
+    public BinaryOutput() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity initial capacity of the buffer, in bytes. Must be positive.
+     */
+    public BinaryOutput(final int initialCapacity) {
+        ParamUtils.validate(initialCapacity > 0, () -> "initial capacity must be positive: " + initialCapacity);
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * @param value the byte to write
+     * @return this output
+     */
+    public BinaryOutput writeByte(final int value) {
+        ensureRemaining(1);
+        buffer.put((byte) value);
+        return this;
+    }
+
+    /**
+     * @param bytes the bytes to write. The length is not written.
+     * @return this output
+     */
+    public BinaryOutput writeBytes(final byte[] bytes) {
+        ensureRemaining(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    /**
+     * @param value a value to write as 4 bytes, big-endian
+     * @return this output
+     */
+    public BinaryOutput writeInt(final int value) {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        return this;
+    }
+
+    /**
+     * Overwrite 4 bytes already written, for example to fill in a count that was not known in advance.
+     *
+     * @param position offset of the first byte to overwrite. {@code position + 4} must not exceed {@link #size()}.
+     * @param value the value to write as 4 bytes, big-endian
+     * @return this output
+     */
+    public BinaryOutput setInt(final int position, final int value) {
+        ParamUtils.validate(position >= 0 && position <= size() - Integer.BYTES,
+                () -> String.format("position %d is outside the %d bytes written", position, size()));
+        buffer.putInt(position, value);
+        return this;
+    }
+
+    /**
+     * @param value a value to write as an unsigned varint (see {@link Varints})
+     * @return this output
+     */
+    public BinaryOutput writeUnsignedInt(final int value) {
+        ensureRemaining(Varints.MAX_INT_BYTES);
+        Varints.writeUnsignedInt(buffer, value);
+        return this;
+    }
+
+    /**
+     * @param value a value to write as a zig-zag varint (see {@link Varints})
+     * @return this output
+     */
+    public BinaryOutput writeSignedInt(final int value) {
+        ensureRemaining(Varints.MAX_INT_BYTES);
+        Varints.writeSignedInt(buffer, value);
+        return this;
+    }
+
+    /**
+     * @param value a value to write as an unsigned varint (see {@link Varints})
+     * @return this output
+     */
+    public BinaryOutput writeUnsignedLong(final long value) {
+        ensureRemaining(Varints.MAX_LONG_BYTES);
+        Varints.writeUnsignedLong(buffer, value);
+        return this;
+    }
+
+    /**
+     * @param value a value to write as a zig-zag varint (see {@link Varints})
+     * @return this output
+     */
+    public BinaryOutput writeSignedLong(final long value) {
+        ensureRemaining(Varints.MAX_LONG_BYTES);
+        Varints.writeSignedLong(buffer, value);
+        return this;
+    }
+
+    /**
+     * Write a string as its UTF-8 length followed by its UTF-8 bytes.
+     *
+     * @param value the string to write. May not be null.
+     * @return this output
+     */
+    public BinaryOutput writeString(final String value) {
+        ParamUtils.nonNull(value, () -> "string cannot be null");
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedInt(bytes.length);
+        return writeBytes(bytes);
+    }
+
+    /**
+     * Write a string drawn from a small set of distinct values. The first occurrence is written as {@code 0}
+     * followed by the string, and assigned the next ID; subsequent occurrences are written as {@code ID + 1}.
+     *
+     * @param symbol the symbol to write. May not be null.
+     * @return this output
+     */
+    public BinaryOutput writeSymbol(final String symbol) {
+        ParamUtils.nonNull(symbol, () -> "symbol cannot be null");
+        final int id = symbols.getId(symbol);
+        if (id >= 0) {
+            return writeUnsignedInt(id + 1);
+        }
+        symbols.add(symbol);
+        writeUnsignedInt(0);
+        return writeString(symbol);
+    }
+
+    /**
+     * Write bases as their count followed by the bases packed two per byte (see {@link PackedBases}).
+     *
+     * @param bases the bases to write. May not be null.
+     * @return this output
+     */
+    public BinaryOutput writeBases(final byte[] bases) {
+        ParamUtils.nonNull(bases, () -> "bases cannot be null");
+        writeUnsignedInt(bases.length);
+        ensureRemaining(PackedBases.packedLength(bases.length));
+        PackedBases.pack(buffer, bases);
+        return this;
+    }
+
+    /**
+     * @return number of bytes written since the output was created or last cleared
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * @return current capacity of the buffer, in bytes, which grows as needed
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return a read-only buffer over the bytes written, from position 0 to {@link #size()}. The buffer shares
+     * its content with this output, so it is only valid until the next write or {@link #clear()}.
+     */
+    public ByteBuffer getBuffer() {
+        final ByteBuffer view = buffer.duplicate();
+        view.flip();
+        return view.asReadOnlyBuffer();
+    }
+
+    /**
+     * Discard the bytes and the symbols written, so that the output can be reused.
+     */
+    public void clear() {
+        buffer.clear();
+        symbols.clear();
+    }
+
+    private void ensureRemaining(final int bytes) {
+        if (buffer.remaining() < bytes) {
+            final long required = (long) buffer.position() + bytes;
+            ParamUtils.validate(required <= Integer.MAX_VALUE - 8, () -> "output is too large: " + required);
+            final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, 2L * buffer.capacity()));
+            final ByteBuffer resized = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            resized.put(buffer);
+            buffer = resized;
+        }
+    }
+}
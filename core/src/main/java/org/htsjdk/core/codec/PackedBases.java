@@ -0,0 +1,75 @@
+package org.htsjdk.core.codec;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Packs bases two per byte, using the 4-bit codes of the BAM format ({@code =ACMGRSVTWYHKDBN}), high nibble
+ * first. Lower-case bases are packed as their upper-case equivalent, and any other character as {@code N}.
+ */
+public final class PackedBases {
+
+    private static final byte[] CODE_TO_BASE = "=ACMGRSVTWYHKDBN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE_TO_CODE = new byte[256];
+
+    static {
+        Arrays.fill(BASE_TO_CODE, (byte) 15);
+        for (int code = 0; code < CODE_TO_BASE.length; code++) {
+            BASE_TO_CODE[CODE_TO_BASE[code]] = (byte) code;
+            BASE_TO_CODE[Character.toLowerCase(CODE_TO_BASE[code])] = (byte) code;
+        }
+    }
+
+    // cannot be instantiated
+    private PackedBases() {}
+
+    /**
+     * @param length number of bases
+     * @return number of bytes used to pack {@code length} bases
+     */
+    public static int packedLength(final int length) {
+        return (length + 1) / 2;
+    }
+
+    /**
+     * Pack bases into a buffer. The number of bases is not written.
+     *
+     * @param buffer destination buffer, with at least {@code packedLength(bases.length)} bytes remaining
+     * @param bases the bases to pack. May not be null.
+     */
+    public static void pack(final ByteBuffer buffer, final byte[] bases) {
+        ParamUtils.nonNull(bases, () -> "bases cannot be null");
+        int i = 0;
+        for (; i + 1 < bases.length; i += 2) {
+            buffer.put((byte) (BASE_TO_CODE[bases[i] & 0xFF] << 4 | BASE_TO_CODE[bases[i + 1] & 0xFF]));
+        }
+        if (i < bases.length) {
+            buffer.put((byte) (BASE_TO_CODE[bases[i] & 0xFF] << 4));
+        }
+    }
+
+    /**
+     * Unpack bases written by {@link #pack(ByteBuffer, byte[])}.
+     *
+     * @param buffer source buffer
+     * @param length number of bases to unpack. Must be non-negative.
+     * @return the unpacked bases
+     */
+    public static byte[] unpack(final ByteBuffer buffer, final int length) {
+        ParamUtils.validate(length >= 0, () -> "length must be non-negative: " + length);
+        final byte[] bases = new byte[length];
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            final int packed = buffer.get();
+            bases[i] = CODE_TO_BASE[(packed >> 4) & 0xF];
+            bases[i + 1] = CODE_TO_BASE[packed & 0xF];
+        }
+        if (i < length) {
+            bases[i] = CODE_TO_BASE[(buffer.get() >> 4) & 0xF];
+        }
+        return bases;
+    }
+}
@@ -0,0 +1,159 @@
+package org.htsjdk.core.codec;
+
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encodes batches of records to self-contained blocks, suitable for exchanging records between processes.
+ *
+ * A block is made of:
+ *
+ * <ul>
+ *     <li>the magic bytes {@code HRB} followed by the block format version</li>
+ *     <li>the name and version of the {@link RecordCodec}</li>
+ *     <li>the number of records, as 4 bytes big-endian</li>
+ *     <li>the records, as written by the codec</li>
+ * </ul>
+ *
+ * Symbols are scoped to a block, so blocks can be decoded independently and in any order.
+ *
+ * Blocks can be built from a collection with {@link #encode(RecordCodec, Collection, BinaryOutput)}, or one record
+ * at a time with an {@link Encoder}.
+ */
+public final class RecordBlocks {
+
+    private static final byte[] MAGIC = { 'H', 'R', 'B' };
+    private static final int FORMAT_VERSION = 1;
+
+    // cannot be instantiated
+    private RecordBlocks() {}
+
+    /**
+     * Encode a batch of records as a block.
+     *
+     * @param codec codec for the records. May not be null.
+     * @param records records to encode. May not be null.
+     * @param output output to encode to. May not be null. The output is cleared first.
+     * @param <R> type of the records
+     * @return a read-only buffer over the encoded block, backed by {@code output}
+     */
+    public static <R> ByteBuffer encode(final RecordCodec<R> codec, final Collection<? extends R> records, final BinaryOutput output) {
+        ParamUtils.nonNull(records, () -> "records cannot be null");
+        final Encoder<R> encoder = new Encoder<>(codec, output);
+        for (final R record : records) {
+            encoder.add(record);
+        }
+        return encoder.finish();
+    }
+
+    /**
+     * Decode a block written by {@link #encode(RecordCodec, Collection, BinaryOutput)} or by an {@link Encoder}.
+     *
+     * @param codec codec for the records. May not be null.
+     * @param block the block, from its position to its limit. May not be null.
+     * @param <R> type of the records
+     * @return the decoded records, in encoding order
+     * @throws HtsjdkException if the block is malformed, or was written by a different codec or codec version
+     */
+    public static <R> List<R> decode(final RecordCodec<R> codec, final ByteBuffer block) {
+        ParamUtils.nonNull(codec, () -> "codec cannot be null");
+        final BinaryInput input = new BinaryInput(ParamUtils.nonNull(block, () -> "block cannot be null"));
+
+        for (final byte magicByte : MAGIC) {
+            if (!input.hasRemaining() || input.readByte() != magicByte) {
+                throw new HtsjdkException("Not a record block: invalid magic bytes");
+            }
+        }
+        final int formatVersion = input.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new HtsjdkException("Unsupported record block format version: " + formatVersion);
+        }
+        final String codecName = input.readString();
+        final int codecVersion = input.readUnsignedInt();
+        if (!codecName.equals(codec.getName()) || codecVersion != codec.getVersion()) {
+            throw new HtsjdkException(String.format(
+                    "Record block was written by codec %s version %d, and cannot be read by codec %s version %d",
+                    codecName, codecVersion, codec.getName(), codec.getVersion()));
+        }
+
+        final int count = input.readInt();
+        if (count < 0) {
+            throw new HtsjdkException("Invalid record count: " + count);
+        }
+        // don't trust the count for preallocation, since the block may be malformed
+        final List<R> records = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            records.add(codec.decode(input));
+        }
+        if (input.hasRemaining()) {
+            throw new HtsjdkException("Unexpected data after the last record of the block");
+        }
+        return records;
+    }
+
+    /**
+     * Builds a block one record at a time, so that its size can be checked as it grows.
+     *
+     * @param <R> type of the records
+     */
+    public static final class Encoder<R> {
+        private final RecordCodec<R> codec;
+        private final BinaryOutput output;
+        private final int countPosition;
+        private int recordCount;
+
+        /**
+         * Start a new block.
+         *
+         * @param codec codec for the records. May not be null.
+         * @param output output to encode to. May not be null. The output is cleared first, and must not be
+         *               written to by anything else until {@link #finish()} is called.
+         */
+        public Encoder(final RecordCodec<R> codec, final BinaryOutput output) {
+            this.codec = ParamUtils.nonNull(codec, () -> "codec cannot be null");
+            this.output = ParamUtils.nonNull(output, () -> "output cannot be null");
+            output.clear();
+            output.writeBytes(MAGIC).writeByte(FORMAT_VERSION);
+            output.writeString(codec.getName()).writeUnsignedInt(codec.getVersion());
+            countPosition = output.size();
+            output.writeInt(0);
+        }
+
+        /**
+         * @param record the record to add to the block. May not be null.
+         */
+        public void add(final R record) {
+            codec.encode(ParamUtils.nonNull(record, () -> "records cannot contain null"), output);
+            recordCount++;
+        }
+
+        /**
+         * @return number of records added so far
+         */
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * @return size of the block so far, in bytes
+         */
+        public int size() {
+            return output.size();
+        }
+
+        /**
+         * Complete the block.
+         *
+         * @return a read-only buffer over the encoded block, backed by the output
+         */
+        public ByteBuffer finish() {
+            output.setInt(countPosition, recordCount);
+            return output.getBuffer();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.htsjdk.core.codec;
+
+/**
+ * Encodes records of one type to a compact binary form, and decodes them back.
+ *
+ * The encoding of a codec is identified by its {@link #getName()} and {@link #getVersion()}, which are recorded in
+ * each block written by {@link RecordBlocks}, so that data written by one version of a codec is never silently
+ * decoded by another. A codec must bump its version whenever its encoding changes.
+ *
+ * Codecs must be stateless: any state that spans records (such as symbol IDs) is kept by the
+ * {@link BinaryOutput} and {@link BinaryInput}, so that a single codec can be used from any number of threads.
+ *
+ * @param <R> type of the records
+ */
+public interface RecordCodec<R> {
+
+    /**
+     * @return name identifying the encoding of this codec
+     */
+    String getName();
+
+    /**
+     * @return version of the encoding of this codec
+     */
+    int getVersion();
+
+    /**
+     * @param record the record to encode. Will not be null.
+     * @param output the output to which the record is written
+     */
+    void encode(R record, BinaryOutput output);
+
+    /**
+     * @param input the input from which the record is read, positioned at the start of a record written by
+     *              {@link #encode(Object, BinaryOutput)}
+     * @return the decoded record
+     */
+    R decode(BinaryInput input);
+}
@@ -0,0 +1,53 @@
+package org.htsjdk.core.codec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns consecutive IDs to the distinct strings (contig names, read groups, tag keys) written to a stream, so
+ * that each is written in full only once. The writer and the reader of a stream each build an identical table
+ * as symbols are written and read.
+ */
+final class SymbolTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    /**
+     * @param symbol a symbol
+     * @return the ID of {@code symbol}, or -1 if it has not been added
+     */
+    int getId(final String symbol) {
+        final Integer id = ids.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id the ID of a symbol
+     * @return the symbol, or null if no symbol has ID {@code id}
+     */
+    String getSymbol(final int id) {
+        return id >= 0 && id < symbols.size() ? symbols.get(id) : null;
+    }
+
+    /**
+     * Add a new symbol, with the next ID.
+     *
+     * @param symbol a symbol that has not been added yet
+     */
+    void add(final String symbol) {
+        ids.put(symbol, symbols.size());
+        symbols.add(symbol);
+    }
+
+    int size() {
+        return symbols.size();
+    }
+
+    void clear() {
+        ids.clear();
+        symbols.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package org.htsjdk.core.codec;
+
+import org.htsjdk.core.exception.HtsjdkException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integer encoding (LEB128): 7 bits per byte, least significant group first, with the high bit
+ * of each byte set if more bytes follow. Small values, which dominate most record fields, take a single byte.
+ *
+ * Signed values are first mapped to unsigned ones with zig-zag encoding ({@code 0, -1, 1, -2, ...} to
+ * {@code 0, 1, 2, 3, ...}), so that small negative values are also short.
+ */
+public final class Varints {
+
+    /**
+     * Maximum number of bytes used to encode an int.
+     */
+    public static final int MAX_INT_BYTES = 5;
+
+    /**
+     * Maximum number of bytes used to encode a long.
+     */
+    public static final int MAX_LONG_BYTES = 10;
+
+    // cannot be instantiated
+    private Varints() {}
+
+    /**
+     * Write an int, treated as unsigned.
+     *
+     * @param buffer destination buffer, with at least {@link #MAX_INT_BYTES} bytes remaining
+     * @param value the value to write
+     */
+    public static void writeUnsignedInt(final ByteBuffer buffer, final int value) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    /**
+     * Read an int written by {@link #writeUnsignedInt(ByteBuffer, int)}.
+     *
+     * @param buffer source buffer
+     * @return the value read
+     * @throws HtsjdkException if the encoding is longer than {@link #MAX_INT_BYTES}
+     */
+    public static int readUnsignedInt(final ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_INT_BYTES; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new HtsjdkException("Malformed varint: more than " + MAX_INT_BYTES + " bytes");
+    }
+
+    /**
+     * Write a long, treated as unsigned.
+     *
+     * @param buffer destination buffer, with at least {@link #MAX_LONG_BYTES} bytes remaining
+     * @param value the value to write
+     */
+    public static void writeUnsignedLong(final ByteBuffer buffer, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    /**
+     * Read a long written by {@link #writeUnsignedLong(ByteBuffer, long)}.
+     *
+     * @param buffer source buffer
+     * @return the value read
+     * @throws HtsjdkException if the encoding is longer than {@link #MAX_LONG_BYTES}
+     */
+    public static long readUnsignedLong(final ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_LONG_BYTES; shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new HtsjdkException("Malformed varint: more than " + MAX_LONG_BYTES + " bytes");
+    }
+
+    /**
+     * Write a signed int using zig-zag encoding.
+     *
+     * @param buffer destination buffer, with at least {@link #MAX_INT_BYTES} bytes remaining
+     * @param value the value to write
+     */
+    public static void writeSignedInt(final ByteBuffer buffer, final int value) {
+        writeUnsignedInt(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Read an int written by {@link #writeSignedInt(ByteBuffer, int)}.
+     *
+     * @param buffer source buffer
+     * @return the value read
+     */
+    public static int readSignedInt(final ByteBuffer buffer) {
+        final int zigZag = readUnsignedInt(buffer);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    /**
+     * Write a signed long using zig-zag encoding.
+     *
+     * @param buffer destination buffer, with at least {@link #MAX_LONG_BYTES} bytes remaining
+     * @param value the value to write
+     */
+    public static void writeSignedLong(final ByteBuffer buffer, final long value) {
+        writeUnsignedLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Read a long written by {@link #writeSignedLong(ByteBuffer, long)}.
+     *
+     * @param buffer source buffer
+     * @return the value read
+     */
+    public static long readSignedLong(final ByteBuffer buffer) {
+        final long zigZag = readUnsignedLong(buffer);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+}
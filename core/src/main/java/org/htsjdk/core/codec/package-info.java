@@ -0,0 +1,5 @@
+/**
+ * Contains a compact binary codec for streaming records into and out of {@link java.nio.ByteBuffer}s, for
+ * example to exchange records between processes.
+ */
+package org.htsjdk.core.codec;
@@ -0,0 +1,23 @@
+package org.htsjdk.core.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon platform threads, so that htsjdk-next pools never prevent the JVM from exiting.
+ */
+final class DaemonThreadFactory implements ThreadFactory {
+    private final String namePrefix;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    DaemonThreadFactory(final String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,31 @@
+package org.htsjdk.core.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Supplies the executors used by parallel htsjdk-next components (readers, writers, codecs, prefetchers).
+ *
+ * Work is split into two classes, since they have different threading requirements:
+ *
+ * <ul>
+ *     <li>I/O tasks, which spend most of their time blocked (reads, writes, waiting on queues). The I/O executor
+ *     must be able to run many such tasks at once, and should never be a small fixed-size pool, since blocked
+ *     tasks could then starve each other.</li>
+ *     <li>Compute tasks (inflate, decode, encode), which should never block, and are best run on a pool sized
+ *     to the number of available processors.</li>
+ * </ul>
+ *
+ * The executors are shared, and are not shut down by the components that use them.
+ */
+public interface ExecutorProvider {
+
+    /**
+     * @return the executor for blocking I/O tasks. Will not be null.
+     */
+    ExecutorService getIOExecutor();
+
+    /**
+     * @return the executor for CPU-bound tasks. Will not be null.
+     */
+    ExecutorService getComputeExecutor();
+}
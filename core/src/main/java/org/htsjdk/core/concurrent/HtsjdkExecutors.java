@@ -0,0 +1,87 @@
+package org.htsjdk.core.concurrent;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the process-wide default {@link ExecutorProvider}, and factory methods for custom providers.
+ *
+ * The default provider uses a pool of daemon platform threads sized to the number of available processors for
+ * compute tasks. For I/O tasks it uses an unbounded pool of daemon platform threads on Java 8 through 20, and a
+ * virtual thread per task when running on Java 21 or later.
+ */
+public final class HtsjdkExecutors {
+
+    private static volatile ExecutorProvider defaultProvider;
+
+    // cannot be instantiated
+    private HtsjdkExecutors() {}
+
+    /**
+     * Get the default executor provider, creating it on first use.
+     *
+     * @return the process-wide default {@link ExecutorProvider}
+     */
+    public static ExecutorProvider getDefault() {
+        ExecutorProvider provider = defaultProvider;
+        if (provider == null) {
+            synchronized (HtsjdkExecutors.class) {
+                provider = defaultProvider;
+                if (provider == null) {
+                    provider = of(
+                            IOThreads.newIOExecutor(),
+                            Executors.newFixedThreadPool(
+                                    Runtime.getRuntime().availableProcessors(),
+                                    new DaemonThreadFactory("htsjdk-compute")));
+                    defaultProvider = provider;
+                }
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * Replace the process-wide default executor provider. Components that have already been created keep
+     * using the provider they were created with. The previous default provider is not shut down.
+     *
+     * @param provider the new default provider. May not be null.
+     */
+    public static void setDefault(final ExecutorProvider provider) {
+        ParamUtils.nonNull(provider, () -> "executor provider cannot be null");
+        synchronized (HtsjdkExecutors.class) {
+            defaultProvider = provider;
+        }
+    }
+
+    /**
+     * Create an {@link ExecutorProvider} from existing executors.
+     *
+     * @param ioExecutor executor for blocking I/O tasks. May not be null.
+     * @param computeExecutor executor for CPU-bound tasks. May not be null.
+     * @return a provider returning the given executors
+     */
+    public static ExecutorProvider of(final ExecutorService ioExecutor, final ExecutorService computeExecutor) {
+        ParamUtils.nonNull(ioExecutor, () -> "I/O executor cannot be null");
+        ParamUtils.nonNull(computeExecutor, () -> "compute executor cannot be null");
+        return new ExecutorProvider() {
+            @Override
+            public ExecutorService getIOExecutor() { return ioExecutor; }
+
+            @Override
+            public ExecutorService getComputeExecutor() { return computeExecutor; }
+        };
+    }
+
+    /**
+     * Create an {@link ExecutorProvider} that uses a single executor for both I/O and compute tasks. The executor
+     * must not be bounded, since I/O tasks may block.
+     *
+     * @param executor executor for all tasks. May not be null.
+     * @return a provider returning the given executor
+     */
+    public static ExecutorProvider of(final ExecutorService executor) {
+        return of(executor, executor);
+    }
+}
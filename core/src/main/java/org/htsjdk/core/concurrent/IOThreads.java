@@ -0,0 +1,23 @@
+package org.htsjdk.core.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the default executor for blocking I/O tasks.
+ *
+ * This class is replaced in the multi-release jar by a Java 21 version (src/main/java21) that uses virtual
+ * threads; both versions must keep the same signatures.
+ */
+final class IOThreads {
+
+    // cannot be instantiated
+    private IOThreads() {}
+
+    /**
+     * @return an unbounded executor of daemon platform threads
+     */
+    static ExecutorService newIOExecutor() {
+        return Executors.newCachedThreadPool(new DaemonThreadFactory("htsjdk-io"));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains the executor abstraction shared by all parallel htsjdk-next components.
+ */
+package org.htsjdk.core.concurrent;
@@ -0,0 +1,17 @@
+package org.htsjdk.core.coverage;
+
+/**
+ * Receives binned depth from a {@link CoverageEngine}.
+ */
+@FunctionalInterface
+public interface BinnedDepthConsumer {
+
+    /**
+     * @param contig contig of the bin
+     * @param binStart 1-based start of the bin (inclusive)
+     * @param binEnd 1-based end of the bin (inclusive)
+     * @param totalDepth sum of the depth of every position in the bin; always positive. The mean depth is
+     *                   {@code totalDepth / (binEnd - binStart + 1)}.
+     */
+    void accept(String contig, int binStart, int binEnd, long totalDepth);
+}
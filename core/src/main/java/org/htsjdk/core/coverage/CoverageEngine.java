@@ -0,0 +1,311 @@
+package org.htsjdk.core.coverage;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Computes depth of coverage from a stream of coordinate-sorted intervals (typically records), without allocating
+ * per position.
+ *
+ * Depth is tracked as a difference array in a circular buffer spanning only the active window, i.e., from the
+ * first position whose depth is not final yet to the furthest end of any interval seen. When an interval starting
+ * at position {@code s} is added, the depth of every position before {@code s} is final and is emitted, and its
+ * slot in the buffer is reused. The buffer only grows if a single interval is longer than the current buffer.
+ *
+ * Depth is emitted either per base, for every covered position, or per fixed-size bin, for every bin containing
+ * at least one covered position. Positions and bins with no coverage are not emitted.
+ *
+ * An engine is not thread-safe; {@link #computeByContig} runs independent engines for several contigs in
+ * parallel.
+ */
+public final class CoverageEngine {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final Emitter emitter;
+    private final Set<String> finishedContigs = new HashSet<>();
+
+    private int[] depthChanges = new int[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+
+    private String contig;
+    private int lastStart;
+    private int windowStart;    // first position whose depth has not been emitted
+    private int lastChange;     // last position with a pending depth change, or windowStart - 1 if none
+    private int depth;          // depth at windowStart - 1
+
+    private CoverageEngine(final Emitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Create an engine that emits the depth of every covered position.
+     *
+     * @param consumer receives the depth of each covered position, in order. May not be null.
+     * @return a new engine
+     */
+    public static CoverageEngine perBase(final DepthConsumer consumer) {
+        ParamUtils.nonNull(consumer, () -> "consumer cannot be null");
+        return new CoverageEngine((contig, position, depth) -> {
+            if (depth > 0) {
+                consumer.accept(contig, position, depth);
+            }
+        });
+    }
+
+    /**
+     * Create an engine that emits the total depth of fixed-size bins. Bin {@code k} spans positions
+     * {@code [k * binSize + 1, (k + 1) * binSize]}.
+     *
+     * @param binSize number of positions per bin. Must be positive.
+     * @param consumer receives the total depth of each covered bin, in order. May not be null.
+     * @return a new engine
+     */
+    public static CoverageEngine binned(final int binSize, final BinnedDepthConsumer consumer) {
+        ParamUtils.validate(binSize > 0, () -> "bin size must be positive: " + binSize);
+        ParamUtils.nonNull(consumer, () -> "consumer cannot be null");
+        return new CoverageEngine(new BinEmitter(binSize, consumer));
+    }
+
+    /**
+     * Add a coordinate-sorted interval.
+     *
+     * @param locatable the interval. Must not start before the previously added interval on the same contig, and
+     *                  its contig must not have been finished by a change of contig.
+     */
+    public void add(final Locatable locatable) {
+        add(locatable.getContig(), locatable.getStart(), locatable.getEnd());
+    }
+
+    /**
+     * Add a coordinate-sorted interval.
+     *
+     * @param intervalContig contig of the interval
+     * @param start 1-based start of the interval (inclusive)
+     * @param end 1-based end of the interval (inclusive). Intervals with {@code end < start} only advance the
+     *            window.
+     */
+    public void add(final String intervalContig, final int start, final int end) {
+        ParamUtils.validate(start >= 1, () -> "start must be positive: " + start);
+        ParamUtils.validate(end < Integer.MAX_VALUE, () -> "end is too large: " + end);
+        if (!intervalContig.equals(contig)) {
+            startContig(intervalContig);
+        } else if (start < lastStart) {
+            throw new IllegalArgumentException(String.format(
+                    "intervals are not coordinate-sorted: %s:%d follows %s:%d", intervalContig, start, contig, lastStart));
+        }
+        lastStart = start;
+
+        flushBefore(start);
+        if (end < start) {
+            return;
+        }
+        ensureCapacity(end + 1);
+        depthChanges[start & mask]++;
+        depthChanges[(end + 1) & mask]--;
+        lastChange = Math.max(lastChange, end + 1);
+    }
+
+    /**
+     * Add a batch of coordinate-sorted intervals on a single contig, stored in columnar form.
+     *
+     * @param batchContig contig of all the intervals
+     * @param starts 1-based starts of the intervals
+     * @param ends 1-based ends of the intervals
+     * @param offset index of the first interval in {@code starts} and {@code ends}
+     * @param length number of intervals
+     */
+    public void addAll(final String batchContig, final int[] starts, final int[] ends, final int offset, final int length) {
+        ParamUtils.validate(offset >= 0 && length >= 0 && offset + length <= starts.length && offset + length <= ends.length,
+                () -> String.format("invalid batch range: offset %d, length %d", offset, length));
+        for (int i = offset; i < offset + length; i++) {
+            add(batchContig, starts[i], ends[i]);
+        }
+    }
+
+    /**
+     * Emit the depth of every remaining position. Must be called once all intervals have been added.
+     */
+    public void finish() {
+        if (contig != null) {
+            flushBefore(Integer.MAX_VALUE);
+            emitter.finishContig(contig);
+            finishedContigs.add(contig);
+            contig = null;
+        }
+    }
+
+    private void startContig(final String newContig) {
+        if (finishedContigs.contains(newContig)) {
+            throw new IllegalArgumentException(String.format(
+                    "intervals are not coordinate-sorted: contig %s appears again after %s", newContig, contig));
+        }
+        finish();
+        contig = newContig;
+        lastStart = 1;
+        windowStart = 1;
+        lastChange = 0;
+        depth = 0;
+    }
+
+    // emit the depth of every position before limit
+    private void flushBefore(final int limit) {
+        int position = windowStart;
+        while (position < limit && position <= lastChange) {
+            final int slot = position & mask;
+            depth += depthChanges[slot];
+            depthChanges[slot] = 0;
+            emitter.emit(contig, position, depth);
+            position++;
+        }
+        // past the last change the depth is zero, and the buffer is clear, so the window can jump ahead
+        windowStart = position > lastChange ? Math.max(position, limit) : position;
+    }
+
+    private void ensureCapacity(final int lastPosition) {
+        final long required = (long) lastPosition - windowStart + 1;
+        if (required <= depthChanges.length) {
+            return;
+        }
+        int capacity = depthChanges.length;
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        final int[] resized = new int[capacity];
+        final int resizedMask = capacity - 1;
+        for (int position = windowStart; position <= lastChange; position++) {
+            resized[position & resizedMask] = depthChanges[position & mask];
+        }
+        depthChanges = resized;
+        mask = resizedMask;
+    }
+
+    /**
+     * Compute coverage for several contigs in parallel, each with its own engine, running as many contigs at once
+     * as there are available processors (the size of the default compute pool).
+     *
+     * @see #computeByContig(Collection, Function, Function, ExecutorProvider, int)
+     */
+    public static void computeByContig(
+            final Collection<String> contigs,
+            final Function<String, Iterator<? extends Locatable>> contigQuery,
+            final Function<String, CoverageEngine> engineFactory,
+            final ExecutorProvider executorProvider) {
+        computeByContig(contigs, contigQuery, engineFactory, executorProvider, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compute coverage for several contigs in parallel, each with its own engine. Typically used with an indexed
+     * input, where {@code contigQuery} returns the records of a single contig.
+     *
+     * Each contig is queried and processed by a single task on the I/O executor, since iterating over the query
+     * may block. At most {@code parallelism} contigs are processed at once, so that a reference with thousands of
+     * contigs does not get a thread per contig from an unbounded I/O pool.
+     *
+     * @param contigs contigs to process
+     * @param contigQuery returns a coordinate-sorted iterator over the intervals of a contig
+     * @param engineFactory creates the engine for a contig; engines (and their consumers) are used from a single
+     *                      thread, but engines for different contigs run concurrently
+     * @param executorProvider executors on which to run the contigs
+     * @param parallelism maximum number of contigs processed at once. Must be positive.
+     * @throws HtsjdkException if processing any contig fails with a checked exception; unchecked exceptions are
+     *                         rethrown as is
+     */
+    public static void computeByContig(
+            final Collection<String> contigs,
+            final Function<String, Iterator<? extends Locatable>> contigQuery,
+            final Function<String, CoverageEngine> engineFactory,
+            final ExecutorProvider executorProvider,
+            final int parallelism) {
+        ParamUtils.nonNull(contigs, () -> "contigs cannot be null");
+        ParamUtils.nonNull(contigQuery, () -> "contig query cannot be null");
+        ParamUtils.nonNull(engineFactory, () -> "engine factory cannot be null");
+        ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+        ParamUtils.validate(parallelism > 0, () -> "parallelism must be positive: " + parallelism);
+
+        // each task takes contigs from the queue until it is empty, or until any contig has failed
+        final Queue<String> remaining = new ConcurrentLinkedQueue<>(contigs);
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < Math.min(parallelism, contigs.size()); i++) {
+            results.add(CompletableFuture.runAsync(() -> {
+                String contigName;
+                while (!failed.get() && (contigName = remaining.poll()) != null) {
+                    try {
+                        final CoverageEngine engine = engineFactory.apply(contigName);
+                        final Iterator<? extends Locatable> intervals = contigQuery.apply(contigName);
+                        while (intervals.hasNext()) {
+                            engine.add(intervals.next());
+                        }
+                        engine.finish();
+                    } catch (final RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }
+            }, executorProvider.getIOExecutor()));
+        }
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HtsjdkException("Failed computing coverage", e.getCause());
+        }
+    }
+
+    // receives the depth of every position in the active window, including uncovered ones
+    private interface Emitter {
+        void emit(String contig, int position, int depth);
+
+        default void finishContig(final String contig) { }
+    }
+
+    private static final class BinEmitter implements Emitter {
+        private final int binSize;
+        private final BinnedDepthConsumer consumer;
+        private int bin = -1;
+        private long binDepth;
+
+        private BinEmitter(final int binSize, final BinnedDepthConsumer consumer) {
+            this.binSize = binSize;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void emit(final String contig, final int position, final int depth) {
+            final int positionBin = (position - 1) / binSize;
+            if (positionBin != bin) {
+                finishContig(contig);
+                bin = positionBin;
+            }
+            binDepth += depth;
+        }
+
+        @Override
+        public void finishContig(final String contig) {
+            if (binDepth > 0) {
+                final long binStart = (long) bin * binSize + 1;
+                consumer.accept(contig, (int) binStart, (int) Math.min(Integer.MAX_VALUE, binStart + binSize - 1), binDepth);
+            }
+            bin = -1;
+            binDepth = 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.htsjdk.core.coverage;
+
+/**
+ * Receives per-base depth from a {@link CoverageEngine}.
+ */
+@FunctionalInterface
+public interface DepthConsumer {
+
+    /**
+     * @param contig contig of the position
+     * @param position 1-based position
+     * @param depth number of records covering the position; always positive
+     */
+    void accept(String contig, int position, int depth);
+}
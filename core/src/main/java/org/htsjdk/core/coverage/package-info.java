@@ -0,0 +1,4 @@
+/**
+ * Contains the streaming coverage (depth) engine.
+ */
+package org.htsjdk.core.coverage;
@@ -0,0 +1,348 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.CommittableOutputStream;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An output stream that coalesces writes into large pooled direct buffers, and writes full buffers to a channel
+ * several at a time with gathering writes, so that many small writes cost few system calls. Configured by
+ * {@link WriteOptions}: buffer size and count, alignment of writes, sync policy, and atomic commit through a
+ * temporary file. When committing atomically, the stream must be {@link #commit() committed} before it is
+ * closed, or the data written is discarded.
+ *
+ * Not thread-safe.
+ */
+public final class CoalescingOutputStream extends CommittableOutputStream {
+
+    private final WritableByteChannel channel;
+    private final WriteOptions options;
+    private final ByteBuffer[] buffers;
+    // set when committing atomically: the temporary file written, and the file it replaces on commit
+    private final Path temporaryPath;
+    private final Path targetPath;
+    private int current;    // index of the buffer being filled
+    private boolean closed;
+    private boolean committed;
+
+    // package-private for tests
+    CoalescingOutputStream(
+            final WritableByteChannel channel,
+            final WriteOptions options,
+            final Path temporaryPath,
+            final Path targetPath) {
+        this.channel = channel;
+        this.options = options;
+        this.buffers = new ByteBuffer[options.getMaxBuffers()];
+        this.temporaryPath = temporaryPath;
+        this.targetPath = targetPath;
+    }
+
+    /**
+     * Open a stream writing to a file, which is created or truncated.
+     *
+     * @param path the file to write. May not be null.
+     * @param options write options. May not be null.
+     * @return the stream
+     * @throws IOException if the file (or the temporary file, when committing atomically) could not be opened
+     */
+    public static CoalescingOutputStream open(final Path path, final WriteOptions options) throws IOException {
+        ParamUtils.nonNull(path, () -> "path cannot be null");
+        ParamUtils.nonNull(options, () -> "options cannot be null");
+        final Path temporaryPath = options.isAtomicCommit() ? createTemporarySibling(path) : null;
+        final Path writtenPath = temporaryPath != null ? temporaryPath : path;
+        try {
+            final WritableByteChannel channel = Files.newByteChannel(writtenPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            return new CoalescingOutputStream(channel, options, temporaryPath, path);
+        } catch (final IOException | RuntimeException e) {
+            if (temporaryPath != null) {
+                Files.deleteIfExists(temporaryPath);
+            }
+            throw e;
+        }
+    }
+
+    // in the same directory as the target, so that it can be moved atomically. Created with the default
+    // permissions of new files rather than the owner-only ones of Files.createTempFile, and with those of the
+    // target if it exists, so that committing does not change the permissions of the resource.
+    private static Path createTemporarySibling(final Path path) throws IOException {
+        final Path absolutePath = path.toAbsolutePath();
+        final Path parent = absolutePath.getParent();
+        while (true) {
+            final String name = String.format(".%s.%016x.tmp", absolutePath.getFileName(), ThreadLocalRandom.current().nextLong());
+            final Path temporaryPath = parent.resolve(name);
+            try {
+                Files.createFile(temporaryPath);
+            } catch (final FileAlreadyExistsException e) {
+                continue;
+            }
+            try {
+                if (Files.exists(absolutePath) && Files.getFileAttributeView(absolutePath, PosixFileAttributeView.class) != null) {
+                    Files.setPosixFilePermissions(temporaryPath, Files.getPosixFilePermissions(absolutePath));
+                }
+            } catch (final IOException | RuntimeException e) {
+                Files.deleteIfExists(temporaryPath);
+                throw e;
+            }
+            return temporaryPath;
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        final ByteBuffer buffer = currentBuffer();
+        buffer.put((byte) b);
+        if (!buffer.hasRemaining()) {
+            advance();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ParamUtils.validate(off >= 0 && len >= 0 && off + len <= b.length,
+                () -> String.format("invalid range: offset %d, length %d, array length %d", off, len, b.length));
+        write(ByteBuffer.wrap(b, off, len));
+    }
+
+    /**
+     * Write the remaining bytes of a buffer.
+     *
+     * @param source the bytes to write, from its position to its limit. Its position is advanced to its limit.
+     * @throws IOException if writing to the channel failed
+     */
+    public void write(final ByteBuffer source) throws IOException {
+        ensureOpen();
+        final int bufferSize = options.getBufferSize();
+        while (source.hasRemaining()) {
+            // large unaligned writes bypass the buffers, and are written along with the pending full buffers
+            if (options.getAlignment() == 0 && source.remaining() >= bufferSize && isCurrentEmpty()) {
+                writeBuffers(current, source);
+                return;
+            }
+            final ByteBuffer buffer = currentBuffer();
+            final int count = Math.min(buffer.remaining(), source.remaining());
+            final ByteBuffer slice = source.duplicate();
+            slice.limit(slice.position() + count);
+            buffer.put(slice);
+            source.position(source.position() + count);
+            if (!buffer.hasRemaining()) {
+                advance();
+            }
+        }
+    }
+
+    /**
+     * Write the buffered bytes to the channel, and force them to the device if the sync policy is
+     * {@link WriteOptions.SyncPolicy#ON_FLUSH}. With alignment, only whole aligned blocks are written.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain(false);
+        if (options.getSyncPolicy() == WriteOptions.SyncPolicy.ON_FLUSH) {
+            force();
+        }
+    }
+
+    /**
+     * Write the buffered bytes, sync if required by the policy, close the channel, and move the temporary file
+     * over the target if committing atomically. If anything fails, the temporary file is deleted and the target
+     * is left as it was. An {@link AtomicMoveNotSupportedException} is rethrown rather than falling back to a
+     * non-atomic move.
+     */
+    @Override
+    public void commit() throws IOException {
+        if (committed) {
+            return;
+        }
+        if (closed) {
+            throw new IOException("Stream was closed without being committed");
+        }
+        closed = true;
+        try {
+            drain(true);
+            if (options.getSyncPolicy() != WriteOptions.SyncPolicy.NEVER) {
+                force();
+            }
+            channel.close();
+            if (temporaryPath != null) {
+                Files.move(temporaryPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            committed = true;
+        } catch (final IOException | RuntimeException e) {
+            discard();
+            throw e;
+        } finally {
+            releaseBuffers();
+        }
+    }
+
+    /**
+     * Close the stream without writing the buffered bytes. When committing atomically, the temporary file is
+     * deleted and the target is left as it was.
+     */
+    @Override
+    public void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseBuffers();
+        if (temporaryPath != null) {
+            discard();
+        } else {
+            channel.close();
+        }
+    }
+
+    /**
+     * Commit the stream when writing in place, and abort it when committing atomically, unless it was already
+     * committed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (temporaryPath == null && !closed) {
+            commit();
+        } else {
+            abort();
+        }
+    }
+
+    private void discard() {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            // already failing
+        }
+        if (temporaryPath != null) {
+            try {
+                Files.deleteIfExists(temporaryPath);
+            } catch (final IOException e) {
+                // best effort
+            }
+        }
+    }
+
+    private void force() throws IOException {
+        if (channel instanceof FileChannel) {
+            ((FileChannel) channel).force(true);
+        }
+    }
+
+    private ByteBuffer currentBuffer() throws IOException {
+        ensureOpen();
+        if (buffers[current] == null) {
+            buffers[current] = DirectBufferPool.acquire(options.getBufferSize());
+        }
+        return buffers[current];
+    }
+
+    private boolean isCurrentEmpty() {
+        return buffers[current] == null || buffers[current].position() == 0;
+    }
+
+    // move to the next buffer once the current one is full, writing all of them if they are all full
+    private void advance() throws IOException {
+        if (current == buffers.length - 1) {
+            writeBuffers(buffers.length, null);
+        } else {
+            current++;
+        }
+    }
+
+    // write the full buffers, and the current one if final or unaligned; keep an unwritten aligned remainder
+    private void drain(final boolean isFinal) throws IOException {
+        final ByteBuffer partial = buffers[current];
+        if (partial == null || partial.position() == 0) {
+            writeBuffers(current, null);
+            return;
+        }
+        final int alignment = options.getAlignment();
+        if (isFinal || alignment == 0) {
+            writeBuffers(current + 1, null);
+            return;
+        }
+        // write the aligned part of the current buffer along with the full ones, and keep the rest
+        final int partialIndex = current;
+        final int alignedLength = partial.position() & -alignment;
+        final ByteBuffer aligned = partial.duplicate();
+        aligned.flip().limit(alignedLength);
+        writeBuffers(current, aligned);
+        partial.flip().position(alignedLength);
+        partial.compact();
+        // the remainder becomes the first buffer, so that later writes stay aligned
+        if (partialIndex != 0) {
+            buffers[partialIndex] = buffers[0];
+            buffers[0] = partial;
+        }
+    }
+
+    // write buffers [0, count), followed by extra if not null, and make buffer 0 current
+    private void writeBuffers(final int count, final ByteBuffer extra) throws IOException {
+        final ByteBuffer[] sources = new ByteBuffer[count + (extra == null ? 0 : 1)];
+        for (int i = 0; i < count; i++) {
+            sources[i] = buffers[i];
+            sources[i].flip();
+        }
+        if (extra != null) {
+            sources[count] = extra;
+        }
+        if (sources.length > 0) {
+            writeFully(sources);
+        }
+        for (int i = 0; i < count; i++) {
+            buffers[i].clear();
+        }
+        if (count > 0 || current > 0) {
+            current = 0;
+        }
+    }
+
+    private void writeFully(final ByteBuffer[] sources) throws IOException {
+        if (channel instanceof GatheringByteChannel) {
+            long remaining = 0;
+            for (final ByteBuffer source : sources) {
+                remaining += source.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= ((GatheringByteChannel) channel).write(sources);
+            }
+        } else {
+            for (final ByteBuffer source : sources) {
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+        }
+    }
+
+    private void releaseBuffers() {
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] != null) {
+                DirectBufferPool.release(buffers[i]);
+                buffers[i] = null;
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+    }
+}
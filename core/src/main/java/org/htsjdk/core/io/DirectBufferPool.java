@@ -0,0 +1,47 @@
+package org.htsjdk.core.io;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Process-wide pool of direct buffers, by size. Direct buffers are costly to allocate and are only reclaimed by
+ * the garbage collector, so writers return theirs to the pool when closed. At most {@link #MAX_IDLE_BYTES} of
+ * idle buffers are kept per size.
+ */
+final class DirectBufferPool {
+
+    static final long MAX_IDLE_BYTES = 64L * 1024 * 1024;
+
+    private static final Map<Integer, Queue<ByteBuffer>> idleBuffers = new ConcurrentHashMap<>();
+
+    // cannot be instantiated
+    private DirectBufferPool() {}
+
+    /**
+     * @param size capacity of the buffer
+     * @return a cleared direct buffer of the given capacity
+     */
+    static ByteBuffer acquire(final int size) {
+        final ByteBuffer buffer = getIdleBuffers(size).poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * @param buffer a buffer returned by {@link #acquire(int)}, which must not be used afterwards
+     */
+    static void release(final ByteBuffer buffer) {
+        final Queue<ByteBuffer> idle = getIdleBuffers(buffer.capacity());
+        // the size check is racy, so the limit may be exceeded by a few buffers
+        if ((long) (idle.size() + 1) * buffer.capacity() <= MAX_IDLE_BYTES) {
+            buffer.clear();
+            idle.add(buffer);
+        }
+    }
+
+    private static Queue<ByteBuffer> getIdleBuffers(final int size) {
+        return idleBuffers.computeIfAbsent(size, s -> new ConcurrentLinkedQueue<>());
+    }
+}
@@ -0,0 +1,83 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.AsyncReadChannel;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link AsyncReadChannel} for files on the default (local) file system, backed by an
+ * {@link AsynchronousFileChannel}.
+ */
+public final class FileAsyncReadChannel implements AsyncReadChannel {
+    private final Path path;
+    private final AsynchronousFileChannel channel;
+
+    /**
+     * Open an asynchronous channel on a local file.
+     *
+     * @param path path of the file to read. Must be on the default file system.
+     * @param executor executor on which the channel runs its I/O and completes reads. May not be null.
+     */
+    public FileAsyncReadChannel(final Path path, final ExecutorService executor) {
+        this.path = ParamUtils.nonNull(path, () -> "path cannot be null");
+        ParamUtils.nonNull(executor, () -> "executor cannot be null");
+        try {
+            this.channel = AsynchronousFileChannel.open(
+                    path, Collections.singleton(StandardOpenOption.READ), executor);
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not open asynchronous channel for %s", path), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Integer> readAsync(final long position, final ByteBuffer destination) {
+        ParamUtils.validate(position >= 0, () -> "position cannot be negative: " + position);
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        try {
+            channel.read(destination, position, null, new CompletionHandler<Integer, Void>() {
+                @Override
+                public void completed(final Integer bytesRead, final Void attachment) {
+                    result.complete(bytesRead);
+                }
+
+                @Override
+                public void failed(final Throwable throwable, final Void attachment) {
+                    result.completeExceptionally(new HtsjdkIOException(
+                            String.format("Failed reading %s at position %d", path, position), throwable));
+                }
+            });
+        } catch (final RuntimeException e) {
+            // e.g., the channel has been closed
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public long size() {
+        try {
+            return channel.size();
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not get size of %s", path), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not close asynchronous channel for %s", path), e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.jfr.HtsjdkEvents;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link PositionalReader} for files on the default (local) file system, backed by a single {@link FileChannel}.
+ *
+ * Reads use {@link FileChannel#read(ByteBuffer, long)}, which maps to {@code pread} and does not touch the
+ * channel position, so concurrent reads proceed without any locking.
+ *
+ * A {@code FileChannel} is closed when a thread blocked in a read on it is interrupted, which would break the
+ * reader for every other thread sharing it. When that happens, the interrupted thread gets the failure, and the
+ * channel is transparently reopened for everyone else.
+ */
+public final class FileChannelPositionalReader implements PositionalReader {
+    private final Path path;
+    private volatile FileChannel channel;
+    private volatile boolean closed;
+
+    /**
+     * @param path path of the file to read. Must be on the default file system.
+     */
+    public FileChannelPositionalReader(final Path path) {
+        this.path = ParamUtils.nonNull(path, () -> "path cannot be null");
+        this.channel = open(path);
+    }
+
+    @Override
+    public int read(final long position, final ByteBuffer destination) {
+        ParamUtils.validate(position >= 0, () -> "position cannot be negative: " + position);
+        while (true) {
+            final FileChannel current = channel;
+            try {
+                final Object readEvent = HtsjdkEvents.beginRead();
+                final int bytesRead = current.read(destination, position);
+                HtsjdkEvents.commitRead(readEvent, path, position, bytesRead);
+                return bytesRead;
+            } catch (final ClosedByInterruptException e) {
+                reopenIfStale(current);
+                throw new HtsjdkIOException(String.format("Interrupted reading %s at position %d", path, position), e);
+            } catch (final ClosedChannelException e) {
+                if (closed) {
+                    throw new HtsjdkIOException(String.format("Reader for %s has been closed", path), e);
+                }
+                // another thread was interrupted while reading from this channel; retry on the reopened channel
+                reopenIfStale(current);
+            } catch (final IOException e) {
+                throw new HtsjdkIOException(String.format("Failed reading %s at position %d", path, position), e);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        try {
+            return channel.size();
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not get size of %s", path), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not close channel for %s", path), e);
+        }
+    }
+
+    // replace the channel, unless another thread already has, or the reader has been closed
+    private synchronized void reopenIfStale(final FileChannel stale) {
+        if (!closed && channel == stale) {
+            channel = open(path);
+        }
+    }
+
+    private static FileChannel open(final Path path) {
+        try {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not open channel for %s", path), e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.AsyncReadChannel;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AsyncReadChannel} for any NIO file system provider, for which no native asynchronous channel is available.
+ *
+ * Reads are queued, and served by at most {@code maxConcurrency} tasks running on the given executor. Each task
+ * reads through its own {@link SeekableByteChannel}, so at most {@code maxConcurrency} channels are ever open, and
+ * idle channels are reused by later reads.
+ */
+public final class PooledAsyncReadChannel implements AsyncReadChannel {
+
+    /**
+     * Default maximum number of concurrent reads.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private final Path path;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final Queue<Runnable> pendingReads = new ConcurrentLinkedQueue<>();
+    private final Queue<SeekableByteChannel> idleChannels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param path path of the resource to read. May not be null.
+     * @param maxConcurrency maximum number of reads that run at the same time. Must be positive.
+     * @param executor executor on which reads are run. May not be null.
+     */
+    public PooledAsyncReadChannel(final Path path, final int maxConcurrency, final Executor executor) {
+        ParamUtils.validate(maxConcurrency > 0, () -> "max concurrency must be positive: " + maxConcurrency);
+        this.path = ParamUtils.nonNull(path, () -> "path cannot be null");
+        this.maxConcurrency = maxConcurrency;
+        this.executor = ParamUtils.nonNull(executor, () -> "executor cannot be null");
+    }
+
+    @Override
+    public CompletableFuture<Integer> readAsync(final long position, final ByteBuffer destination) {
+        ParamUtils.validate(position >= 0, () -> "position cannot be negative: " + position);
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        pendingReads.add(() -> {
+            try {
+                result.complete(read(position, destination));
+            } catch (final IOException | RuntimeException e) {
+                result.completeExceptionally(new HtsjdkIOException(
+                        String.format("Failed reading %s at position %d", path, position), e));
+            }
+        });
+        startWorkerIfNeeded();
+        return result;
+    }
+
+    @Override
+    public long size() {
+        try {
+            return Files.size(path);
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not get size of %s", path), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        SeekableByteChannel channel;
+        while ((channel = idleChannels.poll()) != null) {
+            closeQuietly(channel);
+        }
+    }
+
+    private int read(final long position, final ByteBuffer destination) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        SeekableByteChannel channel = idleChannels.poll();
+        if (channel == null) {
+            channel = Files.newByteChannel(path);
+        }
+        try {
+            channel.position(position);
+            return channel.read(destination);
+        } finally {
+            idleChannels.add(channel);
+            if (closed) {
+                close();
+            }
+        }
+    }
+
+    private void startWorkerIfNeeded() {
+        while (true) {
+            final int active = activeWorkers.get();
+            if (active >= maxConcurrency || pendingReads.isEmpty()) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                executor.execute(this::drainPendingReads);
+                return;
+            }
+        }
+    }
+
+    private void drainPendingReads() {
+        try {
+            Runnable pendingRead;
+            while ((pendingRead = pendingReads.poll()) != null) {
+                pendingRead.run();
+            }
+        } finally {
+            activeWorkers.decrementAndGet();
+            // a read may have been queued after the last poll, but before the decrement
+            startWorkerIfNeeded();
+        }
+    }
+
+    private static void closeQuietly(final SeekableByteChannel channel) {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            // nothing useful can be done on failure to close a read-only channel
+        }
+    }
+}
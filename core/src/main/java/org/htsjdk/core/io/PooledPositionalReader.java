@@ -0,0 +1,126 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.jfr.HtsjdkEvents;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PositionalReader} for any NIO file system provider. Since a {@link SeekableByteChannel} has a single
+ * position, each read borrows a channel from a pool for its duration, opening a new one if none is idle. Reads
+ * therefore never wait on each other; at most {@code maxIdleChannels} channels are kept open between reads.
+ */
+public final class PooledPositionalReader implements PositionalReader {
+
+    /**
+     * Default maximum number of idle channels kept open.
+     */
+    public static final int DEFAULT_MAX_IDLE_CHANNELS = 8;
+
+    private final Path path;
+    private final int maxIdleChannels;
+    private final Queue<SeekableByteChannel> idleChannels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param path path of the resource to read. May not be null.
+     * @param maxIdleChannels maximum number of channels kept open between reads. Must be positive.
+     */
+    public PooledPositionalReader(final Path path, final int maxIdleChannels) {
+        ParamUtils.validate(maxIdleChannels > 0, () -> "max idle channels must be positive: " + maxIdleChannels);
+        this.path = ParamUtils.nonNull(path, () -> "path cannot be null");
+        this.maxIdleChannels = maxIdleChannels;
+    }
+
+    @Override
+    public int read(final long position, final ByteBuffer destination) {
+        ParamUtils.validate(position >= 0, () -> "position cannot be negative: " + position);
+        if (closed) {
+            throw new HtsjdkIOException(String.format("Reader for %s has been closed", path));
+        }
+        final SeekableByteChannel channel = borrow();
+        boolean reusable = false;
+        try {
+            final Object seekEvent = HtsjdkEvents.beginSeek();
+            channel.position(position);
+            HtsjdkEvents.commitSeek(seekEvent, path, position);
+
+            final Object readEvent = HtsjdkEvents.beginRead();
+            final int bytesRead = channel.read(destination);
+            HtsjdkEvents.commitRead(readEvent, path, position, bytesRead);
+            reusable = true;
+            return bytesRead;
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Failed reading %s at position %d", path, position), e);
+        } finally {
+            if (reusable) {
+                release(channel);
+            } else {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        try {
+            return Files.size(path);
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not get size of %s", path), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        SeekableByteChannel channel;
+        while ((channel = idleChannels.poll()) != null) {
+            closeQuietly(channel);
+        }
+    }
+
+    private SeekableByteChannel borrow() {
+        final SeekableByteChannel channel = idleChannels.poll();
+        if (channel != null) {
+            idleCount.decrementAndGet();
+            return channel;
+        }
+        try {
+            return Files.newByteChannel(path);
+        } catch (final IOException e) {
+            throw new HtsjdkIOException(String.format("Could not open channel for %s", path), e);
+        }
+    }
+
+    private void release(final SeekableByteChannel channel) {
+        if (closed || idleCount.incrementAndGet() > maxIdleChannels) {
+            if (!closed) {
+                idleCount.decrementAndGet();
+            }
+            closeQuietly(channel);
+        } else {
+            idleChannels.add(channel);
+            if (closed) {
+                close();
+            }
+        }
+    }
+
+    private static void closeQuietly(final SeekableByteChannel channel) {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            // nothing useful can be done on failure to close a read-only channel
+        }
+    }
+}
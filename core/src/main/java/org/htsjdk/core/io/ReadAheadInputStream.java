@@ -0,0 +1,458 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.jfr.HtsjdkEvents;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A sequential input stream that keeps several reads of the following chunks of a resource in flight on the I/O
+ * executor, so that a scan over a high-latency file system (such as a network or cloud file system) is limited by
+ * bandwidth rather than by the latency of each read. Reads go through a {@link PositionalReader}, and so work
+ * with any NIO provider.
+ *
+ * The read-ahead window (the number of chunks being read or waiting to be consumed) adapts to the observed read
+ * latency and consumer speed: to keep the consumer busy, the window needs as many chunks as the consumer goes
+ * through while one read is in flight, plus one. The window grows immediately when the consumer has to wait for a
+ * chunk (recorded as a {@link HtsjdkEvents#beginReadAheadStall() read-ahead stall} event), and shrinks when the
+ * consumer is slower than the reads, so a slow consumer does not hold more memory than it needs: buffers beyond
+ * the window are released as it shrinks. The window never exceeds the memory cap, which also covers the reads
+ * abandoned by a skip beyond the window that are still running.
+ *
+ * A failed read is thrown when the consumer reaches its chunk, and every later read or skip throws an
+ * {@link HtsjdkException} caused by it.
+ *
+ * Not thread-safe: the stream must be consumed from a single thread.
+ */
+public final class ReadAheadInputStream extends InputStream {
+
+    /**
+     * Default size of each read, in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Default maximum number of bytes read ahead.
+     */
+    public static final long DEFAULT_MAX_WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private static final int MIN_WINDOW_CHUNKS = 2;
+    // weight of the latest sample in the moving averages of the read latency and consumer time
+    private static final double SMOOTHING = 0.25;
+
+    private final Object resource;
+    private final PositionalReader reader;
+    private final ExecutorProvider executorProvider;
+    private final int chunkSize;
+    private final int maxWindowChunks;
+    private final long size;
+
+    // chunks being read or waiting to be consumed, in order
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+    // buffers for the next reads; trimmed so that the stream holds at most one buffer more than the window
+    private final ArrayDeque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+    // reads dropped by a skip or a failure that may still be running, whose buffers count against the memory cap
+    private final ArrayDeque<CompletableFuture<Integer>> orphanedReads = new ArrayDeque<>();
+    private int windowChunks;
+    // position of the next chunk to read
+    private long nextReadPosition;
+    // chunk being consumed, and the position of its next byte
+    private Chunk current;
+    private long position;
+
+    // moving averages, in nanoseconds: time for a read to complete, and time for the consumer to use up a chunk
+    private volatile double readNanos;
+    private double consumeNanos;
+    // when the current chunk was handed to the consumer, after any stall
+    private long currentStartNanos;
+    // a failed read, which is rethrown by every later read, since the data after it cannot be returned
+    private Throwable failure;
+    private boolean closed;
+
+    private ReadAheadInputStream(final Builder builder, final PositionalReader reader) {
+        this.resource = builder.ioResource;
+        this.reader = reader;
+        this.executorProvider = builder.executorProvider;
+        this.chunkSize = builder.chunkSize;
+        this.maxWindowChunks = (int) Math.max(1, Math.min(Integer.MAX_VALUE, builder.maxWindowBytes / builder.chunkSize));
+        this.windowChunks = Math.min(MIN_WINDOW_CHUNKS, maxWindowChunks);
+        this.size = reader.size();
+        this.position = builder.startPosition;
+        this.nextReadPosition = builder.startPosition;
+        issueReads();
+    }
+
+    /**
+     * @param ioResource the resource to read. May not be null.
+     * @return a new builder
+     */
+    public static Builder builder(final IOResource ioResource) {
+        return new Builder(ioResource);
+    }
+
+    /**
+     * @return position in the resource of the next byte returned by this stream
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return current size of the read-ahead window, in bytes
+     */
+    public long getWindowBytes() {
+        return (long) windowChunks * chunkSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final ByteBuffer buffer = currentBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        position++;
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        ParamUtils.validate(off >= 0 && len >= 0 && off + len <= b.length,
+                () -> String.format("invalid range: offset %d, length %d, array length %d", off, len, b.length));
+        if (len == 0) {
+            return 0;
+        }
+        int total = 0;
+        while (total < len) {
+            // only wait for a chunk if nothing has been read yet
+            if (total > 0 && (current == null || !current.buffer.hasRemaining()) && !isNextChunkReady()) {
+                break;
+            }
+            final ByteBuffer buffer = currentBuffer();
+            if (buffer == null) {
+                break;
+            }
+            final int count = Math.min(len - total, buffer.remaining());
+            buffer.get(b, off + total, count);
+            total += count;
+            position += count;
+        }
+        return total == 0 ? -1 : total;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        ensureOpen();
+        if (n <= 0) {
+            return 0;
+        }
+        final long start = position;
+        final long target = Math.min(Math.max(size, position), position + n);
+        // skip within the window by consuming chunks, and beyond it by restarting the reads at the target
+        if (target >= nextReadPosition) {
+            discardChunks();
+            position = target;
+            nextReadPosition = target;
+            issueReads();
+        } else {
+            while (position < target) {
+                final ByteBuffer buffer = currentBuffer();
+                if (buffer == null) {
+                    break;
+                }
+                final int count = (int) Math.min(target - position, buffer.remaining());
+                buffer.position(buffer.position() + count);
+                position += count;
+            }
+        }
+        return position - start;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        long available = current == null ? 0 : current.buffer.remaining();
+        for (final Chunk chunk : chunks) {
+            if (!chunk.read.isDone() || chunk.read.isCompletedExceptionally()) {
+                break;
+            }
+            available += chunk.buffer.remaining();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, available);
+    }
+
+    /**
+     * Close the stream. Reads still in flight are left to complete in the background, after which the underlying
+     * reader is closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (final Chunk chunk : chunks) {
+            inFlight.add(chunk.read);
+        }
+        inFlight.addAll(orphanedReads);
+        chunks.clear();
+        orphanedReads.clear();
+        freeBuffers.clear();
+        current = null;
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> reader.close());
+    }
+
+    // the buffer of the chunk being consumed, moving to the next chunk if needed, or null at the end of the data
+    private ByteBuffer currentBuffer() throws IOException {
+        ensureOpen();
+        while (current == null || !current.buffer.hasRemaining()) {
+            if (current != null) {
+                recordConsumed();
+                final ByteBuffer consumed = current.buffer;
+                current = null;
+                releaseBuffer(consumed);
+            }
+            if (chunks.isEmpty()) {
+                return null;
+            }
+            final Chunk next = chunks.peekFirst();
+            final int bytesRead = await(next);
+            chunks.removeFirst();
+            if (bytesRead <= 0) {
+                releaseBuffer(next.buffer);
+                discardChunks();
+                return null;
+            }
+            current = next;
+            currentStartNanos = System.nanoTime();
+            issueReads();
+        }
+        return current.buffer;
+    }
+
+    private boolean isNextChunkReady() {
+        final Chunk next = chunks.peekFirst();
+        return next != null && next.read.isDone();
+    }
+
+    // wait for a chunk, growing the window if the consumer had to wait
+    private int await(final Chunk chunk) throws IOException {
+        if (!chunk.read.isDone()) {
+            final Object stallEvent = HtsjdkEvents.beginReadAheadStall();
+            final int outstandingReads = chunks.size();
+            final long windowBytes = getWindowBytes();
+            join(chunk);
+            HtsjdkEvents.commitReadAheadStall(stallEvent, resource, chunk.position, outstandingReads, windowBytes);
+            windowChunks = Math.min(maxWindowChunks, Math.max(windowChunks * 2, MIN_WINDOW_CHUNKS));
+        }
+        return join(chunk);
+    }
+
+    private int join(final Chunk chunk) throws IOException {
+        try {
+            return chunk.read.join();
+        } catch (final CompletionException e) {
+            discardChunks();
+            failure = e.getCause();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HtsjdkException("Read-ahead failed for " + resource, e.getCause());
+        }
+    }
+
+    // update the moving averages with the time the consumer took to use up a chunk, and size the window to cover
+    // the read latency: while a read is in flight, the consumer goes through latency / consume time chunks
+    private void recordConsumed() {
+        final long elapsed = Math.max(1, System.nanoTime() - currentStartNanos);
+        consumeNanos = consumeNanos == 0 ? elapsed : consumeNanos + SMOOTHING * (elapsed - consumeNanos);
+        if (readNanos > 0) {
+            final int target = (int) Math.min(maxWindowChunks, Math.ceil(readNanos / consumeNanos) + 1);
+            // grow right away, but shrink one chunk at a time so that a single fast read does not collapse it
+            windowChunks = Math.min(maxWindowChunks, Math.max(MIN_WINDOW_CHUNKS, Math.max(target, windowChunks - 1)));
+        }
+    }
+
+    // issue reads until the window is full or the end of the resource is reached. Orphaned reads still running
+    // count against the memory cap: with chunks to consume, reads are issued later; with none, the oldest
+    // orphaned read is waited for
+    private void issueReads() {
+        orphanedReads.removeIf(CompletableFuture::isDone);
+        while (chunks.size() < windowChunks && nextReadPosition < size) {
+            if (chunks.size() + orphanedReads.size() >= maxWindowChunks) {
+                if (!chunks.isEmpty()) {
+                    break;
+                }
+                orphanedReads.poll().handle((bytesRead, error) -> null).join();
+                continue;
+            }
+            final long chunkPosition = nextReadPosition;
+            final ByteBuffer buffer = freeBuffers.isEmpty() ? ByteBuffer.allocate(chunkSize) : freeBuffers.poll();
+            buffer.clear();
+            buffer.limit((int) Math.min(chunkSize, size - chunkPosition));
+            final CompletableFuture<Integer> read = CompletableFuture.supplyAsync(() -> {
+                // timed from when the read runs rather than when it is issued, so that queueing on the executor
+                // (which grows with the window) does not feed back into the window size
+                final long started = System.nanoTime();
+                final int bytesRead = reader.readFully(chunkPosition, buffer);
+                buffer.flip();
+                recordRead(System.nanoTime() - started);
+                return bytesRead;
+            }, executorProvider.getIOExecutor());
+            chunks.addLast(new Chunk(chunkPosition, buffer, read));
+            nextReadPosition += buffer.limit();
+        }
+    }
+
+    // called from the I/O threads; the average is only a sizing hint, so racy updates are harmless
+    private void recordRead(final long elapsed) {
+        final double average = readNanos;
+        readNanos = average == 0 ? elapsed : average + SMOOTHING * (elapsed - average);
+    }
+
+    // drop all the chunks; buffers of reads still in flight are not reused, and the reads are tracked as orphans
+    private void discardChunks() {
+        for (final Chunk chunk : chunks) {
+            if (chunk.read.isDone()) {
+                freeBuffers.add(chunk.buffer);
+            } else {
+                orphanedReads.add(chunk.read);
+            }
+        }
+        chunks.clear();
+        if (current != null) {
+            freeBuffers.add(current.buffer);
+            current = null;
+        }
+        trimFreeBuffers();
+        nextReadPosition = position;
+    }
+
+    private void releaseBuffer(final ByteBuffer buffer) {
+        freeBuffers.add(buffer);
+        trimFreeBuffers();
+    }
+
+    // drop the free buffers beyond those needed to fill the window, so that memory follows the window as it shrinks
+    private void trimFreeBuffers() {
+        while (!freeBuffers.isEmpty() && freeBuffers.size() + chunks.size() > windowChunks + 1) {
+            freeBuffers.poll();
+        }
+    }
+
+    // package-private for tests: number of chunk buffers held, free or in use, excluding those of orphaned reads
+    int getRetainedBuffers() {
+        return freeBuffers.size() + chunks.size() + (current == null ? 0 : 1);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        if (failure != null) {
+            // a new exception each time, with the original failure as its cause
+            throw new HtsjdkException("Read-ahead failed earlier for " + resource, failure);
+        }
+    }
+
+    private static final class Chunk {
+        private final long position;
+        private final ByteBuffer buffer;
+        private final CompletableFuture<Integer> read;
+
+        private Chunk(final long position, final ByteBuffer buffer, final CompletableFuture<Integer> read) {
+            this.position = position;
+            this.buffer = buffer;
+            this.read = read;
+        }
+    }
+
+    /**
+     * Builder for {@link ReadAheadInputStream}.
+     */
+    public static final class Builder {
+        private final IOResource ioResource;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private long maxWindowBytes = DEFAULT_MAX_WINDOW_BYTES;
+        private long startPosition;
+        private ExecutorProvider executorProvider = HtsjdkExecutors.getDefault();
+
+        private Builder(final IOResource ioResource) {
+            this.ioResource = ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+        }
+
+        /**
+         * Set the size of each read (defaults to {@link #DEFAULT_CHUNK_SIZE}).
+         *
+         * @param chunkSize read size, in bytes. Must be positive.
+         * @return this builder
+         */
+        public Builder setChunkSize(final int chunkSize) {
+            ParamUtils.validate(chunkSize > 0, () -> "chunk size must be positive: " + chunkSize);
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of bytes read ahead of the chunk being consumed (defaults to
+         * {@link #DEFAULT_MAX_WINDOW_BYTES}). At least one chunk is always read ahead.
+         *
+         * @param maxWindowBytes memory cap, in bytes. Must be positive.
+         * @return this builder
+         */
+        public Builder setMaxWindowBytes(final long maxWindowBytes) {
+            ParamUtils.validate(maxWindowBytes > 0, () -> "max window bytes must be positive: " + maxWindowBytes);
+            this.maxWindowBytes = maxWindowBytes;
+            return this;
+        }
+
+        /**
+         * Set the position in the resource at which the stream starts (defaults to 0).
+         *
+         * @param startPosition start position, in bytes. Must not be negative.
+         * @return this builder
+         */
+        public Builder setStartPosition(final long startPosition) {
+            ParamUtils.validate(startPosition >= 0, () -> "start position cannot be negative: " + startPosition);
+            this.startPosition = startPosition;
+            return this;
+        }
+
+        /**
+         * Set the executors used by the stream (defaults to {@link HtsjdkExecutors#getDefault()}). Reads run on
+         * the I/O executor.
+         *
+         * @param executorProvider provider of the stream executors. May not be null.
+         * @return this builder
+         */
+        public Builder setExecutorProvider(final ExecutorProvider executorProvider) {
+            this.executorProvider = ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link ReadAheadInputStream}, with its own reader of the resource. The first reads are
+         * issued right away.
+         */
+        public ReadAheadInputStream build() {
+            return build(ioResource.getPositionalReader());
+        }
+
+        // package-private for tests
+        ReadAheadInputStream build(final PositionalReader reader) {
+            return new ReadAheadInputStream(this, reader);
+        }
+    }
+}
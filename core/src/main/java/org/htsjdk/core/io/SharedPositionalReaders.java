@@ -0,0 +1,97 @@
+package org.htsjdk.core.io;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide registry of {@link PositionalReader}s, shared by all the threads querying the same resource.
+ *
+ * {@link #acquire(IOResource)} returns a handle backed by a single reader per resource URI, which is opened on
+ * first acquisition and closed when the last handle is closed. A server handling many concurrent queries against
+ * a few resources therefore needs only one open reader (and, for local files, one file descriptor) per resource.
+ * Any per-query decoding state should be kept by the calling thread.
+ */
+public final class SharedPositionalReaders {
+
+    private static final Map<URI, SharedReader> sharedReaders = new ConcurrentHashMap<>();
+
+    // cannot be instantiated
+    private SharedPositionalReaders() {}
+
+    /**
+     * Acquire a handle to the shared reader for a resource. The handle must be closed when no longer needed.
+     *
+     * @param ioResource the resource to read. May not be null.
+     * @return a handle to the shared reader for {@code ioResource}
+     */
+    public static PositionalReader acquire(final IOResource ioResource) {
+        ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+        final URI uri = ioResource.getURI();
+        final SharedReader sharedReader = sharedReaders.compute(uri, (key, existing) -> {
+            final SharedReader reader = existing == null ? new SharedReader(ioResource.getPositionalReader()) : existing;
+            reader.references++;
+            return reader;
+        });
+        return new Handle(uri, sharedReader.reader);
+    }
+
+    // number of resources with an open shared reader; for tests
+    static int getSharedReaderCount() {
+        return sharedReaders.size();
+    }
+
+    private static void release(final URI uri) {
+        sharedReaders.computeIfPresent(uri, (key, existing) -> {
+            if (--existing.references == 0) {
+                existing.reader.close();
+                return null;
+            }
+            return existing;
+        });
+    }
+
+    // only mutated inside ConcurrentHashMap.compute, which serializes updates for a key
+    private static final class SharedReader {
+        private final PositionalReader reader;
+        private int references;
+
+        private SharedReader(final PositionalReader reader) {
+            this.reader = reader;
+        }
+    }
+
+    private static final class Handle implements PositionalReader {
+        private final URI uri;
+        private final PositionalReader reader;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Handle(final URI uri, final PositionalReader reader) {
+            this.uri = uri;
+            this.reader = reader;
+        }
+
+        @Override
+        public int read(final long position, final ByteBuffer destination) {
+            return reader.read(position, destination);
+        }
+
+        @Override
+        public long size() {
+            return reader.size();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(uri);
+            }
+        }
+    }
+}
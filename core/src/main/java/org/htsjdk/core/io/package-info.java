@@ -0,0 +1,4 @@
+/**
+ * Contains stream and channel implementations backing {@link org.htsjdk.core.api.io.IOResource}.
+ */
+package org.htsjdk.core.io;
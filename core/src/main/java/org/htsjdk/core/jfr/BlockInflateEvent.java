@@ -0,0 +1,27 @@
+package org.htsjdk.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Decompression of a single block by a codec.
+ */
+@Name("htsjdk.BlockInflate")
+@Label("Block Inflate")
+@Description("Decompression of a single block")
+@Category({"htsjdk", "Codec"})
+final class BlockInflateEvent extends jdk.jfr.Event {
+    @Label("Codec")
+    String codec;
+
+    @Label("Compressed Size")
+    @DataAmount
+    long compressedSize;
+
+    @Label("Uncompressed Size")
+    @DataAmount
+    long uncompressedSize;
+}
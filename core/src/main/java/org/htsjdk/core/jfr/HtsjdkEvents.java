@@ -0,0 +1,193 @@
+package org.htsjdk.core.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Emits htsjdk-next Java Flight Recorder events.
+ *
+ * Each event is emitted with a pair of calls: {@code beginX()} returns an opaque token, which is passed back to
+ * {@code commitX(token, ...)} once the operation is complete. The token is {@code null} unless a recording with
+ * the event enabled is active, in which case the commit call records the event; otherwise both calls return
+ * immediately. Event attributes (such as the resource name) are only computed when the event is recorded.
+ *
+ * On a JVM without {@code jdk.jfr} (Java 8 builds older than 8u262), no event classes are ever loaded, and all
+ * calls are no-ops.
+ */
+public final class HtsjdkEvents {
+
+    /**
+     * Kind recorded by {@link #commitOpen(Object, Object, String)} for input streams.
+     */
+    public static final String INPUT_STREAM = "input stream";
+    /**
+     * Kind recorded by {@link #commitOpen(Object, Object, String)} for output streams.
+     */
+    public static final String OUTPUT_STREAM = "output stream";
+    /**
+     * Kind recorded by {@link #commitOpen(Object, Object, String)} for positional readers.
+     */
+    public static final String POSITIONAL_READER = "positional reader";
+    /**
+     * Kind recorded by {@link #commitOpen(Object, Object, String)} for asynchronous channels.
+     */
+    public static final String ASYNC_CHANNEL = "async channel";
+
+    private static final boolean AVAILABLE = isJfrAvailable();
+
+    // cannot be instantiated
+    private HtsjdkEvents() {}
+
+    /**
+     * @return true if this JVM supports Java Flight Recorder events
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * @return a token for {@link #commitOpen(Object, Object, String)}, or null if the event is not being recorded
+     */
+    public static Object beginOpen() {
+        return AVAILABLE ? JfrEvents.beginOpen() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginOpen()}
+     * @param resource the resource opened; its {@code toString()} is recorded
+     * @param kind the kind of object opened, e.g., {@link #INPUT_STREAM}
+     */
+    public static void commitOpen(final Object token, final Object resource, final String kind) {
+        if (token != null) {
+            JfrEvents.commitOpen(token, resource, kind);
+        }
+    }
+
+    /**
+     * @return a token for {@link #commitRead(Object, Object, long, long)}, or null if the event is not being
+     * recorded
+     */
+    public static Object beginRead() {
+        return AVAILABLE ? JfrEvents.beginRead() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginRead()}
+     * @param resource the resource read; its {@code toString()} is recorded
+     * @param position position of a positional read, or -1 for a stream read
+     * @param bytesRead number of bytes read
+     */
+    public static void commitRead(final Object token, final Object resource, final long position, final long bytesRead) {
+        if (token != null) {
+            JfrEvents.commitRead(token, resource, position, bytesRead);
+        }
+    }
+
+    /**
+     * @return a token for {@link #commitSeek(Object, Object, long)}, or null if the event is not being recorded
+     */
+    public static Object beginSeek() {
+        return AVAILABLE ? JfrEvents.beginSeek() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginSeek()}
+     * @param resource the resource; its {@code toString()} is recorded
+     * @param position the new position
+     */
+    public static void commitSeek(final Object token, final Object resource, final long position) {
+        if (token != null) {
+            JfrEvents.commitSeek(token, resource, position);
+        }
+    }
+
+    /**
+     * @return a token for {@link #commitInflate(Object, String, long, long)}, or null if the event is not being
+     * recorded
+     */
+    public static Object beginInflate() {
+        return AVAILABLE ? JfrEvents.beginInflate() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginInflate()}
+     * @param codec name of the codec that inflated the block
+     * @param compressedSize size of the compressed block
+     * @param uncompressedSize size of the block once inflated
+     */
+    public static void commitInflate(
+            final Object token,
+            final String codec,
+            final long compressedSize,
+            final long uncompressedSize) {
+        if (token != null) {
+            JfrEvents.commitInflate(token, codec, compressedSize, uncompressedSize);
+        }
+    }
+
+    /**
+     * @return a token for {@link #commitReadAheadStall(Object, Object, long, int, long)}, or null if the event is
+     * not being recorded
+     */
+    public static Object beginReadAheadStall() {
+        return AVAILABLE ? JfrEvents.beginReadAheadStall() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginReadAheadStall()}
+     * @param resource the resource being read; its {@code toString()} is recorded
+     * @param position position the consumer was waiting for
+     * @param outstandingReads number of reads in flight when the consumer started waiting
+     * @param windowBytes size of the read-ahead window when the consumer started waiting
+     */
+    public static void commitReadAheadStall(
+            final Object token,
+            final Object resource,
+            final long position,
+            final int outstandingReads,
+            final long windowBytes) {
+        if (token != null) {
+            JfrEvents.commitReadAheadStall(token, resource, position, outstandingReads, windowBytes);
+        }
+    }
+
+    /**
+     * Wrap an input stream so that its reads are recorded as {@link #beginRead() read events}. Whether to wrap is
+     * decided when this method is called, so streams opened while read events are not being recorded are returned
+     * unchanged and have no overhead.
+     *
+     * @param inputStream stream to wrap
+     * @param resource the resource the stream reads; its {@code toString()} is recorded
+     * @return a tracing stream if read events are being recorded, otherwise {@code inputStream}
+     */
+    public static InputStream traceInputStream(final InputStream inputStream, final Object resource) {
+        return AVAILABLE && JfrEvents.isReadEnabled() ? new TracingInputStream(inputStream, resource) : inputStream;
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, HtsjdkEvents.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static final class TracingInputStream extends FilterInputStream {
+        private final Object resource;
+
+        private TracingInputStream(final InputStream in, final Object resource) {
+            super(in);
+            this.resource = resource;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final Object token = beginRead();
+            final int bytesRead = in.read(b, off, len);
+            commitRead(token, resource, -1, bytesRead);
+            return bytesRead;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.htsjdk.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Opening a stream, channel or reader on an {@link org.htsjdk.core.api.io.IOResource}.
+ */
+@Name("htsjdk.IOOpen")
+@Label("IOResource Open")
+@Description("Opening a stream, channel or reader on an IOResource")
+@Category({"htsjdk", "I/O"})
+final class IOOpenEvent extends jdk.jfr.Event {
+    @Label("Resource")
+    String resource;
+
+    @Label("Kind")
+    @Description("Kind of object opened (input stream, output stream, positional reader, async channel)")
+    String kind;
+}
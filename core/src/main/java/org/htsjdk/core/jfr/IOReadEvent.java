@@ -0,0 +1,27 @@
+package org.htsjdk.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A read from an {@link org.htsjdk.core.api.io.IOResource}.
+ */
+@Name("htsjdk.IORead")
+@Label("IOResource Read")
+@Description("A read from an IOResource stream or reader")
+@Category({"htsjdk", "I/O"})
+final class IOReadEvent extends jdk.jfr.Event {
+    @Label("Resource")
+    String resource;
+
+    @Label("Position")
+    @Description("Position of a positional read, or -1 for a stream read")
+    long position;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+}
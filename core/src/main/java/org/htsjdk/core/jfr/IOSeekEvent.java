@@ -0,0 +1,21 @@
+package org.htsjdk.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Repositioning a channel on an {@link org.htsjdk.core.api.io.IOResource}.
+ */
+@Name("htsjdk.IOSeek")
+@Label("IOResource Seek")
+@Description("Repositioning a channel on an IOResource")
+@Category({"htsjdk", "I/O"})
+final class IOSeekEvent extends jdk.jfr.Event {
+    @Label("Resource")
+    String resource;
+
+    @Label("Position")
+    long position;
+}
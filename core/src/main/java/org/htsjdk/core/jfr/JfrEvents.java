@@ -0,0 +1,119 @@
+package org.htsjdk.core.jfr;
+
+/**
+ * The only class, besides the events themselves, that refers to {@code jdk.jfr}. It is only loaded by
+ * {@link HtsjdkEvents} once {@code jdk.jfr} is known to be available.
+ */
+final class JfrEvents {
+
+    // cannot be instantiated
+    private JfrEvents() {}
+
+    static boolean isReadEnabled() {
+        return new IOReadEvent().isEnabled();
+    }
+
+    static Object beginOpen() {
+        final IOOpenEvent event = new IOOpenEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitOpen(final Object token, final Object resource, final String kind) {
+        final IOOpenEvent event = (IOOpenEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.resource = String.valueOf(resource);
+            event.kind = kind;
+            event.commit();
+        }
+    }
+
+    static Object beginRead() {
+        final IOReadEvent event = new IOReadEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitRead(final Object token, final Object resource, final long position, final long bytesRead) {
+        final IOReadEvent event = (IOReadEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.resource = String.valueOf(resource);
+            event.position = position;
+            event.bytesRead = bytesRead;
+            event.commit();
+        }
+    }
+
+    static Object beginSeek() {
+        final IOSeekEvent event = new IOSeekEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitSeek(final Object token, final Object resource, final long position) {
+        final IOSeekEvent event = (IOSeekEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.resource = String.valueOf(resource);
+            event.position = position;
+            event.commit();
+        }
+    }
+
+    static Object beginInflate() {
+        final BlockInflateEvent event = new BlockInflateEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitInflate(final Object token, final String codec, final long compressedSize, final long uncompressedSize) {
+        final BlockInflateEvent event = (BlockInflateEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.codec = codec;
+            event.compressedSize = compressedSize;
+            event.uncompressedSize = uncompressedSize;
+            event.commit();
+        }
+    }
+
+    static Object beginReadAheadStall() {
+        final ReadAheadStallEvent event = new ReadAheadStallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitReadAheadStall(
+            final Object token,
+            final Object resource,
+            final long position,
+            final int outstandingReads,
+            final long windowBytes) {
+        final ReadAheadStallEvent event = (ReadAheadStallEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.resource = String.valueOf(resource);
+            event.position = position;
+            event.outstandingReads = outstandingReads;
+            event.windowBytes = windowBytes;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.htsjdk.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A consumer waiting for a read-ahead buffer that has not arrived yet.
+ */
+@Name("htsjdk.ReadAheadStall")
+@Label("Read-Ahead Stall")
+@Description("A consumer blocked waiting for read-ahead data")
+@Category({"htsjdk", "I/O"})
+final class ReadAheadStallEvent extends jdk.jfr.Event {
+    @Label("Resource")
+    String resource;
+
+    @Label("Position")
+    long position;
+
+    @Label("Outstanding Reads")
+    @Description("Number of reads in flight when the consumer started waiting")
+    int outstandingReads;
+
+    @Label("Read-Ahead Window")
+    @DataAmount
+    long windowBytes;
+}
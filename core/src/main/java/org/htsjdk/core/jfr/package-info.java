@@ -0,0 +1,5 @@
+/**
+ * Contains Java Flight Recorder events for htsjdk-next I/O and decoding. See
+ * {@link org.htsjdk.core.jfr.HtsjdkEvents}.
+ */
+package org.htsjdk.core.jfr;
@@ -0,0 +1,104 @@
+package org.htsjdk.core.metrics;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide registry of I/O metrics (per URI scheme) and stage metrics (per codec or decoder name).
+ *
+ * Metrics are disabled by default, or enabled from the start by setting the system property
+ * {@code htsjdk.metrics.enabled} to {@code true}. While disabled, {@link #wrap(IOResource)} returns resources
+ * unchanged and {@link StageMetrics#start()} does not read the clock, so the only overhead is a volatile read.
+ */
+public final class HtsjdkMetrics {
+
+    /**
+     * System property that enables metrics at startup.
+     */
+    public static final String ENABLED_PROPERTY = "htsjdk.metrics.enabled";
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final Map<String, IOMetrics> ioMetrics = new ConcurrentHashMap<>();
+    private static final Map<String, StageMetrics> stageMetrics = new ConcurrentHashMap<>();
+
+    // cannot be instantiated
+    private HtsjdkMetrics() {}
+
+    /**
+     * @return true if metrics are currently being recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable metrics recording. Streams and channels already opened through a wrapped resource keep
+     * recording until they are closed.
+     *
+     * @param isEnabled true to enable recording
+     */
+    public static void setEnabled(final boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * Wrap a resource so that the streams, channels and readers opened from it record their I/O in the metrics for
+     * the resource URI scheme.
+     *
+     * @param ioResource resource to wrap. May not be null.
+     * @return a metered resource if metrics are enabled, otherwise {@code ioResource} itself
+     */
+    public static IOResource wrap(final IOResource ioResource) {
+        ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+        if (!enabled || ioResource instanceof MeteredIOResource) {
+            return ioResource;
+        }
+        return new MeteredIOResource(ioResource, getIOMetrics(ioResource.getScheme()));
+    }
+
+    /**
+     * Get the I/O metrics for a URI scheme, creating them if necessary.
+     *
+     * @param scheme URI scheme (case insensitive). May not be null.
+     * @return the metrics for {@code scheme}
+     */
+    public static IOMetrics getIOMetrics(final String scheme) {
+        ParamUtils.nonNull(scheme, () -> "scheme cannot be null");
+        return ioMetrics.computeIfAbsent(scheme.toLowerCase(Locale.ROOT), IOMetrics::new);
+    }
+
+    /**
+     * Get the metrics for a processing stage, creating them if necessary. Stage names are free-form; by
+     * convention they are dotted, e.g., {@code "codec.gzip.inflate"}.
+     *
+     * @param name name of the stage. May not be null.
+     * @return the metrics for the stage {@code name}
+     */
+    public static StageMetrics getStageMetrics(final String name) {
+        ParamUtils.nonNull(name, () -> "stage name cannot be null");
+        return stageMetrics.computeIfAbsent(name, StageMetrics::new);
+    }
+
+    /**
+     * @return a point-in-time copy of all metrics
+     */
+    public static MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(
+                ioMetrics.values().stream().collect(Collectors.toMap(IOMetrics::getScheme, IOMetrics::snapshot)),
+                stageMetrics.values().stream().collect(Collectors.toMap(StageMetrics::getName, StageMetrics::snapshot)));
+    }
+
+    /**
+     * Reset all metrics to zero.
+     */
+    public static void reset() {
+        ioMetrics.values().forEach(IOMetrics::reset);
+        stageMetrics.values().forEach(StageMetrics::reset);
+    }
+}
@@ -0,0 +1,145 @@
+package org.htsjdk.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * I/O counters and latency histograms for all the resources sharing a URI scheme.
+ */
+public final class IOMetrics {
+    private final String scheme;
+    private final LongAdder opens = new LongAdder();
+    private final LongAdder readOperations = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder writeOperations = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LatencyHistogram openLatency = new LatencyHistogram();
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    IOMetrics(final String scheme) {
+        this.scheme = scheme;
+    }
+
+    /**
+     * @return the URI scheme these metrics are recorded for
+     */
+    public String getScheme() { return scheme; }
+
+    /**
+     * Record the opening of a stream or channel.
+     *
+     * @param nanos time taken to open, in nanoseconds
+     */
+    public void recordOpen(final long nanos) {
+        opens.increment();
+        openLatency.record(nanos);
+    }
+
+    /**
+     * Record a read operation.
+     *
+     * @param bytes number of bytes read (non-positive values are counted as an operation only)
+     * @param nanos time taken by the read, in nanoseconds
+     */
+    public void recordRead(final long bytes, final long nanos) {
+        readOperations.increment();
+        if (bytes > 0) {
+            bytesRead.add(bytes);
+        }
+        readLatency.record(nanos);
+    }
+
+    /**
+     * Record a write operation.
+     *
+     * @param bytes number of bytes written
+     * @param nanos time taken by the write, in nanoseconds
+     */
+    public void recordWrite(final long bytes, final long nanos) {
+        writeOperations.increment();
+        bytesWritten.add(bytes);
+        writeLatency.record(nanos);
+    }
+
+    // single-byte reads and writes are counted, but not timed, to keep their overhead low
+    void recordReadByte(final boolean endOfStream) {
+        readOperations.increment();
+        if (!endOfStream) {
+            bytesRead.increment();
+        }
+    }
+
+    void recordWriteByte() {
+        writeOperations.increment();
+        bytesWritten.increment();
+    }
+
+    /**
+     * @return a point-in-time copy of these metrics
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    void reset() {
+        opens.reset();
+        readOperations.reset();
+        bytesRead.reset();
+        writeOperations.reset();
+        bytesWritten.reset();
+        openLatency.reset();
+        readLatency.reset();
+        writeLatency.reset();
+    }
+
+    /**
+     * An immutable copy of an {@link IOMetrics}.
+     */
+    public static final class Snapshot {
+        private final String scheme;
+        private final long opens;
+        private final long readOperations;
+        private final long bytesRead;
+        private final long writeOperations;
+        private final long bytesWritten;
+        private final LatencyHistogram.Snapshot openLatency;
+        private final LatencyHistogram.Snapshot readLatency;
+        private final LatencyHistogram.Snapshot writeLatency;
+
+        private Snapshot(final IOMetrics metrics) {
+            this.scheme = metrics.scheme;
+            this.opens = metrics.opens.sum();
+            this.readOperations = metrics.readOperations.sum();
+            this.bytesRead = metrics.bytesRead.sum();
+            this.writeOperations = metrics.writeOperations.sum();
+            this.bytesWritten = metrics.bytesWritten.sum();
+            this.openLatency = metrics.openLatency.snapshot();
+            this.readLatency = metrics.readLatency.snapshot();
+            this.writeLatency = metrics.writeLatency.snapshot();
+        }
+
+        public String getScheme() { return scheme; }
+
+        public long getOpens() { return opens; }
+
+        public long getReadOperations() { return readOperations; }
+
+        public long getBytesRead() { return bytesRead; }
+
+        public long getWriteOperations() { return writeOperations; }
+
+        public long getBytesWritten() { return bytesWritten; }
+
+        public LatencyHistogram.Snapshot getOpenLatency() { return openLatency; }
+
+        public LatencyHistogram.Snapshot getReadLatency() { return readLatency; }
+
+        public LatencyHistogram.Snapshot getWriteLatency() { return writeLatency; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: opens=%d reads=%d (%d bytes; %s) writes=%d (%d bytes; %s)",
+                    scheme, opens, readOperations, bytesRead, readLatency, writeOperations, bytesWritten, writeLatency);
+        }
+    }
+}
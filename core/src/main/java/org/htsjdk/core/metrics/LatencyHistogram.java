@@ -0,0 +1,126 @@
+package org.htsjdk.core.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies, in nanoseconds, with power-of-two buckets. Recording is lock-free and
+ * uses striped counters, so it scales with the number of recording threads.
+ *
+ * Bucket {@code i} counts latencies in the range {@code [2^(i-1), 2^i)}; bucket 0 counts latencies of 0.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets[BUCKET_COUNT - Long.numberOfLeadingZeros(value)].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * @return a point-in-time copy of this histogram. Not atomic with respect to concurrent recording.
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum(), maxNanos.get());
+    }
+
+    void reset() {
+        for (final LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * An immutable copy of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] bucketCounts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(final long[] bucketCounts, final long totalNanos, final long maxNanos) {
+            this.bucketCounts = bucketCounts;
+            this.count = Arrays.stream(bucketCounts).sum();
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @return number of latencies recorded
+         */
+        public long getCount() { return count; }
+
+        /**
+         * @return sum of all latencies recorded, in nanoseconds
+         */
+        public long getTotalNanos() { return totalNanos; }
+
+        /**
+         * @return largest latency recorded, in nanoseconds
+         */
+        public long getMaxNanos() { return maxNanos; }
+
+        /**
+         * @return mean latency, in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMeanNanos() { return count == 0 ? 0 : (double) totalNanos / count; }
+
+        /**
+         * @return a copy of the per-bucket counts (see {@link LatencyHistogram} for the bucket boundaries)
+         */
+        public long[] getBucketCounts() { return bucketCounts.clone(); }
+
+        /**
+         * Estimate a percentile. The estimate is the upper bound of the bucket containing the percentile, so it
+         * overestimates the true value by less than a factor of two.
+         *
+         * @param percentile percentile in the range [0, 100]
+         * @return upper bound of the given percentile, in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getPercentileNanos(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+            }
+            final long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank && seen > 0) {
+                    return i == 0 ? 0 : Math.min(maxNanos, (1L << i) - 1);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.0fns p50=%dns p99=%dns max=%dns",
+                    count, getMeanNanos(), getPercentileNanos(50), getPercentileNanos(99), maxNanos);
+        }
+    }
+}
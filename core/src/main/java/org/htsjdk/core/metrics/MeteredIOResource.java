@@ -0,0 +1,237 @@
+package org.htsjdk.core.metrics;
+
+import org.htsjdk.core.api.io.AsyncReadChannel;
+import org.htsjdk.core.api.io.CommittableOutputStream;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.api.io.WriteOptions;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * An {@link IOResource} that delegates to another resource, and records the I/O done through the streams,
+ * channels and readers it opens. Created by {@link HtsjdkMetrics#wrap(IOResource)}.
+ */
+final class MeteredIOResource implements IOResource {
+    private final IOResource delegate;
+    private final IOMetrics metrics;
+
+    MeteredIOResource(final IOResource delegate, final IOMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean isNIO() { return delegate.isNIO(); }
+
+    @Override
+    public boolean isPath() { return delegate.isPath(); }
+
+    @Override
+    public URI getURI() { return delegate.getURI(); }
+
+    @Override
+    public String getURIString() { return delegate.getURIString(); }
+
+    @Override
+    public String getRawInputString() { return delegate.getRawInputString(); }
+
+    @Override
+    public Path toPath() { return delegate.toPath(); }
+
+    @Override
+    public Optional<String> getToPathFailureReason() { return delegate.getToPathFailureReason(); }
+
+    @Override
+    public String getScheme() { return delegate.getScheme(); }
+
+    @Override
+    public InputStream getInputStream() {
+        return new MeteredInputStream(timedOpen(delegate::getInputStream), metrics);
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return new MeteredOutputStream(timedOpen(delegate::getOutputStream), metrics);
+    }
+
+    @Override
+    public CommittableOutputStream getOutputStream(final WriteOptions writeOptions) {
+        return new MeteredCommittableOutputStream(timedOpen(() -> delegate.getOutputStream(writeOptions)), metrics);
+    }
+
+    @Override
+    public AsyncReadChannel getAsyncReadChannel() {
+        return new MeteredAsyncReadChannel(timedOpen(delegate::getAsyncReadChannel), metrics);
+    }
+
+    @Override
+    public PositionalReader getPositionalReader() {
+        return new MeteredPositionalReader(timedOpen(delegate::getPositionalReader), metrics);
+    }
+
+    @Override
+    public String toString() { return delegate.toString(); }
+
+    private <T> T timedOpen(final Supplier<T> opener) {
+        final long start = System.nanoTime();
+        final T opened = opener.get();
+        metrics.recordOpen(System.nanoTime() - start);
+        return opened;
+    }
+
+    private static final class MeteredInputStream extends FilterInputStream {
+        private final IOMetrics metrics;
+
+        private MeteredInputStream(final InputStream in, final IOMetrics metrics) {
+            super(in);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = in.read();
+            metrics.recordReadByte(value < 0);
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            final int bytesRead = in.read(b, off, len);
+            metrics.recordRead(bytesRead, System.nanoTime() - start);
+            return bytesRead;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long start = System.nanoTime();
+            final long skipped = in.skip(n);
+            metrics.recordRead(0, System.nanoTime() - start);
+            return skipped;
+        }
+    }
+
+    private static final class MeteredOutputStream extends FilterOutputStream {
+        private final IOMetrics metrics;
+
+        private MeteredOutputStream(final OutputStream out, final IOMetrics metrics) {
+            super(out);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            metrics.recordWriteByte();
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            out.write(b, off, len);
+            metrics.recordWrite(len, System.nanoTime() - start);
+        }
+    }
+
+    // forwards commit and abort, which a FilterOutputStream would hide
+    private static final class MeteredCommittableOutputStream extends CommittableOutputStream {
+        private final CommittableOutputStream out;
+        private final IOMetrics metrics;
+
+        private MeteredCommittableOutputStream(final CommittableOutputStream out, final IOMetrics metrics) {
+            this.out = out;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            metrics.recordWriteByte();
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            out.write(b, off, len);
+            metrics.recordWrite(len, System.nanoTime() - start);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void commit() throws IOException {
+            out.commit();
+        }
+
+        @Override
+        public void abort() throws IOException {
+            out.abort();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class MeteredPositionalReader implements PositionalReader {
+        private final PositionalReader delegate;
+        private final IOMetrics metrics;
+
+        private MeteredPositionalReader(final PositionalReader delegate, final IOMetrics metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int read(final long position, final ByteBuffer destination) {
+            final long start = System.nanoTime();
+            final int bytesRead = delegate.read(position, destination);
+            metrics.recordRead(bytesRead, System.nanoTime() - start);
+            return bytesRead;
+        }
+
+        @Override
+        public long size() { return delegate.size(); }
+
+        @Override
+        public void close() { delegate.close(); }
+    }
+
+    private static final class MeteredAsyncReadChannel implements AsyncReadChannel {
+        private final AsyncReadChannel delegate;
+        private final IOMetrics metrics;
+
+        private MeteredAsyncReadChannel(final AsyncReadChannel delegate, final IOMetrics metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public CompletableFuture<Integer> readAsync(final long position, final ByteBuffer destination) {
+            final long start = System.nanoTime();
+            return delegate.readAsync(position, destination).whenComplete((bytesRead, throwable) ->
+                    metrics.recordRead(bytesRead == null ? 0 : bytesRead, System.nanoTime() - start));
+        }
+
+        @Override
+        public long size() { return delegate.size(); }
+
+        @Override
+        public void close() { delegate.close(); }
+    }
+}
@@ -0,0 +1,36 @@
+package org.htsjdk.core.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable copy of all the metrics recorded by {@link HtsjdkMetrics}.
+ */
+public final class MetricsSnapshot {
+    private final Map<String, IOMetrics.Snapshot> ioMetrics;
+    private final Map<String, StageMetrics.Snapshot> stageMetrics;
+
+    MetricsSnapshot(final Map<String, IOMetrics.Snapshot> ioMetrics, final Map<String, StageMetrics.Snapshot> stageMetrics) {
+        this.ioMetrics = Collections.unmodifiableMap(new TreeMap<>(ioMetrics));
+        this.stageMetrics = Collections.unmodifiableMap(new TreeMap<>(stageMetrics));
+    }
+
+    /**
+     * @return I/O metrics keyed by URI scheme, sorted by scheme
+     */
+    public Map<String, IOMetrics.Snapshot> getIOMetrics() { return ioMetrics; }
+
+    /**
+     * @return stage metrics keyed by stage name, sorted by name
+     */
+    public Map<String, StageMetrics.Snapshot> getStageMetrics() { return stageMetrics; }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        ioMetrics.values().forEach(snapshot -> builder.append(snapshot).append('\n'));
+        stageMetrics.values().forEach(snapshot -> builder.append(snapshot).append('\n'));
+        return builder.toString();
+    }
+}
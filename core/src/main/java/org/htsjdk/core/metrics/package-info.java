@@ -0,0 +1,4 @@
+/**
+ * Contains low-overhead I/O and decode-stage metrics. See {@link org.htsjdk.core.metrics.HtsjdkMetrics}.
+ */
+package org.htsjdk.core.metrics;
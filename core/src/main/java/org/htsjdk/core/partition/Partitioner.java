@@ -0,0 +1,18 @@
+package org.htsjdk.core.partition;
+
+/**
+ * Assigns records to partitions. Must be deterministic, so that equal records (or records with equal keys) are
+ * always assigned to the same partition, and must be safe to call from any thread.
+ *
+ * @param <R> type of the records
+ */
+@FunctionalInterface
+public interface Partitioner<R> {
+
+    /**
+     * @param record the record to assign. Will not be null.
+     * @param partitionCount number of partitions. Will be positive.
+     * @return the partition of {@code record}, in {@code [0, partitionCount)}
+     */
+    int getPartition(R record, int partitionCount);
+}
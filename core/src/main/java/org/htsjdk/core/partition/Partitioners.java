@@ -0,0 +1,59 @@
+package org.htsjdk.core.partition;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.function.Function;
+
+/**
+ * Factory methods for common {@link Partitioner}s.
+ */
+public final class Partitioners {
+
+    // cannot be instantiated
+    private Partitioners() {}
+
+    /**
+     * Partition records by genomic bin: the genome is split into bins of {@code binSize} bases, and bins are
+     * spread over the partitions by hash. All the records starting in a bin land in the same partition, so each
+     * partition can be coordinate-sorted and processed independently, bin by bin.
+     *
+     * @param binSize number of bases per bin. Must be positive. Bins should be small compared to the genome
+     *                divided by the number of partitions, so that the load is spread evenly.
+     * @param <R> type of the records
+     * @return the partitioner
+     */
+    public static <R extends Locatable> Partitioner<R> byGenomicBin(final int binSize) {
+        ParamUtils.validate(binSize > 0, () -> "bin size must be positive: " + binSize);
+        return (record, partitionCount) -> {
+            final int bin = (record.getStart() - 1) / binSize;
+            return Math.floorMod(mix(31 * record.getContig().hashCode() + bin), partitionCount);
+        };
+    }
+
+    /**
+     * Partition records by the hash of a key, such as the read name, so that all the records sharing a key
+     * (for example the two reads of a pair) land in the same partition.
+     *
+     * @param keyExtractor extracts the key of a record. May not be null. Keys must have a deterministic
+     *                     {@code hashCode}, consistent across processes when shards are produced by several
+     *                     processes (which is the case for {@link String}).
+     * @param <R> type of the records
+     * @return the partitioner
+     */
+    public static <R> Partitioner<R> byHash(final Function<? super R, ?> keyExtractor) {
+        ParamUtils.nonNull(keyExtractor, () -> "key extractor cannot be null");
+        return (record, partitionCount) -> Math.floorMod(mix(keyExtractor.apply(record).hashCode()), partitionCount);
+    }
+
+    // MurmurHash3 finalizer, to spread hash codes that differ in few bits (such as consecutive bins)
+    private static int mix(final int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,474 @@
+package org.htsjdk.core.partition;
+
+import org.htsjdk.core.api.io.CommittableOutputStream;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.codec.BinaryOutput;
+import org.htsjdk.core.codec.RecordBlocks;
+import org.htsjdk.core.codec.RecordCodec;
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Routes a stream of records into N shards, one per output {@link IOResource}, according to a
+ * {@link Partitioner}.
+ *
+ * Each partition encodes its records into its own buffer. When the buffer reaches the block size, it is sealed
+ * as a {@link RecordBlocks record block}, compressed on the compute executor, and appended to the partition's
+ * output on the I/O executor. Blocks of different partitions, and successive blocks of the same partition, are
+ * compressed in parallel; the writes to each output are serialized, in block order. Shards are in
+ * {@link ShardFormat}, and each can be read, sorted and processed independently of the others.
+ *
+ * Memory is bounded by {@code maxBufferedBytes}, whatever the distribution of records. Buffers start small and
+ * grow as records are added, and are counted by capacity: when the open buffers exceed half of the limit, the
+ * largest are sealed early, buffers kept for reuse are dropped when they would take the total over the limit, and
+ * {@link #write(Object)} blocks while the open buffers and the blocks waiting to be written exceed it.
+ *
+ * A writer is not thread-safe: records must be written from a single thread.
+ *
+ * @param <R> type of the records
+ */
+public final class PartitioningWriter<R> implements Closeable {
+
+    /**
+     * Default size, in bytes, at which a partition buffer is sealed as a block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    /**
+     * Default maximum number of bytes buffered across all partitions, including blocks waiting to be written.
+     */
+    public static final long DEFAULT_MAX_BUFFERED_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Default deflate compression level.
+     */
+    public static final int DEFAULT_COMPRESSION_LEVEL = 5;
+
+    // initial capacity of a partition buffer, so that partitions with few records hold little memory
+    private static final int INITIAL_BUFFER_CAPACITY = 4 * 1024;
+
+    private final RecordCodec<R> codec;
+    private final Partitioner<? super R> partitioner;
+    private final int blockSize;
+    private final long maxBufferedBytes;
+    private final int compressionLevel;
+    private final ExecutorProvider executorProvider;
+    private final WriteOptions writeOptions;
+    private final List<IOResource> outputs;
+    // one per output, created on first use
+    private final List<Partition> partitions = new ArrayList<>();
+
+    // guards freeBuffers, pooledBytes, pendingBytes and failure
+    private final Object lock = new Object();
+    // buffers of blocks that have been compressed, for reuse, and their total capacity
+    private final ArrayDeque<BinaryOutput> freeBuffers = new ArrayDeque<>();
+    private long pooledBytes;
+    // buffer capacity of sealed blocks that have not been written yet
+    private long pendingBytes;
+    private Throwable failure;
+    // capacity of the open buffers; only accessed by the writing thread
+    private long openBytes;
+    private boolean closed;
+
+    private PartitioningWriter(final Builder<R> builder) {
+        this.codec = builder.codec;
+        this.partitioner = builder.partitioner;
+        this.blockSize = builder.blockSize;
+        this.maxBufferedBytes = builder.maxBufferedBytes;
+        this.compressionLevel = builder.compressionLevel;
+        this.executorProvider = builder.executorProvider;
+        this.writeOptions = builder.writeOptions;
+        this.outputs = builder.outputs;
+    }
+
+    /**
+     * Create a builder for a writer with one partition per output.
+     *
+     * @param outputs the outputs, one per partition. May not be null or empty.
+     * @param codec codec for the records. May not be null.
+     * @param partitioner assigns records to partitions. May not be null.
+     * @param <R> type of the records
+     * @return a new builder
+     */
+    public static <R> Builder<R> builder(
+            final List<? extends IOResource> outputs,
+            final RecordCodec<R> codec,
+            final Partitioner<? super R> partitioner) {
+        return new Builder<>(outputs, codec, partitioner);
+    }
+
+    /**
+     * @return number of partitions
+     */
+    public int getPartitionCount() {
+        return outputs.size();
+    }
+
+    /**
+     * Write a record to its partition. May block if the memory limit has been reached.
+     *
+     * @param record the record to write. May not be null.
+     * @throws HtsjdkIOException if writing a previous block failed
+     */
+    public void write(final R record) {
+        ParamUtils.nonNull(record, () -> "record cannot be null");
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        final int partitionIndex = partitioner.getPartition(record, outputs.size());
+        if (partitionIndex < 0 || partitionIndex >= outputs.size()) {
+            throw new IllegalStateException(String.format(
+                    "Partitioner returned partition %d, out of %d partitions", partitionIndex, outputs.size()));
+        }
+
+        final Partition partition = getPartition(partitionIndex);
+        if (partition.encoder == null) {
+            partition.encoderBuffer = takeBuffer();
+            partition.encoder = new RecordBlocks.Encoder<>(codec, partition.encoderBuffer);
+            partition.encoderCapacity = partition.encoderBuffer.capacity();
+            openBytes += partition.encoderCapacity;
+        }
+        partition.encoder.add(record);
+        // the buffer may have grown
+        final int capacity = partition.encoderBuffer.capacity();
+        openBytes += capacity - partition.encoderCapacity;
+        partition.encoderCapacity = capacity;
+
+        if (partition.encoder.size() >= blockSize) {
+            seal(partition);
+        }
+        enforceMemoryLimit();
+    }
+
+    /**
+     * Write the remaining blocks, and close all the outputs. Outputs opened with {@link WriteOptions} are
+     * committed, or aborted if writing any partition failed.
+     *
+     * @throws HtsjdkIOException if writing any block, or closing any output, failed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        getPartition(0);
+        for (final Partition partition : partitions) {
+            if (partition.encoder != null) {
+                seal(partition);
+            }
+        }
+
+        final List<CompletableFuture<Void>> closedOutputs = new ArrayList<>();
+        for (final Partition partition : partitions) {
+            closedOutputs.add(partition.tail.handleAsync((ignored, error) -> {
+                try {
+                    if (error == null && !hasFailed()) {
+                        partition.commit();
+                    } else {
+                        partition.abort();
+                    }
+                } catch (final IOException e) {
+                    recordFailure(e);
+                }
+                return null;
+            }, executorProvider.getIOExecutor()));
+        }
+        CompletableFuture.allOf(closedOutputs.toArray(new CompletableFuture<?>[0])).join();
+        synchronized (lock) {
+            freeBuffers.clear();
+            pooledBytes = 0;
+        }
+        throwIfFailed();
+    }
+
+    private Partition getPartition(final int partitionIndex) {
+        if (partitions.isEmpty()) {
+            // outputs are opened on first use, but every output gets a (possibly empty) shard on close
+            final List<Partition> opened = new ArrayList<>(outputs.size());
+            try {
+                for (int i = 0; i < outputs.size(); i++) {
+                    final IOResource output = outputs.get(i);
+                    opened.add(new Partition(i, writeOptions == null ? output.getOutputStream() : output.getOutputStream(writeOptions)));
+                }
+            } catch (final RuntimeException e) {
+                // don't leak the outputs that were already opened
+                for (final Partition partition : opened) {
+                    try {
+                        partition.abort();
+                    } catch (final IOException | RuntimeException closeFailure) {
+                        e.addSuppressed(closeFailure);
+                    }
+                }
+                throw e;
+            }
+            partitions.addAll(opened);
+        }
+        return partitions.get(partitionIndex);
+    }
+
+    private BinaryOutput takeBuffer() {
+        synchronized (lock) {
+            final BinaryOutput buffer = freeBuffers.poll();
+            if (buffer != null) {
+                pooledBytes -= buffer.capacity();
+                return buffer;
+            }
+        }
+        return new BinaryOutput(Math.min(INITIAL_BUFFER_CAPACITY, blockSize));
+    }
+
+    // keep the buffer of a written block for reuse, unless the pool already holds a quarter of the limit. Called
+    // with the lock held, as the buffer moves from the pending bytes, so the total buffered never grows.
+    private void releaseBuffer(final BinaryOutput buffer) {
+        if (pooledBytes + buffer.capacity() <= maxBufferedBytes / 4) {
+            freeBuffers.add(buffer);
+            pooledBytes += buffer.capacity();
+        }
+    }
+
+    // package-private for tests: capacity of all the buffers held, open, pending or kept for reuse
+    long getBufferedBytes() {
+        synchronized (lock) {
+            return openBytes + pendingBytes + pooledBytes;
+        }
+    }
+
+    // seal the open buffer of a partition, and queue it for compression and writing
+    private void seal(final Partition partition) {
+        final RecordBlocks.Encoder<R> encoder = partition.encoder;
+        final BinaryOutput buffer = partition.encoderBuffer;
+        // the buffer is counted, and kept, until the block is written; its compressed copy is not counted
+        final int size = partition.encoderCapacity;
+        partition.encoder = null;
+        partition.encoderBuffer = null;
+        partition.encoderCapacity = 0;
+        final ByteBuffer block = encoder.finish();
+        openBytes -= size;
+        synchronized (lock) {
+            pendingBytes += size;
+        }
+
+        final CompletableFuture<ByteBuffer> compressed = CompletableFuture.supplyAsync(
+                () -> ShardFormat.compress(block, compressionLevel), executorProvider.getComputeExecutor());
+        partition.tail = partition.tail.thenCombineAsync(compressed, (ignored, member) -> {
+            try {
+                partition.outputStream.write(member.array(), member.arrayOffset() + member.position(), member.remaining());
+            } catch (final IOException e) {
+                throw new HtsjdkIOException(String.format(
+                        "Failed writing partition %d to %s", partition.index, outputs.get(partition.index).getURIString()), e);
+            }
+            return (Void) null;
+        }, executorProvider.getIOExecutor()).whenComplete((ignored, error) -> {
+            synchronized (lock) {
+                pendingBytes -= size;
+                if (error == null) {
+                    releaseBuffer(buffer);
+                } else if (failure == null) {
+                    failure = error instanceof CompletionException ? error.getCause() : error;
+                }
+                lock.notifyAll();
+            }
+        });
+    }
+
+    // Open buffers may use up to half the memory limit, beyond which the largest are sealed, since they free the
+    // most memory per block. Writing then waits until the open buffers and the pending blocks fit in the limit,
+    // and buffers kept for reuse are dropped while they take the total over it.
+    // Sealing only when the open buffers are too large, rather than whenever writing is behind, keeps blocks
+    // close to the block size.
+    private void enforceMemoryLimit() {
+        while (openBytes > maxBufferedBytes / 2) {
+            Partition largest = null;
+            for (final Partition partition : partitions) {
+                if (partition.encoder != null && (largest == null || partition.encoderCapacity > largest.encoderCapacity)) {
+                    largest = partition;
+                }
+            }
+            seal(largest);
+        }
+        synchronized (lock) {
+            while (failure == null && pendingBytes > 0 && openBytes + pendingBytes > maxBufferedBytes) {
+                try {
+                    lock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new HtsjdkException("Interrupted waiting for partition blocks to be written", e);
+                }
+            }
+            while (pooledBytes > 0 && openBytes + pendingBytes + pooledBytes > maxBufferedBytes) {
+                pooledBytes -= freeBuffers.poll().capacity();
+            }
+        }
+        throwIfFailed();
+    }
+
+    private void recordFailure(final Throwable error) {
+        synchronized (lock) {
+            if (failure == null) {
+                failure = error;
+            }
+        }
+    }
+
+    private boolean hasFailed() {
+        synchronized (lock) {
+            return failure != null;
+        }
+    }
+
+    private void throwIfFailed() {
+        final Throwable error;
+        synchronized (lock) {
+            error = failure;
+        }
+        // always a new exception, since the failure may be rethrown by both write and close
+        if (error != null) {
+            throw new HtsjdkIOException("Failed writing partitions", error);
+        }
+    }
+
+    private final class Partition {
+        private final int index;
+        private final OutputStream outputStream;
+        private RecordBlocks.Encoder<R> encoder;
+        private BinaryOutput encoderBuffer;
+        // capacity of the encoder buffer, as counted in openBytes
+        private int encoderCapacity;
+        // completes when all the blocks sealed so far have been written
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        private Partition(final int index, final OutputStream outputStream) {
+            this.index = index;
+            this.outputStream = outputStream;
+        }
+
+        private void commit() throws IOException {
+            if (outputStream instanceof CommittableOutputStream) {
+                ((CommittableOutputStream) outputStream).commit();
+            } else {
+                outputStream.close();
+            }
+        }
+
+        // with write options committing atomically, leaves the output as it was
+        private void abort() throws IOException {
+            if (outputStream instanceof CommittableOutputStream) {
+                ((CommittableOutputStream) outputStream).abort();
+            } else {
+                outputStream.close();
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link PartitioningWriter}.
+     *
+     * @param <R> type of the records
+     */
+    public static final class Builder<R> {
+        private final List<IOResource> outputs;
+        private final RecordCodec<R> codec;
+        private final Partitioner<? super R> partitioner;
+        private int blockSize = DEFAULT_BLOCK_SIZE;
+        private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+        private int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+        private ExecutorProvider executorProvider = HtsjdkExecutors.getDefault();
+        private WriteOptions writeOptions;
+
+        private Builder(
+                final List<? extends IOResource> outputs,
+                final RecordCodec<R> codec,
+                final Partitioner<? super R> partitioner) {
+            ParamUtils.nonEmpty(outputs, () -> "outputs cannot be null or empty");
+            this.outputs = Collections.unmodifiableList(new ArrayList<>(outputs));
+            this.codec = ParamUtils.nonNull(codec, () -> "codec cannot be null");
+            this.partitioner = ParamUtils.nonNull(partitioner, () -> "partitioner cannot be null");
+        }
+
+        /**
+         * Set the size at which a partition buffer is sealed as a block (defaults to {@link #DEFAULT_BLOCK_SIZE}).
+         *
+         * @param blockSize block size, in bytes. Must be positive.
+         * @return this builder
+         */
+        public Builder<R> setBlockSize(final int blockSize) {
+            ParamUtils.validate(blockSize > 0, () -> "block size must be positive: " + blockSize);
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of bytes buffered across all partitions, including the blocks waiting to be
+         * written (defaults to {@link #DEFAULT_MAX_BUFFERED_BYTES}). The limit may be exceeded by at most one
+         * record and its block header.
+         *
+         * @param maxBufferedBytes memory limit, in bytes. Must be positive.
+         * @return this builder
+         */
+        public Builder<R> setMaxBufferedBytes(final long maxBufferedBytes) {
+            ParamUtils.validate(maxBufferedBytes > 0, () -> "max buffered bytes must be positive: " + maxBufferedBytes);
+            this.maxBufferedBytes = maxBufferedBytes;
+            return this;
+        }
+
+        /**
+         * Set the deflate compression level of the blocks (defaults to {@link #DEFAULT_COMPRESSION_LEVEL}).
+         *
+         * @param compressionLevel compression level, from 0 (store) to 9 (smallest)
+         * @return this builder
+         */
+        public Builder<R> setCompressionLevel(final int compressionLevel) {
+            ParamUtils.validate(compressionLevel >= 0 && compressionLevel <= 9,
+                    () -> "compression level must be between 0 and 9: " + compressionLevel);
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        /**
+         * Set the executors used by the writer (defaults to {@link HtsjdkExecutors#getDefault()}). Blocks are
+         * compressed on the compute executor, and written on the I/O executor.
+         *
+         * @param executorProvider provider of the writer executors. May not be null.
+         * @return this builder
+         */
+        public Builder<R> setExecutorProvider(final ExecutorProvider executorProvider) {
+            this.executorProvider = ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+            return this;
+        }
+
+        /**
+         * Set the options of the output streams of the shards. By default, shards are written with
+         * {@link IOResource#getOutputStream()}.
+         *
+         * @param writeOptions options passed to {@link IOResource#getOutputStream(WriteOptions)}. May not be null.
+         * @return this builder
+         */
+        public Builder<R> setWriteOptions(final WriteOptions writeOptions) {
+            this.writeOptions = ParamUtils.nonNull(writeOptions, () -> "write options cannot be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link PartitioningWriter}
+         */
+        public PartitioningWriter<R> build() {
+            return new PartitioningWriter<>(this);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.htsjdk.core.partition;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.codec.RecordBlocks;
+import org.htsjdk.core.codec.RecordCodec;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.jfr.HtsjdkEvents;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Format of the shards written by {@link PartitioningWriter}.
+ *
+ * A shard is a concatenation of gzip members, each holding one {@link RecordBlocks record block}, so a shard is
+ * a valid gzip file. Like BGZF, each member records its total size in an extra header field (subfield ID
+ * {@code HS}, 4 bytes, little-endian), so members can be located without inflating them, and inflated in
+ * parallel, e.g. by a {@link org.htsjdk.core.pipeline.RecordPipeline}:
+ *
+ * <pre>
+ *     RecordPipeline.builder(shard, ShardFormat::readMember)
+ *             .addStage("inflate", ShardFormat::inflate, parallelism)
+ *             .addStage("decode", block -> RecordBlocks.decode(codec, block), parallelism)
+ *             .build();
+ * </pre>
+ */
+public final class ShardFormat {
+
+    private static final String CODEC_NAME = "gzip";
+
+    // fixed header: magic, CM, FLG (FEXTRA), MTIME, XFL, OS, XLEN, then the subfield: SI1, SI2, LEN, member size
+    private static final int HEADER_SIZE = 10 + 2 + 8;
+    // CRC32 and ISIZE
+    private static final int TRAILER_SIZE = 8;
+    private static final byte[] HEADER_PREFIX = {
+            0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 8, 0, 'H', 'S', 4, 0
+    };
+
+    // cannot be instantiated
+    private ShardFormat() {}
+
+    /**
+     * Compress a block into a gzip member.
+     *
+     * @param block the data to compress, from its position to its limit. The position is not modified.
+     * @param compressionLevel deflate compression level, from 0 to 9
+     * @return the member
+     */
+    public static ByteBuffer compress(final ByteBuffer block, final int compressionLevel) {
+        ParamUtils.validate(compressionLevel >= 0 && compressionLevel <= 9,
+                () -> "compression level must be between 0 and 9: " + compressionLevel);
+        final byte[] data = new byte[block.remaining()];
+        block.duplicate().get(data);
+
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            // deflate never expands data by more than 5 bytes per 16KiB stored block, plus a few bytes
+            byte[] member = new byte[HEADER_SIZE + data.length + data.length / 16 + 64 + TRAILER_SIZE];
+            int size = HEADER_SIZE;
+            while (!deflater.finished()) {
+                if (size == member.length - TRAILER_SIZE) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                size += deflater.deflate(member, size, member.length - TRAILER_SIZE - size);
+            }
+            size += TRAILER_SIZE;
+
+            final CRC32 crc32 = new CRC32();
+            crc32.update(data);
+            final ByteBuffer buffer = ByteBuffer.wrap(member, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(HEADER_PREFIX).putInt(size);
+            buffer.position(size - TRAILER_SIZE);
+            buffer.putInt((int) crc32.getValue()).putInt(data.length);
+            buffer.flip();
+            return buffer;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Read the next gzip member of a shard, without inflating it. Can be used as a
+     * {@link org.htsjdk.core.pipeline.BatchReader}.
+     *
+     * @param inputStream the shard input stream, positioned at the start of a member
+     * @return the member, or null at the end of the stream
+     * @throws IOException if the stream could not be read, or does not contain a shard member
+     */
+    public static ByteBuffer readMember(final InputStream inputStream) throws IOException {
+        final byte[] header = new byte[HEADER_SIZE];
+        final int headerRead = readFully(inputStream, header, 0, HEADER_SIZE);
+        if (headerRead == 0) {
+            return null;
+        }
+        if (headerRead < HEADER_SIZE || !Arrays.equals(Arrays.copyOf(header, HEADER_PREFIX.length), HEADER_PREFIX)) {
+            throw new IOException("Not a shard member: invalid or truncated header");
+        }
+        final int size = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt(HEADER_PREFIX.length);
+        if (size < HEADER_SIZE + TRAILER_SIZE) {
+            throw new IOException("Not a shard member: invalid member size " + size);
+        }
+        final byte[] member = Arrays.copyOf(header, size);
+        if (readFully(inputStream, member, HEADER_SIZE, size - HEADER_SIZE) < size - HEADER_SIZE) {
+            throw new IOException("Truncated shard member");
+        }
+        return ByteBuffer.wrap(member);
+    }
+
+    /**
+     * Inflate a gzip member read by {@link #readMember(InputStream)}.
+     *
+     * @param member the member. Must be backed by an accessible array.
+     * @return the inflated block
+     * @throws HtsjdkIOException if the member is corrupt
+     */
+    public static ByteBuffer inflate(final ByteBuffer member) {
+        final Object inflateEvent = HtsjdkEvents.beginInflate();
+        final ByteBuffer trailer = member.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        trailer.position(member.limit() - TRAILER_SIZE);
+        final int expectedCrc = trailer.getInt();
+        final int uncompressedSize = trailer.getInt();
+        if (uncompressedSize < 0) {
+            throw new HtsjdkIOException("Corrupt shard member: invalid uncompressed size " + uncompressedSize);
+        }
+
+        final byte[] data = new byte[uncompressedSize];
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(member.array(), member.arrayOffset() + member.position() + HEADER_SIZE,
+                    member.remaining() - HEADER_SIZE - TRAILER_SIZE);
+            final int inflated = inflater.inflate(data);
+            if (inflated != uncompressedSize || !inflater.finished()) {
+                throw new HtsjdkIOException("Corrupt shard member: unexpected uncompressed size");
+            }
+        } catch (final DataFormatException e) {
+            throw new HtsjdkIOException("Corrupt shard member", e);
+        } finally {
+            inflater.end();
+        }
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        if ((int) crc32.getValue() != expectedCrc) {
+            throw new HtsjdkIOException("Corrupt shard member: CRC mismatch");
+        }
+        HtsjdkEvents.commitInflate(inflateEvent, CODEC_NAME, member.remaining(), uncompressedSize);
+        return ByteBuffer.wrap(data);
+    }
+
+    /**
+     * Read all the records of a shard, sequentially.
+     *
+     * @param shard the shard to read. May not be null.
+     * @param codec codec of the records. May not be null.
+     * @param <R> type of the records
+     * @return the records, in the order they were written
+     */
+    public static <R> List<R> readAll(final IOResource shard, final RecordCodec<R> codec) {
+        ParamUtils.nonNull(shard, () -> "shard cannot be null");
+        ParamUtils.nonNull(codec, () -> "codec cannot be null");
+        final List<R> records = new ArrayList<>();
+        try (final InputStream inputStream = shard.getInputStream()) {
+            for (ByteBuffer member = readMember(inputStream); member != null; member = readMember(inputStream)) {
+                records.addAll(RecordBlocks.decode(codec, inflate(member)));
+            }
+        } catch (final IOException e) {
+            throw new HtsjdkIOException("Failed reading shard " + shard.getURIString(), e);
+        }
+        return records;
+    }
+
+    // read until len bytes are read or the end of the stream is reached, and return the number of bytes read
+    private static int readFully(final InputStream inputStream, final byte[] buffer, final int offset, final int len)
+            throws IOException {
+        int total = 0;
+        while (total < len) {
+            final int read = inputStream.read(buffer, offset + total, len - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+}
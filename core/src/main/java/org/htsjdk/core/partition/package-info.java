@@ -0,0 +1,4 @@
+/**
+ * Contains the partitioning writer, which splits a record stream into independent shards.
+ */
+package org.htsjdk.core.partition;
@@ -0,0 +1,23 @@
+package org.htsjdk.core.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads successive batches (for example, a compressed block or a container) from an input stream. This is the
+ * first (I/O) stage of a {@link RecordPipeline}, and is always called sequentially from a single thread.
+ *
+ * @param <T> type of the batches read
+ */
+@FunctionalInterface
+public interface BatchReader<T> {
+
+    /**
+     * Read the next batch from the stream.
+     *
+     * @param inputStream the stream to read from
+     * @return the next batch, or {@code null} if the end of the input has been reached
+     * @throws IOException if the batch could not be read
+     */
+    T readNext(InputStream inputStream) throws IOException;
+}
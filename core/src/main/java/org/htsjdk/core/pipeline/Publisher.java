@@ -0,0 +1,23 @@
+package org.htsjdk.core.pipeline;
+
+/**
+ * A producer of items that are delivered to a {@link Subscriber} on demand.
+ *
+ * This interface mirrors {@code java.util.concurrent.Flow.Publisher}, which is not available at the
+ * source level used by htsjdk-next, and follows the same protocol: the subscriber receives a call to
+ * {@link Subscriber#onSubscribe(Subscription)}, followed by at most as many calls to
+ * {@link Subscriber#onNext(Object)} as it has requested, and then optionally a single terminal call to either
+ * {@link Subscriber#onComplete()} or {@link Subscriber#onError(Throwable)}.
+ *
+ * @param <T> type of the published items
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+
+    /**
+     * Add the given subscriber to this publisher.
+     *
+     * @param subscriber the subscriber. May not be null.
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
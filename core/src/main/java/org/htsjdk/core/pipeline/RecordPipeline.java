@@ -0,0 +1,368 @@
+package org.htsjdk.core.pipeline;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.metrics.HtsjdkMetrics;
+import org.htsjdk.core.metrics.StageMetrics;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link Publisher} that reads an {@link IOResource} as a sequence of batches, and passes each batch through
+ * a chain of transformation stages (for example decompression, then decoding) before delivering the results to
+ * a {@link Subscriber}.
+ *
+ * Each stage runs concurrently with the others, and is connected to the next one by a bounded queue. A stage may
+ * transform several batches in parallel, but the results are always delivered in input order. Reading only runs
+ * ahead of the subscriber until the queues are full, so a slow subscriber never causes unbounded buffering.
+ *
+ * Each call to {@link #subscribe(Subscriber)} opens a new input stream on the resource, so a pipeline can be
+ * subscribed to multiple times.
+ *
+ * Completion and errors are signalled without waiting for demand. A subscriber that throws from
+ * {@link Subscriber#onNext(Object)} violates the protocol: its subscription is cancelled, and it receives no
+ * further signals, not even {@link Subscriber#onError(Throwable)}.
+ *
+ * @param <T> type of the items published by the last stage
+ */
+public final class RecordPipeline<T> implements Publisher<T> {
+
+    /**
+     * Default capacity of the queue following each stage.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    // marks the end of the input in the inter-stage queues; compared by identity
+    private static final CompletableFuture<Object> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    private final IOResource ioResource;
+    private final BatchReader<?> batchReader;
+    private final List<Stage> stages;
+    private final int queueCapacity;
+    private final ExecutorProvider executorProvider;
+
+    private RecordPipeline(final Builder<T> builder) {
+        this.ioResource = builder.ioResource;
+        this.batchReader = builder.batchReader;
+        this.stages = Collections.unmodifiableList(new ArrayList<>(builder.stages));
+        this.queueCapacity = builder.queueCapacity;
+        this.executorProvider = builder.executorProvider;
+    }
+
+    /**
+     * Create a builder for a pipeline that reads batches from {@code ioResource} using {@code batchReader}.
+     *
+     * @param ioResource resource to read. May not be null.
+     * @param batchReader reader used to split the resource input stream into batches. May not be null.
+     * @param <T> type of the batches read
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder(final IOResource ioResource, final BatchReader<T> batchReader) {
+        return new Builder<>(ioResource, batchReader);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        ParamUtils.nonNull(subscriber, () -> "subscriber cannot be null");
+        new PipelineSubscription<>(this, subscriber).start();
+    }
+
+    /**
+     * Builder for {@link RecordPipeline}.
+     *
+     * @param <T> type of the items produced by the last stage added so far
+     */
+    public static final class Builder<T> {
+        private final IOResource ioResource;
+        private final BatchReader<?> batchReader;
+        private final List<Stage> stages = new ArrayList<>();
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private ExecutorProvider executorProvider = HtsjdkExecutors.getDefault();
+
+        private Builder(final IOResource ioResource, final BatchReader<?> batchReader) {
+            this.ioResource = ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+            this.batchReader = ParamUtils.nonNull(batchReader, () -> "batchReader cannot be null");
+        }
+
+        /**
+         * Append a transformation stage to the pipeline.
+         *
+         * @param name name of the stage, for diagnostics and metrics
+         * @param transform function applied to each item produced by the previous stage. May be called
+         *                  concurrently from up to {@code parallelism} threads.
+         * @param parallelism maximum number of items transformed concurrently by this stage. Must be positive.
+         * @param <R> type of the items produced by the new stage
+         * @return this builder, typed by the output of the new stage
+         */
+        @SuppressWarnings("unchecked")
+        public <R> Builder<R> addStage(
+                final String name,
+                final Function<? super T, ? extends R> transform,
+                final int parallelism) {
+            ParamUtils.nonNull(name, () -> "stage name cannot be null");
+            ParamUtils.nonNull(transform, () -> "stage transform cannot be null");
+            ParamUtils.validate(parallelism > 0, () -> "stage parallelism must be positive: " + parallelism);
+            stages.add(new Stage(name, (Function<Object, Object>) transform, parallelism));
+            return (Builder<R>) this;
+        }
+
+        /**
+         * Set the capacity of the queue following each stage (defaults to {@link #DEFAULT_QUEUE_CAPACITY}).
+         *
+         * @param queueCapacity number of items that may be buffered after each stage. Must be positive.
+         * @return this builder
+         */
+        public Builder<T> setQueueCapacity(final int queueCapacity) {
+            ParamUtils.validate(queueCapacity > 0, () -> "queue capacity must be positive: " + queueCapacity);
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Set the executors used by the pipeline (defaults to {@link HtsjdkExecutors#getDefault()}). Reading and
+         * the blocking hand-off between stages run on the I/O executor; stage transforms run on the compute
+         * executor.
+         *
+         * @param executorProvider provider of the pipeline executors. May not be null.
+         * @return this builder
+         */
+        public Builder<T> setExecutorProvider(final ExecutorProvider executorProvider) {
+            this.executorProvider = ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link RecordPipeline}
+         */
+        public RecordPipeline<T> build() {
+            return new RecordPipeline<>(this);
+        }
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final Function<Object, Object> transform;
+        private final int parallelism;
+
+        private Stage(final String name, final Function<Object, Object> transform, final int parallelism) {
+            this.name = name;
+            this.transform = transform;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (parallelism %d)", name, parallelism);
+        }
+    }
+
+    /**
+     * State for a single subscription: one driver task for reading, one per stage, and one for delivery. The driver
+     * tasks only block on queues and run on the I/O executor; the stage transforms run on the compute executor.
+     */
+    private static final class PipelineSubscription<T> implements Subscription {
+        private final RecordPipeline<T> pipeline;
+        private final Subscriber<? super T> subscriber;
+        private final List<BlockingQueue<CompletableFuture<Object>>> queues = new ArrayList<>();
+        private final List<Runnable> drivers = new ArrayList<>();
+        private final List<Future<?>> runningDrivers = new ArrayList<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final Object demandLock = new Object();
+        private volatile Throwable pendingError;
+        private volatile Thread deliveryThread;
+        private volatile boolean cancelled;
+
+        private PipelineSubscription(final RecordPipeline<T> pipeline, final Subscriber<? super T> subscriber) {
+            this.pipeline = pipeline;
+            this.subscriber = subscriber;
+            for (int i = 0; i <= pipeline.stages.size(); i++) {
+                queues.add(new ArrayBlockingQueue<>(pipeline.queueCapacity));
+            }
+        }
+
+        private void start() {
+            drivers.add(this::runReader);
+            for (int i = 0; i < pipeline.stages.size(); i++) {
+                final Stage stage = pipeline.stages.get(i);
+                final BlockingQueue<CompletableFuture<Object>> input = queues.get(i);
+                final BlockingQueue<CompletableFuture<Object>> output = queues.get(i + 1);
+                drivers.add(() -> runStage(stage, input, output));
+            }
+            drivers.add(this::runDelivery);
+
+            subscriber.onSubscribe(this);
+            synchronized (runningDrivers) {
+                for (final Runnable driver : drivers) {
+                    if (!cancelled) {
+                        runningDrivers.add(pipeline.executorProvider.getIOExecutor().submit(driver));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("requested demand must be positive: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> {
+                    final long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            synchronized (demandLock) {
+                demandLock.notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // don't interrupt the delivery driver if the subscriber is cancelling from onNext
+            final boolean fromDelivery = Thread.currentThread() == deliveryThread;
+            synchronized (runningDrivers) {
+                for (int i = 0; i < runningDrivers.size(); i++) {
+                    final boolean isDelivery = i == drivers.size() - 1;
+                    runningDrivers.get(i).cancel(!(isDelivery && fromDelivery));
+                }
+            }
+        }
+
+        private void runReader() {
+            final BlockingQueue<CompletableFuture<Object>> output = queues.get(0);
+            try (final InputStream inputStream = pipeline.ioResource.getInputStream()) {
+                while (!cancelled) {
+                    final Object batch = pipeline.batchReader.readNext(inputStream);
+                    if (batch == null) {
+                        output.put(END_OF_INPUT);
+                        return;
+                    }
+                    output.put(CompletableFuture.completedFuture(batch));
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final IOException | RuntimeException e) {
+                putFailure(output, new HtsjdkIOException(
+                        String.format("Failed reading batch from %s", pipeline.ioResource.getURIString()), e));
+            }
+        }
+
+        private void runStage(
+                final Stage stage,
+                final BlockingQueue<CompletableFuture<Object>> input,
+                final BlockingQueue<CompletableFuture<Object>> output) {
+            final Semaphore permits = new Semaphore(stage.parallelism);
+            final Function<Object, Object> transform = HtsjdkMetrics.isEnabled() ? timed(stage) : stage.transform;
+            try {
+                while (!cancelled) {
+                    final CompletableFuture<Object> item = input.take();
+                    if (item == END_OF_INPUT) {
+                        output.put(END_OF_INPUT);
+                        return;
+                    }
+                    permits.acquire();
+                    final CompletableFuture<Object> transformed =
+                            item.thenApplyAsync(transform, pipeline.executorProvider.getComputeExecutor());
+                    transformed.whenComplete((result, throwable) -> permits.release());
+                    output.put(transformed);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // records each invocation of the stage in the stage metrics named "pipeline.<stage name>"
+        private static Function<Object, Object> timed(final Stage stage) {
+            final StageMetrics stageMetrics = HtsjdkMetrics.getStageMetrics("pipeline." + stage.name);
+            return item -> {
+                final long start = stageMetrics.start();
+                final Object result = stage.transform.apply(item);
+                stageMetrics.stop(start, 0);
+                return result;
+            };
+        }
+
+        // Terminal signals don't need demand, so each item is taken before waiting for demand: the end of the input
+        // and failures are signalled right away, even if the subscriber has received all it requested.
+        @SuppressWarnings("unchecked")
+        private void runDelivery() {
+            final BlockingQueue<CompletableFuture<Object>> input = queues.get(queues.size() - 1);
+            deliveryThread = Thread.currentThread();
+            try {
+                while (!cancelled) {
+                    final CompletableFuture<Object> item = input.take();
+                    if (item == END_OF_INPUT) {
+                        if (pendingError != null) {
+                            terminate(pendingError);
+                        } else if (!cancelled) {
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    final Object result;
+                    try {
+                        result = item.join();
+                    } catch (final CompletionException e) {
+                        if (!cancelled) {
+                            terminate(e.getCause() == null ? e : e.getCause());
+                        }
+                        return;
+                    }
+                    awaitDemand();
+                    if (cancelled) {
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext((T) result);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException e) {
+                // The subscriber violated the protocol by throwing from onNext (Reactive Streams rule 2.13): the
+                // subscription is considered cancelled, and onError is not signalled to the failed subscriber.
+                cancel();
+            }
+        }
+
+        private void awaitDemand() throws InterruptedException {
+            synchronized (demandLock) {
+                while (demand.get() == 0 && pendingError == null && !cancelled) {
+                    demandLock.wait();
+                }
+            }
+            if (pendingError != null && !cancelled) {
+                terminate(pendingError);
+            }
+        }
+
+        private void terminate(final Throwable throwable) {
+            cancel();
+            subscriber.onError(throwable);
+        }
+
+        private void putFailure(final BlockingQueue<CompletableFuture<Object>> output, final Throwable throwable) {
+            final CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(throwable);
+            try {
+                output.put(failed);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
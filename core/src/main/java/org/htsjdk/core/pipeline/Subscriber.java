@@ -0,0 +1,37 @@
+package org.htsjdk.core.pipeline;
+
+/**
+ * A receiver of items from a {@link Publisher}. Mirrors {@code java.util.concurrent.Flow.Subscriber}.
+ *
+ * Calls to the methods of a single subscriber are never made concurrently.
+ *
+ * @param <T> type of the received items
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once, before any other method, with the subscription used to request items.
+     *
+     * @param subscription the subscription for this subscriber
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Invoked with the next item. Only called for items that have been requested.
+     *
+     * @param item the item
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked when the publisher encounters an unrecoverable error. No further methods are invoked.
+     *
+     * @param throwable the error
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked when all items have been delivered. No further methods are invoked.
+     */
+    void onComplete();
+}
@@ -0,0 +1,21 @@
+package org.htsjdk.core.pipeline;
+
+/**
+ * Links a {@link Publisher} and a {@link Subscriber}. Mirrors {@code java.util.concurrent.Flow.Subscription}.
+ */
+public interface Subscription {
+
+    /**
+     * Add {@code n} items to the demand of this subscription. A non-positive value results in the
+     * subscriber being signalled with an {@link IllegalArgumentException}.
+     *
+     * @param n number of additional items requested
+     */
+    void request(long n);
+
+    /**
+     * Stop delivering items to the subscriber, and release any resources held by the publisher on its behalf.
+     * Items may still be delivered for a short time after this method returns.
+     */
+    void cancel();
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains components for running readers as staged, backpressured pipelines.
+ */
+package org.htsjdk.core.pipeline;
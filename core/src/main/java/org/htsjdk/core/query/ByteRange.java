@@ -0,0 +1,72 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+/**
+ * A half-open range {@code [start, end)} of byte offsets in a resource.
+ */
+public final class ByteRange implements Comparable<ByteRange> {
+
+    private final long start;
+    private final long end;
+
+    /**
+     * @param start offset of the first byte in the range. Must be non-negative.
+     * @param end offset one past the last byte in the range. Must not be less than {@code start}.
+     */
+    public ByteRange(final long start, final long end) {
+        ParamUtils.validate(start >= 0, () -> "start must be non-negative: " + start);
+        ParamUtils.validate(end >= start, () -> String.format("invalid byte range [%d, %d)", start, end));
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return offset of the first byte in the range
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return offset one past the last byte in the range
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return number of bytes in the range
+     */
+    public long length() {
+        return end - start;
+    }
+
+    @Override
+    public int compareTo(final ByteRange other) {
+        final int byStart = Long.compare(start, other.start);
+        return byStart != 0 ? byStart : Long.compare(end, other.end);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ByteRange byteRange = (ByteRange) o;
+        return start == byteRange.start && end == byteRange.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(start) + Long.hashCode(end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%d, %d)", start, end);
+    }
+}
@@ -0,0 +1,82 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.utils.ParamUtils;
+
+/**
+ * An immutable genomic interval, using 1-based, closed coordinates.
+ */
+public final class Interval implements Locatable {
+
+    private final String contig;
+    private final int start;
+    private final int end;
+
+    /**
+     * @param contig name of the contig. May not be null.
+     * @param start 1-based start position (inclusive). Must be positive.
+     * @param end 1-based end position (inclusive). Must be at least {@code start - 1}, where {@code start - 1}
+     *            denotes an empty interval.
+     */
+    public Interval(final String contig, final int start, final int end) {
+        this.contig = ParamUtils.nonNull(contig, () -> "contig cannot be null");
+        ParamUtils.validate(start >= 1, () -> "start must be positive: " + start);
+        ParamUtils.validate(end >= start - 1, () -> String.format("invalid interval %s:%d-%d", contig, start, end));
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public String getContig() {
+        return contig;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
+    }
+
+    @Override
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @param other the object to test. May not be null.
+     * @return true if {@code other} shares at least one position with this interval
+     */
+    public boolean overlaps(final Locatable other) {
+        return overlaps(this, other);
+    }
+
+    static boolean overlaps(final Locatable first, final Locatable second) {
+        return first.getContig().equals(second.getContig())
+                && first.getStart() <= second.getEnd()
+                && second.getStart() <= first.getEnd();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Interval interval = (Interval) o;
+        return start == interval.start && end == interval.end && contig.equals(interval.contig);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = contig.hashCode();
+        result = 31 * result + start;
+        result = 31 * result + end;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s:%d-%d", contig, start, end);
+    }
+}
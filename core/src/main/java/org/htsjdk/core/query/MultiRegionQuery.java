@@ -0,0 +1,299 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.io.SharedPositionalReaders;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes queries for many regions at once against an indexed {@link IOResource}.
+ *
+ * A query is first planned into a minimal set of disjoint byte ranges (see {@link QueryPlan}). The ranges are
+ * then read concurrently on the I/O executor, through the resource's shared
+ * {@link org.htsjdk.core.api.io.PositionalReader}, and each is decoded on the compute executor as soon as it
+ * arrives. The latency of a query is therefore close to that of its slowest range, rather than the sum of all of
+ * them. At most {@link Builder#setMaxOutstandingReads a given number} of ranges are being read or decoded at once,
+ * and the next range is read as each one is decoded, which bounds the threads and the buffer memory a query uses
+ * to about that number of ranges.
+ *
+ * Results are returned per region, in the order the regions were given. The result for a region becomes
+ * available as soon as the ranges it needs are decoded, independently of the other regions.
+ *
+ * A query executor is immutable and thread-safe, and may run any number of queries concurrently.
+ *
+ * @param <T> type of the records
+ */
+public final class MultiRegionQuery<T extends Locatable> {
+
+    /**
+     * Default maximum gap, in bytes, between two ranges for them to be read as one.
+     */
+    public static final long DEFAULT_MAX_GAP = 64 * 1024;
+
+    /**
+     * Default maximum length, in bytes, of a range produced by merging ranges separated by a gap.
+     */
+    public static final long DEFAULT_MAX_RANGE_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * Default maximum number of ranges of a query being read or decoded at once.
+     */
+    public static final int DEFAULT_MAX_OUTSTANDING_READS = 16;
+
+    private final IOResource ioResource;
+    private final RangeIndex rangeIndex;
+    private final RangeDecoder<T> rangeDecoder;
+    private final long maxGap;
+    private final long maxRangeLength;
+    private final int maxOutstandingReads;
+    private final ExecutorProvider executorProvider;
+
+    private MultiRegionQuery(final Builder<T> builder) {
+        this.ioResource = builder.ioResource;
+        this.rangeIndex = builder.rangeIndex;
+        this.rangeDecoder = builder.rangeDecoder;
+        this.maxGap = builder.maxGap;
+        this.maxRangeLength = builder.maxRangeLength;
+        this.maxOutstandingReads = builder.maxOutstandingReads;
+        this.executorProvider = builder.executorProvider;
+    }
+
+    /**
+     * Create a builder for queries against {@code ioResource}.
+     *
+     * @param ioResource the indexed resource. May not be null.
+     * @param rangeIndex index mapping regions to byte ranges of {@code ioResource}. May not be null.
+     * @param rangeDecoder decoder for the records in a byte range. May not be null.
+     * @param <T> type of the records
+     * @return a new builder
+     */
+    public static <T extends Locatable> Builder<T> builder(
+            final IOResource ioResource,
+            final RangeIndex rangeIndex,
+            final RangeDecoder<T> rangeDecoder) {
+        return new Builder<>(ioResource, rangeIndex, rangeDecoder);
+    }
+
+    /**
+     * Plan the reads for a set of regions without executing them.
+     *
+     * @param regions the regions to query. May not be null.
+     * @return the plan used by {@link #execute(List)} for {@code regions}
+     */
+    public QueryPlan plan(final List<? extends Locatable> regions) {
+        return QueryPlan.create(regions, rangeIndex, maxGap, maxRangeLength);
+    }
+
+    /**
+     * Start a query. The first reads are submitted before this method returns, and the others as earlier ranges
+     * are decoded.
+     *
+     * @param regions the regions to query. May not be null. Regions may overlap, in which case records
+     *                overlapping several regions are returned in each of them.
+     * @return an iterator over the result of each region, in the order of {@code regions}. {@link Iterator#next()}
+     * blocks until the result of the next region is available, and throws {@link HtsjdkIOException} if reading
+     * the region failed.
+     */
+    public Iterator<RegionResult<T>> execute(final List<? extends Locatable> regions) {
+        final QueryPlan plan = plan(regions);
+        final List<ByteRange> ranges = plan.getRanges();
+        final List<CompletableFuture<List<T>>> decodedRanges = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            decodedRanges.add(new CompletableFuture<>());
+        }
+
+        final PositionalReader reader = SharedPositionalReaders.acquire(ioResource);
+        final AtomicInteger nextRange = new AtomicInteger();
+        for (int i = 0; i < Math.min(maxOutstandingReads, ranges.size()); i++) {
+            fetchNext(reader, ranges, decodedRanges, nextRange);
+        }
+        CompletableFuture.allOf(decodedRanges.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> reader.close());
+
+        final List<CompletableFuture<RegionResult<T>>> results = new ArrayList<>(plan.getRegions().size());
+        for (int i = 0; i < plan.getRegions().size(); i++) {
+            final Locatable region = plan.getRegions().get(i);
+            final List<CompletableFuture<List<T>>> regionRanges = new ArrayList<>();
+            for (final int rangeIndex : plan.getRangeIndices(i)) {
+                regionRanges.add(decodedRanges.get(rangeIndex));
+            }
+            results.add(CompletableFuture.allOf(regionRanges.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> collect(region, regionRanges)));
+        }
+        return new ResultIterator<>(results.iterator());
+    }
+
+    // read and decode the next range that has not been started, if any, and start another once it is decoded
+    private void fetchNext(
+            final PositionalReader reader,
+            final List<ByteRange> ranges,
+            final List<CompletableFuture<List<T>>> decodedRanges,
+            final AtomicInteger nextRange) {
+        final int index = nextRange.getAndIncrement();
+        if (index >= ranges.size()) {
+            return;
+        }
+        final ByteRange range = ranges.get(index);
+        CompletableFuture
+                .supplyAsync(() -> read(reader, range), executorProvider.getIOExecutor())
+                .thenApplyAsync(data -> rangeDecoder.decode(range, data), executorProvider.getComputeExecutor())
+                .whenComplete((records, error) -> {
+                    if (error == null) {
+                        decodedRanges.get(index).complete(records);
+                    } else {
+                        decodedRanges.get(index).completeExceptionally(
+                                error instanceof CompletionException ? error.getCause() : error);
+                    }
+                    fetchNext(reader, ranges, decodedRanges, nextRange);
+                });
+    }
+
+    private ByteBuffer read(final PositionalReader reader, final ByteRange range) {
+        ParamUtils.validate(range.length() <= Integer.MAX_VALUE, () -> "byte range is too large: " + range);
+        final ByteBuffer data = ByteBuffer.allocate((int) range.length());
+        final int bytesRead = reader.readFully(range.getStart(), data);
+        if (bytesRead < data.capacity()) {
+            throw new HtsjdkIOException(String.format(
+                    "Unexpected end of %s reading %s", ioResource.getURIString(), range));
+        }
+        data.flip();
+        return data;
+    }
+
+    private static <T extends Locatable> RegionResult<T> collect(
+            final Locatable region,
+            final List<CompletableFuture<List<T>>> regionRanges) {
+        final List<T> records = new ArrayList<>();
+        for (final CompletableFuture<List<T>> range : regionRanges) {
+            for (final T record : range.join()) {
+                if (Interval.overlaps(region, record)) {
+                    records.add(record);
+                }
+            }
+        }
+        return new RegionResult<>(region, Collections.unmodifiableList(records));
+    }
+
+    /**
+     * Builder for {@link MultiRegionQuery}.
+     *
+     * @param <T> type of the records
+     */
+    public static final class Builder<T extends Locatable> {
+        private final IOResource ioResource;
+        private final RangeIndex rangeIndex;
+        private final RangeDecoder<T> rangeDecoder;
+        private long maxGap = DEFAULT_MAX_GAP;
+        private long maxRangeLength = DEFAULT_MAX_RANGE_LENGTH;
+        private int maxOutstandingReads = DEFAULT_MAX_OUTSTANDING_READS;
+        private ExecutorProvider executorProvider = HtsjdkExecutors.getDefault();
+
+        private Builder(final IOResource ioResource, final RangeIndex rangeIndex, final RangeDecoder<T> rangeDecoder) {
+            this.ioResource = ParamUtils.nonNull(ioResource, () -> "ioResource cannot be null");
+            this.rangeIndex = ParamUtils.nonNull(rangeIndex, () -> "range index cannot be null");
+            this.rangeDecoder = ParamUtils.nonNull(rangeDecoder, () -> "range decoder cannot be null");
+        }
+
+        /**
+         * Set the maximum gap between two ranges for them to be read as one (defaults to
+         * {@link #DEFAULT_MAX_GAP}). Larger values mean fewer, larger reads, which suits high-latency storage.
+         *
+         * @param maxGap maximum number of unneeded bytes read to merge two ranges. Must be non-negative.
+         * @return this builder
+         */
+        public Builder<T> setMaxGap(final long maxGap) {
+            ParamUtils.validate(maxGap >= 0, () -> "max gap must be non-negative: " + maxGap);
+            this.maxGap = maxGap;
+            return this;
+        }
+
+        /**
+         * Set the maximum length of a range produced by merging ranges separated by a gap (defaults to
+         * {@link #DEFAULT_MAX_RANGE_LENGTH}), which bounds the size of each read buffer.
+         *
+         * @param maxRangeLength maximum merged range length, in bytes. Must be positive.
+         * @return this builder
+         */
+        public Builder<T> setMaxRangeLength(final long maxRangeLength) {
+            ParamUtils.validate(maxRangeLength > 0, () -> "max range length must be positive: " + maxRangeLength);
+            this.maxRangeLength = maxRangeLength;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of ranges of a query being read or decoded at once (defaults to
+         * {@link #DEFAULT_MAX_OUTSTANDING_READS}). Together with the maximum range length, this bounds the read
+         * buffers of a query; the remaining ranges are read as earlier ones are decoded.
+         *
+         * @param maxOutstandingReads maximum number of outstanding reads per query. Must be positive.
+         * @return this builder
+         */
+        public Builder<T> setMaxOutstandingReads(final int maxOutstandingReads) {
+            ParamUtils.validate(maxOutstandingReads > 0, () -> "max outstanding reads must be positive: " + maxOutstandingReads);
+            this.maxOutstandingReads = maxOutstandingReads;
+            return this;
+        }
+
+        /**
+         * Set the executors used by queries (defaults to {@link HtsjdkExecutors#getDefault()}). Reads run on the
+         * I/O executor; decoding runs on the compute executor.
+         *
+         * @param executorProvider provider of the query executors. May not be null.
+         * @return this builder
+         */
+        public Builder<T> setExecutorProvider(final ExecutorProvider executorProvider) {
+            this.executorProvider = ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link MultiRegionQuery}
+         */
+        public MultiRegionQuery<T> build() {
+            return new MultiRegionQuery<>(this);
+        }
+    }
+
+    private static final class ResultIterator<T extends Locatable> implements Iterator<RegionResult<T>> {
+        private final Iterator<CompletableFuture<RegionResult<T>>> results;
+
+        private ResultIterator(final Iterator<CompletableFuture<RegionResult<T>>> results) {
+            this.results = results;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return results.hasNext();
+        }
+
+        @Override
+        public RegionResult<T> next() {
+            if (!results.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return results.next().join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new HtsjdkException("Failed querying region", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The byte ranges to read to answer a multi-region query, and the regions served by each range.
+ *
+ * The ranges returned by the {@link RangeIndex} for all the regions are sorted and coalesced, so that each byte
+ * of the resource is read at most once, however many regions it serves. Overlapping ranges are always merged,
+ * which guarantees that no record is decoded twice; ranges separated by a gap of at most {@code maxGap} bytes are
+ * also merged, as long as the merged range does not exceed {@code maxRangeLength}, trading a few extra bytes
+ * read for fewer, larger requests.
+ */
+public final class QueryPlan {
+
+    private final List<Locatable> regions;
+    private final List<ByteRange> ranges;
+    private final int[][] rangeIndicesByRegion;
+
+    private QueryPlan(final List<Locatable> regions, final List<ByteRange> ranges, final int[][] rangeIndicesByRegion) {
+        this.regions = regions;
+        this.ranges = ranges;
+        this.rangeIndicesByRegion = rangeIndicesByRegion;
+    }
+
+    /**
+     * Plan the reads for a set of regions.
+     *
+     * @param regions regions being queried, in any order. May not be null.
+     * @param rangeIndex index of the resource being queried. May not be null.
+     * @param maxGap maximum number of unneeded bytes between two ranges for them to be merged. Must be
+     *               non-negative.
+     * @param maxRangeLength maximum length of a range produced by merging ranges separated by a gap. Ranges
+     *                       returned by the index, and overlapping ranges, are never split. Must be positive.
+     * @return the plan
+     */
+    public static QueryPlan create(
+            final List<? extends Locatable> regions,
+            final RangeIndex rangeIndex,
+            final long maxGap,
+            final long maxRangeLength) {
+        ParamUtils.nonNull(regions, () -> "regions cannot be null");
+        ParamUtils.nonNull(rangeIndex, () -> "range index cannot be null");
+        ParamUtils.validate(maxGap >= 0, () -> "max gap must be non-negative: " + maxGap);
+        ParamUtils.validate(maxRangeLength > 0, () -> "max range length must be positive: " + maxRangeLength);
+
+        final List<IndexedRange> indexedRanges = new ArrayList<>();
+        for (int i = 0; i < regions.size(); i++) {
+            final Locatable region = ParamUtils.nonNull(regions.get(i), () -> "regions cannot contain null");
+            for (final ByteRange range : rangeIndex.getByteRanges(region)) {
+                if (range.length() > 0) {
+                    indexedRanges.add(new IndexedRange(range, i));
+                }
+            }
+        }
+        indexedRanges.sort(Comparator.comparing(indexedRange -> indexedRange.range));
+
+        final List<ByteRange> ranges = new ArrayList<>();
+        final List<BitSet> regionsByRange = new ArrayList<>();
+        long start = -1;
+        long end = -1;
+        BitSet served = null;
+        for (final IndexedRange indexedRange : indexedRanges) {
+            final ByteRange range = indexedRange.range;
+            final long mergedEnd = Math.max(end, range.getEnd());
+            final boolean overlapping = range.getStart() < end;
+            final boolean withinGap = range.getStart() - end <= maxGap && mergedEnd - start <= maxRangeLength;
+            if (served == null || !(overlapping || withinGap)) {
+                if (served != null) {
+                    ranges.add(new ByteRange(start, end));
+                    regionsByRange.add(served);
+                }
+                start = range.getStart();
+                end = range.getEnd();
+                served = new BitSet();
+            } else {
+                end = mergedEnd;
+            }
+            served.set(indexedRange.regionIndex);
+        }
+        if (served != null) {
+            ranges.add(new ByteRange(start, end));
+            regionsByRange.add(served);
+        }
+
+        return new QueryPlan(
+                Collections.unmodifiableList(new ArrayList<>(regions)),
+                Collections.unmodifiableList(ranges),
+                invert(regionsByRange, regions.size()));
+    }
+
+    // for each region, the indices of the ranges serving it, in increasing order
+    private static int[][] invert(final List<BitSet> regionsByRange, final int regionCount) {
+        final int[] counts = new int[regionCount];
+        for (final BitSet served : regionsByRange) {
+            served.stream().forEach(region -> counts[region]++);
+        }
+        final int[][] rangeIndicesByRegion = new int[regionCount][];
+        for (int region = 0; region < regionCount; region++) {
+            rangeIndicesByRegion[region] = new int[counts[region]];
+            counts[region] = 0;
+        }
+        for (int range = 0; range < regionsByRange.size(); range++) {
+            final int rangeIndex = range;
+            regionsByRange.get(range).stream().forEach(region ->
+                    rangeIndicesByRegion[region][counts[region]++] = rangeIndex);
+        }
+        return rangeIndicesByRegion;
+    }
+
+    /**
+     * @return the regions being queried, in input order
+     */
+    public List<Locatable> getRegions() {
+        return regions;
+    }
+
+    /**
+     * @return the disjoint byte ranges to read, in increasing offset order
+     */
+    public List<ByteRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * @param regionIndex index of a region in {@link #getRegions()}
+     * @return indices in {@link #getRanges()} of the ranges that may contain records overlapping the region, in
+     * increasing order
+     */
+    public int[] getRangeIndices(final int regionIndex) {
+        ParamUtils.validateIndex(regionIndex, regions.size());
+        return rangeIndicesByRegion[regionIndex].clone();
+    }
+
+    /**
+     * @return total number of bytes read by this plan
+     */
+    public long getTotalBytes() {
+        return ranges.stream().mapToLong(ByteRange::length).sum();
+    }
+
+    private static final class IndexedRange {
+        private final ByteRange range;
+        private final int regionIndex;
+
+        private IndexedRange(final ByteRange range, final int regionIndex) {
+            this.range = range;
+            this.regionIndex = regionIndex;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Decodes the records stored in a byte range of an indexed resource.
+ *
+ * @param <T> type of the decoded records
+ */
+@FunctionalInterface
+public interface RangeDecoder<T extends Locatable> {
+
+    /**
+     * Decode all the records in a range. Called concurrently for different ranges, so implementations must keep
+     * any decoding state local to the call.
+     *
+     * @param range the range that was read, as planned by {@link QueryPlan}
+     * @param data the bytes of {@code range}, from position 0 to the limit
+     * @return the records stored in {@code range}, in resource order
+     */
+    List<T> decode(ByteRange range, ByteBuffer data);
+}
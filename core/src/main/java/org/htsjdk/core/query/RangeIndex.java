@@ -0,0 +1,20 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+
+import java.util.List;
+
+/**
+ * Maps a genomic region to the byte ranges of an indexed resource that may contain records overlapping it.
+ *
+ * Each range must start and end on a unit that can be decoded independently (for example a CRAM container, or
+ * a run of whole BGZF blocks), so that adjacent ranges can be concatenated and decoded as one.
+ */
+public interface RangeIndex {
+
+    /**
+     * @param region the region being queried. Will not be null.
+     * @return the byte ranges that may contain records overlapping {@code region}, in any order. May be empty.
+     */
+    List<ByteRange> getByteRanges(Locatable region);
+}
@@ -0,0 +1,40 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+
+import java.util.List;
+
+/**
+ * The records overlapping one region of a multi-region query.
+ *
+ * @param <T> type of the records
+ */
+public final class RegionResult<T extends Locatable> {
+
+    private final Locatable region;
+    private final List<T> records;
+
+    RegionResult(final Locatable region, final List<T> records) {
+        this.region = region;
+        this.records = records;
+    }
+
+    /**
+     * @return the region, as passed to the query
+     */
+    public Locatable getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the records overlapping the region, in resource order. Unmodifiable.
+     */
+    public List<T> getRecords() {
+        return records;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d records)", region, records.size());
+    }
+}
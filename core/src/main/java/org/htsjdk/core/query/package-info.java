@@ -0,0 +1,4 @@
+/**
+ * Contains the planner and parallel executor for multi-region queries over indexed inputs.
+ */
+package org.htsjdk.core.query;
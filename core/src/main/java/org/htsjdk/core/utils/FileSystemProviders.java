@@ -0,0 +1,53 @@
+package org.htsjdk.core.utils;
+
+import java.nio.file.FileSystems;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the installed NIO {@link FileSystemProvider}s, by URI scheme.
+ *
+ * {@link FileSystemProvider#installedProviders()} is fixed once loaded, so the provider for each scheme is looked
+ * up once and cached, instead of scanning the installed providers on every call.
+ */
+public final class FileSystemProviders {
+
+    private static final Map<String, Optional<FileSystemProvider>> providersByScheme = new ConcurrentHashMap<>();
+
+    // cannot be instantiated
+    private FileSystemProviders() {}
+
+    /**
+     * @param scheme a URI scheme, compared case-insensitively. May not be null.
+     * @return the installed provider for {@code scheme}, if any
+     */
+    public static Optional<FileSystemProvider> getProvider(final String scheme) {
+        ParamUtils.nonNull(scheme, () -> "scheme cannot be null");
+        return providersByScheme.computeIfAbsent(scheme.toLowerCase(Locale.ROOT), FileSystemProviders::findProvider);
+    }
+
+    /**
+     * @param scheme a URI scheme, compared case-insensitively. May not be null.
+     * @return true if an installed provider supports {@code scheme}
+     */
+    public static boolean isInstalled(final String scheme) {
+        return getProvider(scheme).isPresent();
+    }
+
+    private static Optional<FileSystemProvider> findProvider(final String scheme) {
+        // like Paths.get(URI), prefer the default provider for the "file" scheme
+        final FileSystemProvider defaultProvider = FileSystems.getDefault().provider();
+        if (defaultProvider.getScheme().equalsIgnoreCase(scheme)) {
+            return Optional.of(defaultProvider);
+        }
+        for (final FileSystemProvider provider : FileSystemProvider.installedProviders()) {
+            if (provider.getScheme().equalsIgnoreCase(scheme)) {
+                return Optional.of(provider);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,71 @@
+package org.htsjdk.core.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe, memoizing wrapper for a value that is expensive to compute and may never be needed, such as
+ * a section of a file header. The value is computed at most once, on the first call to {@link #get()}; the
+ * supplier is released afterwards, so any input it captured (for example, the raw header bytes) can be
+ * reclaimed.
+ *
+ * If the supplier throws, the exception is propagated and the value is computed again on the next call.
+ *
+ * @param <T> type of the value
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private volatile Supplier<? extends T> supplier;
+    private T value;    // published by the volatile write to supplier
+
+    private Lazy(final Supplier<? extends T> supplier, final T value) {
+        this.value = value;
+        this.supplier = supplier;
+    }
+
+    /**
+     * @param supplier computes the value. May not be null. Must not return null.
+     * @param <T> type of the value
+     * @return a lazy value computed by {@code supplier}
+     */
+    public static <T> Lazy<T> of(final Supplier<? extends T> supplier) {
+        return new Lazy<>(ParamUtils.nonNull(supplier, () -> "supplier cannot be null"), null);
+    }
+
+    /**
+     * @param value the value. May not be null.
+     * @param <T> type of the value
+     * @return a lazy value that is already computed
+     */
+    public static <T> Lazy<T> ofValue(final T value) {
+        return new Lazy<>(null, ParamUtils.nonNull(value, () -> "value cannot be null"));
+    }
+
+    /**
+     * @return the value, computing it if needed
+     */
+    @Override
+    public T get() {
+        if (supplier != null) {
+            synchronized (this) {
+                final Supplier<? extends T> pending = supplier;
+                if (pending != null) {
+                    value = ParamUtils.nonNull(pending.get(), () -> "lazy value supplier returned null");
+                    supplier = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the value has been computed
+     */
+    public boolean isComputed() {
+        return supplier == null;
+    }
+
+    @Override
+    public String toString() {
+        return isComputed() ? String.valueOf(value) : "Lazy(not computed)";
+    }
+}
@@ -0,0 +1,137 @@
+package org.htsjdk.core.utils;
+
+import org.htsjdk.core.concurrent.ExecutorProvider;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.core.exception.HtsjdkException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Parses and resolves large batches of path specifiers (for example, all the inputs listed in a manifest) in
+ * parallel.
+ *
+ * The batch is split into chunks resolved on the I/O executor, since resolving a path may require network
+ * access for some NIO providers. Each input is resolved once: the resulting {@link PathSpecifier}s memoize their
+ * path or failure reason, so later calls to {@link PathSpecifier#isPath()} or {@link PathSpecifier#toPath()}
+ * are cheap.
+ */
+public final class PathResolver {
+
+    /**
+     * Number of inputs resolved by each parallel task.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    // cannot be instantiated
+    private PathResolver() {}
+
+    /**
+     * Resolve a batch of inputs on the default executors.
+     *
+     * @param rawInputStrings the inputs, as accepted by {@link PathSpecifier#PathSpecifier(String)}. May not be
+     *                        null.
+     * @return the resolution of each input, in input order
+     */
+    public static List<Resolution> resolveAll(final List<String> rawInputStrings) {
+        return resolveAll(rawInputStrings, HtsjdkExecutors.getDefault());
+    }
+
+    /**
+     * Resolve a batch of inputs.
+     *
+     * @param rawInputStrings the inputs, as accepted by {@link PathSpecifier#PathSpecifier(String)}. May not be
+     *                        null.
+     * @param executorProvider executors on which to resolve the inputs. May not be null.
+     * @return the resolution of each input, in input order
+     */
+    public static List<Resolution> resolveAll(final List<String> rawInputStrings, final ExecutorProvider executorProvider) {
+        ParamUtils.nonNull(rawInputStrings, () -> "inputs cannot be null");
+        ParamUtils.nonNull(executorProvider, () -> "executor provider cannot be null");
+
+        final Resolution[] resolutions = new Resolution[rawInputStrings.size()];
+        final List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < resolutions.length; start += CHUNK_SIZE) {
+            final int chunkStart = start;
+            final int chunkEnd = Math.min(resolutions.length, start + CHUNK_SIZE);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    resolutions[i] = resolve(rawInputStrings.get(i));
+                }
+            }, executorProvider.getIOExecutor()));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HtsjdkException("Failed resolving paths", e.getCause());
+        }
+        return Collections.unmodifiableList(Arrays.asList(resolutions));
+    }
+
+    private static Resolution resolve(final String rawInputString) {
+        ParamUtils.nonNull(rawInputString, () -> "inputs cannot contain null");
+        final PathSpecifier pathSpecifier;
+        try {
+            pathSpecifier = new PathSpecifier(rawInputString);
+        } catch (final IllegalArgumentException | HtsjdkException e) {
+            return new Resolution(rawInputString, null, String.format("Invalid path specifier: %s", e.getMessage()));
+        }
+        return new Resolution(rawInputString, pathSpecifier, pathSpecifier.getToPathFailureReason().orElse(null));
+    }
+
+    /**
+     * The result of resolving one input.
+     */
+    public static final class Resolution {
+        private final String rawInputString;
+        private final PathSpecifier pathSpecifier;
+        private final String failureReason;
+
+        private Resolution(final String rawInputString, final PathSpecifier pathSpecifier, final String failureReason) {
+            this.rawInputString = rawInputString;
+            this.pathSpecifier = pathSpecifier;
+            this.failureReason = failureReason;
+        }
+
+        /**
+         * @return the input, as given
+         */
+        public String getRawInputString() {
+            return rawInputString;
+        }
+
+        /**
+         * @return the parsed path specifier, or an empty optional if the input is not a valid path specifier
+         */
+        public Optional<PathSpecifier> getPathSpecifier() {
+            return Optional.ofNullable(pathSpecifier);
+        }
+
+        /**
+         * @return true if the input was resolved to a {@link java.nio.file.Path}
+         */
+        public boolean isPath() {
+            return failureReason == null;
+        }
+
+        /**
+         * @return the reason the input could not be resolved to a {@link java.nio.file.Path}, if it could not
+         */
+        public Optional<String> getFailureReason() {
+            return Optional.ofNullable(failureReason);
+        }
+
+        @Override
+        public String toString() {
+            return isPath() ? rawInputString : String.format("%s (%s)", rawInputString, failureReason);
+        }
+    }
+}
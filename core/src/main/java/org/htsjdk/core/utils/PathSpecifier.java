@@ -1,15 +1,29 @@
 package org.htsjdk.core.utils;
 
+import org.htsjdk.core.api.io.AsyncReadChannel;
+import org.htsjdk.core.api.io.CommittableOutputStream;
 import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
 import org.htsjdk.core.exception.HtsjdkException;
 import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.io.CoalescingOutputStream;
+import org.htsjdk.core.io.FileAsyncReadChannel;
+import org.htsjdk.core.io.FileChannelPositionalReader;
+import org.htsjdk.core.io.PooledAsyncReadChannel;
+import org.htsjdk.core.io.PooledPositionalReader;
+import org.htsjdk.core.jfr.HtsjdkEvents;
 
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Default implementation for IOResource.
@@ -67,7 +81,7 @@ public class PathSpecifier implements IOResource, Serializable {
     private final String    rawInputString;     // raw input string provided by th user; may or may not have a scheme
     private final URI       uri;                // working URI; always has a scheme (assume "file" if not provided)
     private transient Path  cachedPath;         // cache the Path associated with this URI if its "Path-able"
-    private Optional<String> pathFailureReason = Optional.empty(); // cache the reason for "toPath" conversion failure
+    private transient volatile String pathFailureReason; // cache the reason for "toPath" conversion failure, if any
 
     /**
      * If the raw input string already contains a scheme (including a "file" scheme), assume its already
@@ -116,32 +130,24 @@ public class PathSpecifier implements IOResource, Serializable {
         uri = tempURI;
     }
 
+    // used on deserialization, where the URI has already been resolved from the raw input string
+    private PathSpecifier(final String rawInputString, final URI uri) {
+        this.rawInputString = rawInputString;
+        this.uri = uri;
+    }
+
     @Override
     public boolean isNIO() {
-        // try to find a provider; assume that our URI always has a scheme
-        for (FileSystemProvider provider: FileSystemProvider.installedProviders()) {
-            if (provider.getScheme().equalsIgnoreCase(uri.getScheme())) {
-                return true;
-            }
-        }
-        return false;
+        // assume that our URI always has a scheme
+        return FileSystemProviders.isInstalled(uri.getScheme());
     }
 
+    /**
+     * The result of the resolution is memoized, so only the first call can be costly.
+     */
     @Override
     public boolean isPath() {
-        try {
-            return toPath() != null;
-        } catch (ProviderNotFoundException |
-                FileSystemNotFoundException |
-                IllegalArgumentException |
-                HtsjdkException |
-                // thrown byjimfs
-                AssertionError e) {
-            // jimfs throws an AssertionError that wraps a URISyntaxException when trying to create path where
-            // the scheme-specific part is missing or incorrect
-            pathFailureReason = Optional.of(e.getMessage());
-            return false;
-        }
+        return resolvePath();
     }
 
     @Override
@@ -170,7 +176,10 @@ public class PathSpecifier implements IOResource, Serializable {
         if (getCachedPath() != null) {
             return getCachedPath();
         } else {
-            final Path tmpPath = Paths.get(getURI());
+            // equivalent to Paths.get(URI), without scanning the installed providers
+            final FileSystemProvider provider = FileSystemProviders.getProvider(uri.getScheme())
+                    .orElseThrow(() -> new FileSystemNotFoundException(providerNotInstalledMessage()));
+            final Path tmpPath = provider.getPath(getURI());
             setCachedPath(tmpPath);
             return tmpPath;
         }
@@ -178,21 +187,40 @@ public class PathSpecifier implements IOResource, Serializable {
 
     @Override
     public Optional<String> getToPathFailureReason() {
-        if (!pathFailureReason.isPresent()) {
-            try {
-                toPath();
-                return Optional.empty();
-            } catch (ProviderNotFoundException e) {
-                pathFailureReason = Optional.of(String.format("ProviderNotFoundException: %s", e.getMessage()));
-            } catch (FileSystemNotFoundException e) {
-                pathFailureReason = Optional.of(String.format("FileSystemNotFoundException: %s", e.getMessage()));
-            } catch (IllegalArgumentException e) {
-                pathFailureReason = Optional.of(String.format("IllegalArgumentException: %s", e.getMessage()));
-            } catch (HtsjdkException e) {
-                pathFailureReason = Optional.of(String.format("HtsjdkException: %s", e.getMessage()));
-            }
+        return resolvePath() ? Optional.empty() : Optional.of(pathFailureReason);
+    }
+
+    // Resolve the path once, and memoize either the path or the reason it can't be resolved. A missing provider,
+    // the most common failure, is detected without throwing.
+    private boolean resolvePath() {
+        if (getCachedPath() != null) {
+            return true;
         }
-        return pathFailureReason;
+        if (pathFailureReason != null) {
+            return false;
+        }
+        if (!isNIO()) {
+            pathFailureReason = String.format("FileSystemNotFoundException: %s", providerNotInstalledMessage());
+            return false;
+        }
+        try {
+            toPath();
+            return true;
+        } catch (ProviderNotFoundException |
+                FileSystemNotFoundException |
+                IllegalArgumentException |
+                HtsjdkException |
+                // thrown by jimfs
+                AssertionError e) {
+            // jimfs throws an AssertionError that wraps a URISyntaxException when trying to create path where
+            // the scheme-specific part is missing or incorrect
+            pathFailureReason = String.format("%s: %s", e.getClass().getSimpleName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private String providerNotInstalledMessage() {
+        return String.format("Provider \"%s\" not installed", uri.getScheme());
     }
 
     @Override
@@ -203,7 +231,10 @@ public class PathSpecifier implements IOResource, Serializable {
 
         final Path resourcePath = toPath();
         try {
-            return Files.newInputStream(resourcePath);
+            final Object openEvent = HtsjdkEvents.beginOpen();
+            final InputStream inputStream = Files.newInputStream(resourcePath);
+            HtsjdkEvents.commitOpen(openEvent, getURI(), HtsjdkEvents.INPUT_STREAM);
+            return HtsjdkEvents.traceInputStream(inputStream, getURI());
         } catch (IOException e) {
             throw new HtsjdkIOException(
                     String.format("Could not create open input stream for %s (as URI %s)", getRawInputString(), getURIString()), e);
@@ -218,12 +249,72 @@ public class PathSpecifier implements IOResource, Serializable {
 
         final Path resourcePath = toPath();
         try {
-            return Files.newOutputStream(resourcePath);
+            final Object openEvent = HtsjdkEvents.beginOpen();
+            final OutputStream outputStream = Files.newOutputStream(resourcePath);
+            HtsjdkEvents.commitOpen(openEvent, getURI(), HtsjdkEvents.OUTPUT_STREAM);
+            return outputStream;
+        } catch (IOException e) {
+            throw new HtsjdkIOException(String.format("Could not open output stream for %s (as URI %s)", getRawInputString(), getURIString()), e);
+        }
+    }
+
+    @Override
+    public CommittableOutputStream getOutputStream(final WriteOptions writeOptions) {
+        ParamUtils.nonNull(writeOptions, () -> "write options cannot be null");
+        if (!isPath()) {
+            throw new HtsjdkIOException(getToPathFailureReason().get());
+        }
+
+        final Path resourcePath = toPath();
+        try {
+            final Object openEvent = HtsjdkEvents.beginOpen();
+            final CommittableOutputStream outputStream = CoalescingOutputStream.open(resourcePath, writeOptions);
+            HtsjdkEvents.commitOpen(openEvent, getURI(), HtsjdkEvents.OUTPUT_STREAM);
+            return outputStream;
         } catch (IOException e) {
             throw new HtsjdkIOException(String.format("Could not open output stream for %s (as URI %s)", getRawInputString(), getURIString()), e);
         }
     }
 
+    /**
+     * Returns an {@link AsynchronousFileChannel}-backed channel for resources on the default file system, and a
+     * channel that runs reads on a bounded number of tasks on the shared I/O executor for other NIO providers.
+     */
+    @Override
+    public AsyncReadChannel getAsyncReadChannel() {
+        if (!isPath()) {
+            throw new HtsjdkIOException(getToPathFailureReason().get());
+        }
+
+        final Path resourcePath = toPath();
+        final ExecutorService ioExecutor = HtsjdkExecutors.getDefault().getIOExecutor();
+        final Object openEvent = HtsjdkEvents.beginOpen();
+        final AsyncReadChannel channel = resourcePath.getFileSystem() == FileSystems.getDefault() ?
+                new FileAsyncReadChannel(resourcePath, ioExecutor) :
+                new PooledAsyncReadChannel(resourcePath, PooledAsyncReadChannel.DEFAULT_MAX_CONCURRENCY, ioExecutor);
+        HtsjdkEvents.commitOpen(openEvent, getURI(), HtsjdkEvents.ASYNC_CHANNEL);
+        return channel;
+    }
+
+    /**
+     * Returns a lock-free {@code FileChannel}-backed reader for resources on the default file system, and a reader
+     * backed by a pool of channels for other NIO providers.
+     */
+    @Override
+    public PositionalReader getPositionalReader() {
+        if (!isPath()) {
+            throw new HtsjdkIOException(getToPathFailureReason().get());
+        }
+
+        final Path resourcePath = toPath();
+        final Object openEvent = HtsjdkEvents.beginOpen();
+        final PositionalReader reader = resourcePath.getFileSystem() == FileSystems.getDefault() ?
+                new FileChannelPositionalReader(resourcePath) :
+                new PooledPositionalReader(resourcePath, PooledPositionalReader.DEFAULT_MAX_IDLE_CHANNELS);
+        HtsjdkEvents.commitOpen(openEvent, getURI(), HtsjdkEvents.POSITIONAL_READER);
+        return reader;
+    }
+
     // get the cached path associated with this URI if its already been created
     protected Path getCachedPath() { return cachedPath; }
 
@@ -236,6 +327,83 @@ public class PathSpecifier implements IOResource, Serializable {
         return rawInputString;
     }
 
+    /**
+     * Serialize through a compact {@link SerializedForm}, which records the raw input string and the URI
+     * resolved from it. The URI is not re-resolved on deserialization, so a relative local file reference still
+     * refers to the same file when deserialized in a process with a different working directory.
+     *
+     * Only instances of this class are replaced: the serialized form cannot recreate a subclass, so subclasses
+     * keep default serialization, which also records the raw input string and the URI.
+     */
+    private Object writeReplace() {
+        return getClass() == PathSpecifier.class ? new SerializedForm(this) : this;
+    }
+
+    private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        if (getClass() == PathSpecifier.class) {
+            throw new InvalidObjectException("PathSpecifier must be deserialized from its serialized form");
+        }
+        stream.defaultReadObject();
+    }
+
+    // Externalizable, to avoid writing the class descriptors of default serialization. Strings are written as a
+    // length and UTF-8 bytes rather than with writeUTF, which is limited to 64KB.
+    private static final class SerializedForm implements Externalizable {
+        private static final long serialVersionUID = 2L;
+
+        private PathSpecifier pathSpecifier;
+
+        // required by Externalizable
+        public SerializedForm() {}
+
+        private SerializedForm(final PathSpecifier pathSpecifier) {
+            this.pathSpecifier = pathSpecifier;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            final String uriString = pathSpecifier.getURIString();
+            writeString(out, pathSpecifier.getRawInputString());
+            // the URI is usually identical to the raw input string when the latter has a scheme
+            final boolean uriIsRawInput = uriString.equals(pathSpecifier.getRawInputString());
+            out.writeBoolean(uriIsRawInput);
+            if (!uriIsRawInput) {
+                writeString(out, uriString);
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            final String rawInputString = readString(in);
+            final String uriString = in.readBoolean() ? rawInputString : readString(in);
+            try {
+                pathSpecifier = new PathSpecifier(rawInputString, new URI(uriString));
+            } catch (final URISyntaxException e) {
+                throw new InvalidObjectException("Invalid serialized URI: " + e.getMessage());
+            }
+        }
+
+        private Object readResolve() {
+            return pathSpecifier;
+        }
+
+        private static void writeString(final ObjectOutput out, final String value) throws IOException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(final ObjectInput in) throws IOException {
+            final int length = in.readInt();
+            if (length < 0) {
+                throw new InvalidObjectException("Invalid serialized string length: " + length);
+            }
+            final byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
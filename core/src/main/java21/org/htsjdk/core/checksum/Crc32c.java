@@ -0,0 +1,46 @@
+package org.htsjdk.core.checksum;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * CRC-32C (Castagnoli) checksum.
+ *
+ * This is the Java 21 version of this class, packaged in the multi-release jar. It delegates to
+ * {@code java.util.zip.CRC32C}, which the JIT compiles to CRC32C instructions.
+ */
+public final class Crc32c implements Checksum {
+
+    private final CRC32C crc = new CRC32C();
+
+    @Override
+    public void update(final int b) {
+        crc.update(b);
+    }
+
+    @Override
+    public void update(final byte[] b, final int off, final int len) {
+        crc.update(b, off, len);
+    }
+
+    /**
+     * Update the checksum with the remaining bytes of a buffer.
+     *
+     * @param buffer the bytes, from its position to its limit. Its position is advanced to its limit.
+     */
+    @Override
+    public void update(final ByteBuffer buffer) {
+        crc.update(buffer);
+    }
+
+    @Override
+    public long getValue() {
+        return crc.getValue();
+    }
+
+    @Override
+    public void reset() {
+        crc.reset();
+    }
+}
@@ -0,0 +1,23 @@
+package org.htsjdk.core.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the default executor for blocking I/O tasks.
+ *
+ * This is the Java 21 version of this class, packaged in the multi-release jar. Blocking I/O tasks each get their
+ * own virtual thread, so many concurrent queries no longer each need a dedicated platform thread.
+ */
+final class IOThreads {
+
+    // cannot be instantiated
+    private IOThreads() {}
+
+    /**
+     * @return an executor that starts a new virtual thread for each task
+     */
+    static ExecutorService newIOExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("htsjdk-io-", 0).factory());
+    }
+}
@@ -0,0 +1,177 @@
+package org.htsjdk.core.cache;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.Lazy;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HeaderCacheTest extends HtsjdkBaseTest {
+
+    // a header whose contig list is only decoded when requested
+    private static final class TestHeader {
+        private final String version;
+        private final Lazy<List<String>> contigs;
+
+        private TestHeader(final List<String> lines) {
+            this.version = lines.get(0);
+            this.contigs = Lazy.of(() -> new ArrayList<>(lines.subList(1, lines.size())));
+        }
+    }
+
+    private static final class CountingLoader implements HeaderLoader<TestHeader> {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public TestHeader load(final IOResource ioResource) throws IOException {
+            loads.incrementAndGet();
+            return new TestHeader(Files.readAllLines(ioResource.toPath(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static IOResource createHeaderFile(final String... lines) throws IOException {
+        final Path path = IOUtils.createTempPath("headerCache", ".txt");
+        Files.write(path, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return new PathSpecifier(path.toString());
+    }
+
+    @Test
+    public void testRepeatedGetIsCached() throws IOException {
+        final CountingLoader loader = new CountingLoader();
+        final HeaderCache<TestHeader> cache = new HeaderCache<>(HeaderCache.DEFAULT_MAX_ENTRIES, loader);
+        final IOResource ioResource = createHeaderFile("v1", "chr1", "chr2");
+
+        final TestHeader header = cache.get(ioResource);
+        Assert.assertSame(cache.get(new PathSpecifier(ioResource.getURIString())), header);
+        Assert.assertEquals(loader.loads.get(), 1);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+
+        Assert.assertFalse(header.contigs.isComputed());
+        Assert.assertEquals(header.contigs.get().size(), 2);
+        Assert.assertTrue(header.contigs.isComputed());
+
+        cache.invalidate(ioResource);
+        Assert.assertNotSame(cache.get(ioResource), header);
+        Assert.assertEquals(loader.loads.get(), 2);
+    }
+
+    @Test
+    public void testReloadWhenResourceChanges() throws IOException {
+        final CountingLoader loader = new CountingLoader();
+        final HeaderCache<TestHeader> cache = new HeaderCache<>(HeaderCache.DEFAULT_MAX_ENTRIES, loader);
+        final IOResource ioResource = createHeaderFile("v1", "chr1");
+        Assert.assertEquals(cache.get(ioResource).version, "v1");
+
+        Files.write(ioResource.toPath(), Arrays.asList("v2", "chr1", "chr2"), StandardCharsets.UTF_8);
+        Assert.assertEquals(cache.get(ioResource).version, "v2");
+        Assert.assertEquals(loader.loads.get(), 2);
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        final CountingLoader loader = new CountingLoader();
+        final HeaderCache<TestHeader> cache = new HeaderCache<>(2, loader);
+        final IOResource first = createHeaderFile("first");
+        final IOResource second = createHeaderFile("second");
+        final IOResource third = createHeaderFile("third");
+
+        cache.get(first);
+        cache.get(second);
+        cache.get(first);
+        // evicts second, the least recently used
+        cache.get(third);
+        Assert.assertEquals(cache.size(), 2);
+        cache.get(first);
+        Assert.assertEquals(loader.loads.get(), 3);
+        cache.get(second);
+        Assert.assertEquals(loader.loads.get(), 4);
+    }
+
+    @Test
+    public void testConcurrentLoadsAreSingleFlight() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        final HeaderCache<TestHeader> cache = new HeaderCache<>(HeaderCache.DEFAULT_MAX_ENTRIES, ioResource -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            return new TestHeader(Files.readAllLines(ioResource.toPath(), StandardCharsets.UTF_8));
+        });
+        final IOResource ioResource = createHeaderFile("v1");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<TestHeader>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(ioResource)));
+            Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get(ioResource)));
+            }
+            release.countDown();
+            final TestHeader header = results.get(0).get(10, TimeUnit.SECONDS);
+            for (final Future<TestHeader> result : results) {
+                Assert.assertSame(result.get(10, TimeUnit.SECONDS), header);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(loads.get(), 1);
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws IOException {
+        final AtomicInteger loads = new AtomicInteger();
+        final HeaderCache<TestHeader> cache = new HeaderCache<>(HeaderCache.DEFAULT_MAX_ENTRIES, ioResource -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IOException("transient failure");
+            }
+            return new TestHeader(Files.readAllLines(ioResource.toPath(), StandardCharsets.UTF_8));
+        });
+        final IOResource ioResource = createHeaderFile("v1");
+
+        Assert.assertThrows(HtsjdkIOException.class, () -> cache.get(ioResource));
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.get(ioResource).version, "v1");
+    }
+
+    @Test
+    public void testLazyRetriesAfterFailure() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Lazy<Integer> lazy = Lazy.of(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("first call fails");
+            }
+            return 42;
+        });
+        Assert.assertThrows(IllegalStateException.class, lazy::get);
+        Assert.assertFalse(lazy.isComputed());
+        Assert.assertEquals(lazy.get().intValue(), 42);
+        Assert.assertEquals(lazy.get().intValue(), 42);
+        Assert.assertEquals(calls.get(), 2);
+        Assert.assertTrue(Lazy.ofValue("x").isComputed());
+    }
+}
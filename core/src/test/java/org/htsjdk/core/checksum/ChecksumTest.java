@@ -0,0 +1,209 @@
+package org.htsjdk.core.checksum;
+
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+public class ChecksumTest extends HtsjdkBaseTest {
+
+    private static final Set<ChecksumAlgorithm> ALL = EnumSet.allOf(ChecksumAlgorithm.class);
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static long crc32(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    private static long crc32c(final byte[] bytes) {
+        final Crc32c crc = new Crc32c();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    private static byte[] md5(final byte[] bytes) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("MD5").digest(bytes);
+    }
+
+    @DataProvider
+    public Object[][] knownValues() {
+        return new Object[][] {
+                { "", 0L, 0L, "d41d8cd98f00b204e9800998ecf8427e" },
+                { "123456789", 0xCBF43926L, 0xE3069283L, "25f9e794323b453885f5181f1b624d0b" },
+                { "The quick brown fox jumps over the lazy dog", 0x414FA339L, 0x22620404L, "9e107d9d372bb6826bd81d3542a419d6" },
+        };
+    }
+
+    @Test(dataProvider = "knownValues")
+    public void testKnownValues(final String input, final long crc32, final long crc32c, final String md5) throws IOException {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final ChecksummingOutputStream outputStream = new ChecksummingOutputStream(sink, ALL);
+        outputStream.write(input.getBytes(StandardCharsets.US_ASCII));
+        outputStream.close();
+
+        final ChecksumResults results = outputStream.getResults();
+        Assert.assertEquals(results.getByteCount(), input.length());
+        Assert.assertEquals(results.getCrc(ChecksumAlgorithm.CRC32), crc32);
+        Assert.assertEquals(results.getCrc(ChecksumAlgorithm.CRC32C), crc32c);
+        Assert.assertEquals(results.getHexDigest(ChecksumAlgorithm.MD5), md5);
+        Assert.assertEquals(results.getHexDigest(ChecksumAlgorithm.CRC32), String.format("%08x", crc32));
+        Assert.assertEquals(sink.toString("US-ASCII"), input);
+    }
+
+    @Test
+    public void testCrc32cUpdateMethodsAgree() {
+        final byte[] bytes = randomBytes(10_007);
+        final Crc32c byByte = new Crc32c();
+        for (final byte b : bytes) {
+            byByte.update(b);
+        }
+        final Crc32c direct = new Crc32c();
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        direct.update(directBuffer);
+        Assert.assertFalse(directBuffer.hasRemaining());
+
+        Assert.assertEquals(byByte.getValue(), crc32c(bytes));
+        Assert.assertEquals(direct.getValue(), crc32c(bytes));
+        direct.reset();
+        Assert.assertEquals(direct.getValue(), 0L);
+    }
+
+    @Test
+    public void testInputStream() throws IOException, NoSuchAlgorithmException {
+        final byte[] bytes = randomBytes(100_000);
+        final ChecksummingInputStream inputStream = new ChecksummingInputStream(new ByteArrayInputStream(bytes), ALL);
+        Assert.assertEquals(inputStream.read(), bytes[0] & 0xFF);
+        Assert.assertEquals(inputStream.skip(20_000), 20_000);
+        Assert.assertEquals(inputStream.skip(0), 0);
+        Assert.assertEquals(inputStream.skip(-5), 0);
+        final byte[] buffer = new byte[3000];
+        while (inputStream.read(buffer) > 0) {
+            // read to the end
+        }
+        inputStream.close();
+
+        final ChecksumResults results = inputStream.getResults();
+        Assert.assertEquals(results.getByteCount(), bytes.length);
+        Assert.assertEquals(results.getCrc(ChecksumAlgorithm.CRC32), crc32(bytes));
+        Assert.assertEquals(results.getCrc(ChecksumAlgorithm.CRC32C), crc32c(bytes));
+        Assert.assertEquals(results.getDigest(ChecksumAlgorithm.MD5), md5(bytes));
+    }
+
+    @Test
+    public void testChannels() throws IOException, NoSuchAlgorithmException {
+        final byte[] bytes = randomBytes(50_000);
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final ChecksummingWritableChannel writable = new ChecksummingWritableChannel(
+                Channels.newChannel(sink), EnumSet.of(ChecksumAlgorithm.CRC32C, ChecksumAlgorithm.MD5));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        direct.limit(10_000);
+        writable.write(direct);
+        direct.limit(bytes.length);
+        writable.write(direct);
+        writable.close();
+        Assert.assertEquals(sink.toByteArray(), bytes);
+        Assert.assertEquals(writable.getResults().getCrc(ChecksumAlgorithm.CRC32C), crc32c(bytes));
+        Assert.assertEquals(writable.getResults().getDigest(ChecksumAlgorithm.MD5), md5(bytes));
+
+        final InputStream source = new ByteArrayInputStream(bytes);
+        final ChecksummingReadableChannel readable = new ChecksummingReadableChannel(
+                Channels.newChannel(source), EnumSet.of(ChecksumAlgorithm.CRC32));
+        final ByteBuffer buffer = ByteBuffer.allocate(7000);
+        while (readable.read(buffer) >= 0) {
+            buffer.clear();
+        }
+        readable.close();
+        Assert.assertEquals(readable.getResults().getCrc(ChecksumAlgorithm.CRC32), crc32(bytes));
+        Assert.assertEquals(readable.getResults().getAlgorithms(), EnumSet.of(ChecksumAlgorithm.CRC32));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testResultsBeforeClose() {
+        new ChecksummingOutputStream(new ByteArrayOutputStream(), ALL).getResults();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAlgorithmNotComputed() throws IOException {
+        final ChecksummingOutputStream outputStream = new ChecksummingOutputStream(
+                new ByteArrayOutputStream(), EnumSet.of(ChecksumAlgorithm.MD5));
+        outputStream.close();
+        outputStream.getResults().getCrc(ChecksumAlgorithm.CRC32);
+    }
+
+    @DataProvider
+    public Object[][] blockCases() {
+        return new Object[][] {
+                { ChecksumAlgorithm.CRC32, 3_000_000, 65536 },
+                { ChecksumAlgorithm.CRC32C, 3_000_000, 65536 },
+                { ChecksumAlgorithm.CRC32C, 1000, 1 },
+                { ChecksumAlgorithm.CRC32, 1000, 5000 },
+                { ChecksumAlgorithm.CRC32, 0, 100 },
+        };
+    }
+
+    @Test(dataProvider = "blockCases")
+    public void testBlockChecksums(final ChecksumAlgorithm algorithm, final int length, final int blockSize) {
+        final byte[] bytes = randomBytes(length);
+        final ByteBuffer data = ByteBuffer.wrap(bytes);
+        final BlockChecksums checksums = BlockChecksums.compute(data, blockSize, algorithm, HtsjdkExecutors.getDefault());
+
+        final long expected = algorithm == ChecksumAlgorithm.CRC32 ? crc32(bytes) : crc32c(bytes);
+        Assert.assertEquals(checksums.getCombinedValue(), expected);
+        Assert.assertEquals(checksums.getTotalLength(), length);
+        Assert.assertEquals(checksums.getBlockCount(), (length + blockSize - 1) / blockSize);
+        Assert.assertEquals(data.position(), 0);
+        if (length > 0) {
+            final byte[] last = new byte[length - (checksums.getBlockCount() - 1) * blockSize];
+            System.arraycopy(bytes, length - last.length, last, 0, last.length);
+            Assert.assertEquals(checksums.getBlockValue(checksums.getBlockCount() - 1),
+                    algorithm == ChecksumAlgorithm.CRC32 ? crc32(last) : crc32c(last));
+        }
+    }
+
+    @Test
+    public void testCombine() {
+        final byte[] bytes = randomBytes(1000);
+        final List<Integer> splits = new ArrayList<>();
+        for (int split = 0; split <= bytes.length; split += 97) {
+            splits.add(split);
+        }
+        for (final int split : splits) {
+            final byte[] first = new byte[split];
+            final byte[] second = new byte[bytes.length - split];
+            System.arraycopy(bytes, 0, first, 0, split);
+            System.arraycopy(bytes, split, second, 0, second.length);
+            Assert.assertEquals(BlockChecksums.combine(ChecksumAlgorithm.CRC32, crc32(first), crc32(second), second.length), crc32(bytes));
+            Assert.assertEquals(BlockChecksums.combine(ChecksumAlgorithm.CRC32C, crc32c(first), crc32c(second), second.length), crc32c(bytes));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCombineMd5() {
+        BlockChecksums.combine(ChecksumAlgorithm.MD5, 0, 0, 1);
+    }
+}
@@ -0,0 +1,176 @@
+package org.htsjdk.core.codec;
+
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+public class RecordBlocksTest extends HtsjdkBaseTest {
+
+    private static final class Read implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final String contig;
+        private final int start;
+        private final byte[] bases;
+
+        private Read(final String name, final String contig, final int start, final byte[] bases) {
+            this.name = name;
+            this.contig = contig;
+            this.start = start;
+            this.bases = bases;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Read)) {
+                return false;
+            }
+            final Read read = (Read) o;
+            return start == read.start && name.equals(read.name) && contig.equals(read.contig)
+                    && Arrays.equals(bases, read.bases);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, contig, start);
+        }
+    }
+
+    private static final class ReadCodec implements RecordCodec<Read> {
+        private final int version;
+
+        private ReadCodec(final int version) {
+            this.version = version;
+        }
+
+        @Override
+        public String getName() {
+            return "test.read";
+        }
+
+        @Override
+        public int getVersion() {
+            return version;
+        }
+
+        @Override
+        public void encode(final Read record, final BinaryOutput output) {
+            output.writeString(record.name).writeSymbol(record.contig).writeSignedInt(record.start).writeBases(record.bases);
+        }
+
+        @Override
+        public Read decode(final BinaryInput input) {
+            return new Read(input.readString(), input.readSymbol(), input.readSignedInt(), input.readBases());
+        }
+    }
+
+    private static List<Read> createReads(final int count) {
+        final Random random = new Random(5);
+        final List<Read> reads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] bases = new byte[random.nextInt(150)];
+            for (int j = 0; j < bases.length; j++) {
+                bases[j] = (byte) "ACGTN".charAt(random.nextInt(5));
+            }
+            reads.add(new Read("read" + i, "chr" + random.nextInt(3), random.nextInt(1_000_000) - 10, bases));
+        }
+        return reads;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final List<Read> reads = createReads(1000);
+        final ByteBuffer block = RecordBlocks.encode(new ReadCodec(1), reads, new BinaryOutput(16));
+        Assert.assertEquals(RecordBlocks.decode(new ReadCodec(1), block), reads);
+        // decoding does not consume the block
+        Assert.assertEquals(RecordBlocks.decode(new ReadCodec(1), block), reads);
+
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized)) {
+            objectOutputStream.writeObject(new ArrayList<>(reads));
+        }
+        Assert.assertTrue(block.remaining() * 2 < serialized.size(),
+                String.format("block size %d, serialized size %d", block.remaining(), serialized.size()));
+    }
+
+    @Test
+    public void testEmptyBlock() {
+        final ByteBuffer block = RecordBlocks.encode(new ReadCodec(1), Collections.emptyList(), new BinaryOutput());
+        Assert.assertTrue(RecordBlocks.decode(new ReadCodec(1), block).isEmpty());
+    }
+
+    @Test(expectedExceptions = HtsjdkException.class)
+    public void testCodecVersionMismatch() {
+        final ByteBuffer block = RecordBlocks.encode(new ReadCodec(1), createReads(10), new BinaryOutput());
+        RecordBlocks.decode(new ReadCodec(2), block);
+    }
+
+    @Test(expectedExceptions = HtsjdkException.class)
+    public void testTruncatedBlock() {
+        final ByteBuffer block = RecordBlocks.encode(new ReadCodec(1), createReads(10), new BinaryOutput());
+        block.limit(block.limit() - 1);
+        RecordBlocks.decode(new ReadCodec(1), block);
+    }
+
+    @DataProvider
+    public Object[][] invalidLengths() {
+        // unsigned varint for 0xFFFFFFFF, which is a negative int
+        final byte[] negativeLength = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+        return new Object[][] { { negativeLength, true }, { negativeLength, false } };
+    }
+
+    @Test(dataProvider = "invalidLengths", expectedExceptions = HtsjdkException.class)
+    public void testInvalidLength(final byte[] bytes, final boolean isString) {
+        final BinaryInput input = new BinaryInput(ByteBuffer.wrap(bytes));
+        if (isString) {
+            input.readString();
+        } else {
+            input.readBases();
+        }
+    }
+
+    @DataProvider
+    public Object[][] longValues() {
+        return new Object[][] { { 0L }, { 1L }, { -1L }, { 127L }, { 128L }, { -64L }, { -65L },
+                { Integer.MAX_VALUE }, { Integer.MIN_VALUE }, { Long.MAX_VALUE }, { Long.MIN_VALUE } };
+    }
+
+    @Test(dataProvider = "longValues")
+    public void testVarints(final long value) {
+        final ByteBuffer buffer = ByteBuffer.allocate(4 * Varints.MAX_LONG_BYTES);
+        Varints.writeSignedLong(buffer, value);
+        Varints.writeUnsignedLong(buffer, value);
+        Varints.writeSignedInt(buffer, (int) value);
+        Varints.writeUnsignedInt(buffer, (int) value);
+        buffer.flip();
+        Assert.assertEquals(Varints.readSignedLong(buffer), value);
+        Assert.assertEquals(Varints.readUnsignedLong(buffer), value);
+        Assert.assertEquals(Varints.readSignedInt(buffer), (int) value);
+        Assert.assertEquals(Varints.readUnsignedInt(buffer), (int) value);
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testPackedBases() {
+        final ByteBuffer buffer = ByteBuffer.allocate(PackedBases.packedLength(7));
+        PackedBases.pack(buffer, "ACgTNx=".getBytes());
+        Assert.assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        Assert.assertEquals(new String(PackedBases.unpack(buffer, 7)), "ACGTNN=");
+    }
+}
@@ -0,0 +1,48 @@
+package org.htsjdk.core.concurrent;
+
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class HtsjdkExecutorsTest extends HtsjdkBaseTest {
+
+    @Test
+    public void testDefaultProviderIsShared() {
+        final ExecutorProvider provider = HtsjdkExecutors.getDefault();
+        Assert.assertSame(HtsjdkExecutors.getDefault(), provider);
+        Assert.assertNotNull(provider.getIOExecutor());
+        Assert.assertNotNull(provider.getComputeExecutor());
+    }
+
+    @Test
+    public void testDefaultExecutorsUseDaemonThreads() throws ExecutionException, InterruptedException {
+        final ExecutorProvider provider = HtsjdkExecutors.getDefault();
+        Assert.assertTrue(provider.getIOExecutor().submit(() -> Thread.currentThread().isDaemon()).get());
+        Assert.assertTrue(provider.getComputeExecutor().submit(() -> Thread.currentThread().isDaemon()).get());
+    }
+
+    @Test
+    public void testSetDefault() {
+        final ExecutorProvider previous = HtsjdkExecutors.getDefault();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final ExecutorProvider custom = HtsjdkExecutors.of(executor);
+            HtsjdkExecutors.setDefault(custom);
+            Assert.assertSame(HtsjdkExecutors.getDefault(), custom);
+            Assert.assertSame(custom.getIOExecutor(), executor);
+            Assert.assertSame(custom.getComputeExecutor(), executor);
+        } finally {
+            HtsjdkExecutors.setDefault(previous);
+            executor.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSetDefaultNull() {
+        HtsjdkExecutors.setDefault(null);
+    }
+}
@@ -0,0 +1,200 @@
+package org.htsjdk.core.coverage;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoverageEngineTest extends HtsjdkBaseTest {
+
+    private static Locatable interval(final String contig, final int start, final int end) {
+        return new Locatable() {
+            @Override
+            public String getContig() { return contig; }
+
+            @Override
+            public int getStart() { return start; }
+
+            @Override
+            public int getEnd() { return end; }
+        };
+    }
+
+    // naive depth, by contig and position
+    private static Map<String, TreeMap<Integer, Integer>> expectedDepth(final List<Locatable> intervals) {
+        final Map<String, TreeMap<Integer, Integer>> depth = new TreeMap<>();
+        for (final Locatable interval : intervals) {
+            final TreeMap<Integer, Integer> contigDepth = depth.computeIfAbsent(interval.getContig(), c -> new TreeMap<>());
+            for (int position = interval.getStart(); position <= interval.getEnd(); position++) {
+                contigDepth.merge(position, 1, Integer::sum);
+            }
+        }
+        return depth;
+    }
+
+    private static List<Locatable> randomSortedIntervals(final String contig, final int count, final int maxLength, final long seed) {
+        final Random random = new Random(seed);
+        final List<Locatable> intervals = new ArrayList<>();
+        int start = 1;
+        for (int i = 0; i < count; i++) {
+            start += random.nextInt(50);
+            intervals.add(interval(contig, start, start + random.nextInt(maxLength)));
+        }
+        return intervals;
+    }
+
+    @DataProvider
+    public Object[][] intervalSets() {
+        return new Object[][] {
+                { Arrays.asList(interval("chr1", 1, 10), interval("chr1", 5, 15), interval("chr1", 5, 5)) },
+                // gap between intervals, and a change of contig
+                { Arrays.asList(interval("chr1", 100, 110), interval("chr1", 500, 501), interval("chr2", 3, 4)) },
+                // intervals much longer than the initial buffer
+                { Arrays.asList(interval("chr1", 10, 20_000), interval("chr1", 15, 100_000), interval("chr1", 90_000, 90_001)) },
+                { randomSortedIntervals("chr3", 2000, 300, 42) },
+        };
+    }
+
+    @Test(dataProvider = "intervalSets")
+    public void testPerBaseDepth(final List<Locatable> intervals) {
+        final Map<String, TreeMap<Integer, Integer>> actual = new TreeMap<>();
+        final CoverageEngine engine = CoverageEngine.perBase((contig, position, depth) -> {
+            final Integer previous = actual.computeIfAbsent(contig, c -> new TreeMap<>()).put(position, depth);
+            Assert.assertNull(previous, "position emitted twice");
+        });
+        intervals.forEach(engine::add);
+        engine.finish();
+
+        Assert.assertEquals(actual, expectedDepth(intervals));
+    }
+
+    @Test(dataProvider = "intervalSets")
+    public void testBinnedDepth(final List<Locatable> intervals) {
+        final int binSize = 7;
+        final Map<String, TreeMap<Integer, Long>> expected = new TreeMap<>();
+        expectedDepth(intervals).forEach((contig, depths) -> depths.forEach((position, depth) ->
+                expected.computeIfAbsent(contig, c -> new TreeMap<>())
+                        .merge((position - 1) / binSize * binSize + 1, (long) depth, Long::sum)));
+
+        final Map<String, TreeMap<Integer, Long>> actual = new TreeMap<>();
+        final CoverageEngine engine = CoverageEngine.binned(binSize, (contig, binStart, binEnd, totalDepth) -> {
+            Assert.assertEquals(binEnd - binStart + 1, binSize);
+            actual.computeIfAbsent(contig, c -> new TreeMap<>()).put(binStart, totalDepth);
+        });
+        intervals.forEach(engine::add);
+        engine.finish();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testColumnarBatch() {
+        final List<Integer> depths = new ArrayList<>();
+        final CoverageEngine engine = CoverageEngine.perBase((contig, position, depth) -> depths.add(depth));
+        engine.addAll("chr1", new int[] { 0, 1, 2, 3 }, new int[] { 0, 3, 3, 4 }, 1, 3);
+        engine.finish();
+        Assert.assertEquals(depths, Arrays.asList(1, 2, 3, 1));
+    }
+
+    @DataProvider
+    public Object[][] unsortedIntervals() {
+        return new Object[][] {
+                { Arrays.asList(interval("chr1", 10, 20), interval("chr1", 9, 20)) },
+                { Arrays.asList(interval("chr1", 10, 20), interval("chr2", 1, 20), interval("chr1", 30, 40)) },
+        };
+    }
+
+    @Test(dataProvider = "unsortedIntervals", expectedExceptions = IllegalArgumentException.class)
+    public void testRejectUnsorted(final List<Locatable> intervals) {
+        final CoverageEngine engine = CoverageEngine.perBase((contig, position, depth) -> { });
+        intervals.forEach(engine::add);
+    }
+
+    @Test
+    public void testComputeByContig() {
+        final Map<String, List<Locatable>> byContig = new TreeMap<>();
+        for (int i = 0; i < 8; i++) {
+            final String contig = "chr" + i;
+            byContig.put(contig, randomSortedIntervals(contig, 500, 200, i));
+        }
+
+        final Map<String, Long> totals = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CoverageEngine.computeByContig(
+                    byContig.keySet(),
+                    contig -> byContig.get(contig).iterator(),
+                    contig -> CoverageEngine.binned(1000, (c, binStart, binEnd, totalDepth) ->
+                            totals.merge(c, totalDepth, Long::sum)),
+                    HtsjdkExecutors.of(executor));
+        } finally {
+            executor.shutdown();
+        }
+
+        byContig.forEach((contig, intervals) -> Assert.assertEquals(
+                totals.get(contig),
+                Long.valueOf(intervals.stream().mapToLong(Locatable::getLengthOnReference).sum())));
+    }
+
+    @Test
+    public void testComputeByContigBoundsParallelism() {
+        final List<String> contigs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            contigs.add("chr" + i);
+        }
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final Set<String> finished = ConcurrentHashMap.newKeySet();
+        CoverageEngine.computeByContig(
+                contigs,
+                contig -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    final Iterator<Locatable> intervals = randomSortedIntervals(contig, 50, 100, contig.hashCode()).iterator();
+                    return new Iterator<Locatable>() {
+                        @Override
+                        public boolean hasNext() {
+                            if (intervals.hasNext()) {
+                                return true;
+                            }
+                            active.decrementAndGet();
+                            return false;
+                        }
+
+                        @Override
+                        public Locatable next() {
+                            return intervals.next();
+                        }
+                    };
+                },
+                contig -> CoverageEngine.binned(1000, (c, binStart, binEnd, totalDepth) -> finished.add(c)),
+                HtsjdkExecutors.getDefault(),
+                3);
+        Assert.assertEquals(finished.size(), contigs.size());
+        Assert.assertTrue(maxActive.get() <= 3, "contigs processed at once: " + maxActive.get());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testComputeByContigPropagatesFailure() {
+        CoverageEngine.computeByContig(
+                Collections.singletonList("chr1"),
+                contig -> Arrays.asList(interval(contig, 10, 20), interval(contig, 5, 20)).iterator(),
+                contig -> CoverageEngine.perBase((c, position, depth) -> { }),
+                HtsjdkExecutors.getDefault());
+    }
+}
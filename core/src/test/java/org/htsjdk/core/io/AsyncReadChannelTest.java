@@ -0,0 +1,103 @@
+package org.htsjdk.core.io;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.htsjdk.core.api.io.AsyncReadChannel;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class AsyncReadChannelTest extends HtsjdkBaseTest {
+
+    private static final int RESOURCE_SIZE = 100_000;
+
+    // jimfs only keeps weak references to its file systems, so hold on to ours for the duration of the tests
+    private final FileSystem jimfs = Jimfs.newFileSystem(Configuration.unix());
+
+    private static byte[] createContents() {
+        final byte[] contents = new byte[RESOURCE_SIZE];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) (i * 31);
+        }
+        return contents;
+    }
+
+    @DataProvider
+    public Object[][] resources() throws IOException {
+        final byte[] contents = createContents();
+
+        final Path localPath = IOUtils.createTempPath("asyncRead", ".bin");
+        Files.write(localPath, contents);
+
+        final Path jimfsPath = jimfs.getPath("asyncRead.bin");
+        Files.write(jimfsPath, contents);
+
+        return new Object[][] {
+                { new PathSpecifier(localPath.toString()), FileAsyncReadChannel.class },
+                { new PathSpecifier(jimfsPath.toUri().toString()), PooledAsyncReadChannel.class },
+        };
+    }
+
+    @Test(dataProvider = "resources")
+    public void testConcurrentReads(final IOResource ioResource, final Class<?> expectedChannelClass) {
+        final byte[] expected = createContents();
+        try (final AsyncReadChannel channel = ioResource.getAsyncReadChannel()) {
+            Assert.assertEquals(channel.getClass(), expectedChannelClass);
+            Assert.assertEquals(channel.size(), RESOURCE_SIZE);
+
+            final List<CompletableFuture<Integer>> reads = new ArrayList<>();
+            final List<ByteBuffer> buffers = new ArrayList<>();
+            for (int offset = 0; offset < RESOURCE_SIZE; offset += 997) {
+                final ByteBuffer buffer = ByteBuffer.allocate(1500);
+                buffers.add(buffer);
+                reads.add(channel.readFullyAsync(offset, buffer));
+            }
+            CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).join();
+
+            for (int i = 0; i < reads.size(); i++) {
+                final int offset = i * 997;
+                final int expectedLength = Math.min(1500, RESOURCE_SIZE - offset);
+                Assert.assertEquals(reads.get(i).join().intValue(), expectedLength);
+                Assert.assertEquals(
+                        Arrays.copyOf(buffers.get(i).array(), expectedLength),
+                        Arrays.copyOfRange(expected, offset, offset + expectedLength));
+            }
+        }
+    }
+
+    @Test(dataProvider = "resources")
+    public void testReadAtEnd(final IOResource ioResource, final Class<?> expectedChannelClass) {
+        Assert.assertEquals(ioResource.readAsync(RESOURCE_SIZE, ByteBuffer.allocate(10)).join().intValue(), -1);
+    }
+
+    @Test(dataProvider = "resources")
+    public void testOneShotRead(final IOResource ioResource, final Class<?> expectedChannelClass) {
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        Assert.assertEquals(ioResource.readAsync(RESOURCE_SIZE - 50, buffer).join().intValue(), 50);
+        Assert.assertEquals(
+                Arrays.copyOf(buffer.array(), 50),
+                Arrays.copyOfRange(createContents(), RESOURCE_SIZE - 50, RESOURCE_SIZE));
+    }
+
+    @Test(dataProvider = "resources", expectedExceptions = CompletionException.class)
+    public void testReadAfterClose(final IOResource ioResource, final Class<?> expectedChannelClass) {
+        final AsyncReadChannel channel = ioResource.getAsyncReadChannel();
+        channel.close();
+        channel.readAsync(0, ByteBuffer.allocate(10)).join();
+    }
+}
@@ -0,0 +1,207 @@
+package org.htsjdk.core.io;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.htsjdk.core.api.io.CommittableOutputStream;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class CoalescingOutputStreamTest extends HtsjdkBaseTest {
+
+    // jimfs only keeps weak references to its file systems, so hold on to ours for the duration of the tests
+    private final FileSystem jimfs = Jimfs.newFileSystem(Configuration.unix());
+
+    // a non-gathering channel that records the length of each write
+    private static final class RecordingChannel implements WritableByteChannel {
+        private final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+        private final List<Integer> writeLengths = new ArrayList<>();
+        private boolean open = true;
+
+        @Override
+        public int write(final ByteBuffer source) {
+            final int length = source.remaining();
+            final byte[] bytes = new byte[length];
+            source.get(bytes);
+            contents.write(bytes, 0, length);
+            writeLengths.add(length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() { return open; }
+
+        @Override
+        public void close() { open = false; }
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    // write in chunks of varying sizes, including single bytes and chunks larger than a buffer
+    private static void writeChunks(final OutputStream outputStream, final byte[] contents) throws IOException {
+        final Random random = new Random(17);
+        int offset = 0;
+        while (offset < contents.length) {
+            final int length = Math.min(contents.length - offset, random.nextBoolean() ? 1 + random.nextInt(100) : random.nextInt(10_000));
+            if (length == 1) {
+                outputStream.write(contents[offset]);
+            } else {
+                outputStream.write(contents, offset, length);
+            }
+            offset += length;
+        }
+    }
+
+    @DataProvider
+    public Object[][] writeOptions() {
+        return new Object[][] {
+                { WriteOptions.DEFAULT },
+                { WriteOptions.builder().setBufferSize(4096).setMaxBuffers(1).build() },
+                { WriteOptions.builder().setBufferSize(4096).setMaxBuffers(3).setAlignment(512).build() },
+                { WriteOptions.builder().setBufferSize(1000).setSyncPolicy(WriteOptions.SyncPolicy.ON_FLUSH).setAtomicCommit(true).build() },
+        };
+    }
+
+    @Test(dataProvider = "writeOptions")
+    public void testRoundTrip(final WriteOptions options) throws IOException {
+        final byte[] contents = randomBytes(200_000);
+        final Path localPath = IOUtils.createTempPath("coalescing", ".bin");
+        final Path jimfsPath = jimfs.getPath("coalescing.bin");
+        for (final Path path : new Path[] { localPath, jimfsPath }) {
+            final IOResource resource = new PathSpecifier(path.toUri().toString());
+            try (final CommittableOutputStream outputStream = resource.getOutputStream(options)) {
+                writeChunks(outputStream, contents);
+                outputStream.flush();
+                outputStream.commit();
+            }
+            Assert.assertEquals(Files.readAllBytes(path), contents);
+        }
+    }
+
+    @Test
+    public void testAlignedWrites() throws IOException {
+        final int alignment = 512;
+        final WriteOptions options = WriteOptions.builder().setBufferSize(4096).setMaxBuffers(2).setAlignment(alignment).build();
+        final byte[] contents = randomBytes(50_001);
+        final RecordingChannel channel = new RecordingChannel();
+        try (final CoalescingOutputStream outputStream = new CoalescingOutputStream(channel, options, null, null)) {
+            writeChunks(outputStream, contents);
+            outputStream.write(contents, 0, 700);
+            outputStream.flush();
+        }
+
+        final byte[] expected = new byte[contents.length + 700];
+        System.arraycopy(contents, 0, expected, 0, contents.length);
+        System.arraycopy(contents, 0, expected, contents.length, 700);
+        Assert.assertEquals(channel.contents.toByteArray(), expected);
+        Assert.assertFalse(channel.isOpen());
+        // every write but the one on close is aligned
+        final List<Integer> writeLengths = channel.writeLengths;
+        for (int i = 0; i < writeLengths.size() - 1; i++) {
+            Assert.assertEquals(writeLengths.get(i) % alignment, 0, "write " + i + " is not aligned");
+        }
+    }
+
+    @Test
+    public void testSmallWritesAreCoalesced() throws IOException {
+        final WriteOptions options = WriteOptions.builder().setBufferSize(1024).setMaxBuffers(1).build();
+        final RecordingChannel channel = new RecordingChannel();
+        try (final CoalescingOutputStream outputStream = new CoalescingOutputStream(channel, options, null, null)) {
+            for (int i = 0; i < 10_000; i++) {
+                outputStream.write(i);
+            }
+        }
+        Assert.assertEquals(channel.contents.size(), 10_000);
+        Assert.assertEquals(channel.writeLengths.size(), 10);
+    }
+
+    @Test
+    public void testAtomicCommit() throws IOException {
+        final Path path = IOUtils.createTempPath("coalescingAtomic", ".bin");
+        Files.write(path, new byte[] { 1, 2, 3 });
+        final WriteOptions options = WriteOptions.builder().setAtomicCommit(true).build();
+
+        final CoalescingOutputStream aborted = CoalescingOutputStream.open(path, options);
+        aborted.write(randomBytes(5000));
+        aborted.flush();
+        // the original contents are visible until the stream is closed
+        Assert.assertEquals(Files.readAllBytes(path), new byte[] { 1, 2, 3 });
+        aborted.abort();
+        Assert.assertEquals(Files.readAllBytes(path), new byte[] { 1, 2, 3 });
+
+        // closing without committing, as when a try-with-resources block throws, also aborts
+        try (final CoalescingOutputStream closed = CoalescingOutputStream.open(path, options)) {
+            closed.write(randomBytes(5000));
+        }
+        Assert.assertEquals(Files.readAllBytes(path), new byte[] { 1, 2, 3 });
+
+        try (final CoalescingOutputStream committed = CoalescingOutputStream.open(path, options)) {
+            committed.write(randomBytes(5000));
+            Assert.assertEquals(Files.readAllBytes(path), new byte[] { 1, 2, 3 });
+            committed.commit();
+        }
+        Assert.assertEquals(Files.readAllBytes(path), randomBytes(5000));
+
+        // no temporary file is left behind
+        try (final Stream<Path> siblings = Files.list(path.toAbsolutePath().getParent())) {
+            Assert.assertFalse(siblings.anyMatch(p -> p.getFileName().toString().startsWith("." + path.getFileName())));
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCommitAfterAbort() throws IOException {
+        final Path path = IOUtils.createTempPath("coalescingAborted", ".bin");
+        final CoalescingOutputStream outputStream = CoalescingOutputStream.open(path, WriteOptions.builder().setAtomicCommit(true).build());
+        outputStream.abort();
+        outputStream.commit();
+    }
+
+    @Test
+    public void testAtomicCommitKeepsPermissions() throws IOException {
+        final Path path = IOUtils.createTempPath("coalescingPermissions", ".bin");
+        if (Files.getFileAttributeView(path, PosixFileAttributeView.class) == null) {
+            throw new SkipException("POSIX permissions are not supported");
+        }
+        final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(path, permissions);
+        try (final CoalescingOutputStream outputStream = CoalescingOutputStream.open(path, WriteOptions.builder().setAtomicCommit(true).build())) {
+            outputStream.write(randomBytes(100));
+            outputStream.commit();
+        }
+        Assert.assertEquals(Files.getPosixFilePermissions(path), permissions);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testWriteAfterClose() throws IOException {
+        final CoalescingOutputStream outputStream = new CoalescingOutputStream(new RecordingChannel(), WriteOptions.DEFAULT, null, null);
+        outputStream.close();
+        outputStream.write(1);
+    }
+}
@@ -0,0 +1,133 @@
+package org.htsjdk.core.io;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PositionalReaderTest extends HtsjdkBaseTest {
+
+    private static final int RESOURCE_SIZE = 64 * 1024;
+
+    // jimfs only keeps weak references to its file systems, so hold on to ours for the duration of the tests
+    private final FileSystem jimfs = Jimfs.newFileSystem(Configuration.unix());
+
+    private static byte[] createContents() {
+        final byte[] contents = new byte[RESOURCE_SIZE];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) (i % 251);
+        }
+        return contents;
+    }
+
+    private static IOResource createLocalResource() throws IOException {
+        final Path localPath = IOUtils.createTempPath("positionalRead", ".bin");
+        Files.write(localPath, createContents());
+        return new PathSpecifier(localPath.toString());
+    }
+
+    @DataProvider
+    public Object[][] resources() throws IOException {
+        final Path jimfsPath = jimfs.getPath("positionalRead.bin");
+        Files.write(jimfsPath, createContents());
+
+        return new Object[][] {
+                { createLocalResource(), FileChannelPositionalReader.class },
+                { new PathSpecifier(jimfsPath.toUri().toString()), PooledPositionalReader.class },
+        };
+    }
+
+    @Test(dataProvider = "resources")
+    public void testConcurrentReads(final IOResource ioResource, final Class<?> expectedReaderClass)
+            throws ExecutionException, InterruptedException {
+        final byte[] expected = createContents();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (final PositionalReader reader = ioResource.getPositionalReader()) {
+            Assert.assertEquals(reader.getClass(), expectedReaderClass);
+            Assert.assertEquals(reader.size(), RESOURCE_SIZE);
+
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int offset = (i * 7919) % RESOURCE_SIZE;
+                results.add(executor.submit(() -> {
+                    final ByteBuffer buffer = ByteBuffer.allocate(4096);
+                    final int bytesRead = reader.readFully(offset, buffer);
+                    return bytesRead == Math.min(4096, RESOURCE_SIZE - offset) && Arrays.equals(
+                            Arrays.copyOf(buffer.array(), bytesRead),
+                            Arrays.copyOfRange(expected, offset, offset + bytesRead));
+                }));
+            }
+            for (final Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+            Assert.assertEquals(reader.readFully(RESOURCE_SIZE, ByteBuffer.allocate(1)), -1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFileChannelReaderSurvivesInterruptedReader() throws IOException, InterruptedException {
+        try (final PositionalReader reader = createLocalResource().getPositionalReader()) {
+            final Thread interrupted = new Thread(() -> {
+                Thread.currentThread().interrupt();
+                try {
+                    reader.read(0, ByteBuffer.allocate(10));
+                    Assert.fail("read should fail on an interrupted thread");
+                } catch (final HtsjdkIOException e) {
+                    // expected
+                }
+            });
+            interrupted.start();
+            interrupted.join();
+
+            Assert.assertEquals(reader.readFully(10, ByteBuffer.allocate(10)), 10);
+        }
+    }
+
+    @Test(expectedExceptions = HtsjdkIOException.class)
+    public void testReadAfterClose() throws IOException {
+        final PositionalReader reader = createLocalResource().getPositionalReader();
+        reader.close();
+        reader.read(0, ByteBuffer.allocate(10));
+    }
+
+    @Test
+    public void testSharedReaderLifecycle() throws IOException {
+        final IOResource ioResource = createLocalResource();
+        final int initialCount = SharedPositionalReaders.getSharedReaderCount();
+
+        final PositionalReader first = SharedPositionalReaders.acquire(ioResource);
+        final PositionalReader second = SharedPositionalReaders.acquire(new PathSpecifier(ioResource.getRawInputString()));
+        Assert.assertEquals(SharedPositionalReaders.getSharedReaderCount(), initialCount + 1);
+
+        first.close();
+        // closing a handle twice must not release the reader out from under the other handle
+        first.close();
+        Assert.assertEquals(second.readFully(0, ByteBuffer.allocate(100)), 100);
+        Assert.assertEquals(SharedPositionalReaders.getSharedReaderCount(), initialCount + 1);
+
+        second.close();
+        Assert.assertEquals(SharedPositionalReaders.getSharedReaderCount(), initialCount);
+    }
+}
@@ -0,0 +1,262 @@
+package org.htsjdk.core.io;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.exception.HtsjdkException;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReadAheadInputStreamTest extends HtsjdkBaseTest {
+
+    private static final int RESOURCE_SIZE = 300_001;
+
+    // jimfs only keeps weak references to its file systems, so hold on to ours for the duration of the tests
+    private final FileSystem jimfs = Jimfs.newFileSystem(Configuration.unix());
+
+    private static byte[] createContents() {
+        final byte[] contents = new byte[RESOURCE_SIZE];
+        new Random(RESOURCE_SIZE).nextBytes(contents);
+        return contents;
+    }
+
+    // an in-memory reader that takes readMillis for each read, and records whether it was closed
+    private static class SlowReader implements PositionalReader {
+        private final byte[] contents;
+        private final long readMillis;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        private SlowReader(final byte[] contents, final long readMillis) {
+            this.contents = contents;
+            this.readMillis = readMillis;
+        }
+
+        @Override
+        public int read(final long position, final ByteBuffer destination) {
+            try {
+                Thread.sleep(readMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (position >= contents.length) {
+                return -1;
+            }
+            final int count = (int) Math.min(destination.remaining(), contents.length - position);
+            destination.put(contents, (int) position, count);
+            return count;
+        }
+
+        @Override
+        public long size() {
+            return contents.length;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    @DataProvider
+    public Object[][] resources() throws IOException {
+        final Path localPath = IOUtils.createTempPath("readAhead", ".bin");
+        Files.write(localPath, createContents());
+        final Path jimfsPath = jimfs.getPath("readAhead.bin");
+        Files.write(jimfsPath, createContents());
+
+        return new Object[][] {
+                { new PathSpecifier(localPath.toString()), 4096 },
+                { new PathSpecifier(localPath.toString()), 1 << 20 },
+                { new PathSpecifier(jimfsPath.toUri().toString()), 1000 },
+        };
+    }
+
+    @Test(dataProvider = "resources")
+    public void testSequentialRead(final IOResource ioResource, final int chunkSize) throws IOException {
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(ioResource).setChunkSize(chunkSize).build()) {
+            actual.write(inputStream.read());
+            final byte[] buffer = new byte[7777];
+            int count;
+            while ((count = inputStream.read(buffer, 0, buffer.length)) > 0) {
+                actual.write(buffer, 0, count);
+            }
+            Assert.assertEquals(inputStream.read(), -1);
+            Assert.assertEquals(inputStream.getPosition(), RESOURCE_SIZE);
+        }
+        Assert.assertEquals(actual.toByteArray(), createContents());
+    }
+
+    @Test(dataProvider = "resources")
+    public void testSkipAndStartPosition(final IOResource ioResource, final int chunkSize) throws IOException {
+        final byte[] contents = createContents();
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(ioResource)
+                .setChunkSize(chunkSize).setStartPosition(10).build()) {
+            Assert.assertEquals(inputStream.read(), contents[10] & 0xFF);
+            // within the window, then beyond it
+            Assert.assertEquals(inputStream.skip(100), 100);
+            Assert.assertEquals(inputStream.read(), contents[111] & 0xFF);
+            Assert.assertEquals(inputStream.skip(200_000), 200_000);
+            Assert.assertEquals(inputStream.read(), contents[200_112] & 0xFF);
+            Assert.assertEquals(inputStream.skip(RESOURCE_SIZE), RESOURCE_SIZE - 200_113);
+            Assert.assertEquals(inputStream.read(), -1);
+        }
+    }
+
+    @Test
+    public void testWindowGrowsWhenReadsAreSlow() throws IOException, InterruptedException {
+        final byte[] contents = createContents();
+        final SlowReader reader = new SlowReader(contents, 5);
+        final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .setChunkSize(1000).setMaxWindowBytes(16_000).build(reader);
+        Assert.assertEquals(inputStream.getWindowBytes(), 2000);
+        final byte[] actual = new byte[RESOURCE_SIZE];
+        int offset = 0;
+        int count;
+        while ((count = inputStream.read(actual, offset, actual.length - offset)) > 0) {
+            offset += count;
+        }
+        Assert.assertEquals(actual, contents);
+        // the consumer is much faster than the reads, so the window grows to the cap
+        Assert.assertEquals(inputStream.getWindowBytes(), 16_000);
+
+        inputStream.close();
+        Assert.assertTrue(reader.closed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testWindowStaysSmallWhenConsumerIsSlow() throws IOException, InterruptedException {
+        final SlowReader reader = new SlowReader(createContents(), 0);
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .setChunkSize(10_000).setMaxWindowBytes(200_000).build(reader)) {
+            final byte[] buffer = new byte[10_000];
+            for (int i = 0; i < 20; i++) {
+                Assert.assertEquals(inputStream.read(buffer, 0, buffer.length), buffer.length);
+                Thread.sleep(2);
+            }
+            Assert.assertTrue(inputStream.getWindowBytes() <= 30_000, "window: " + inputStream.getWindowBytes());
+        }
+    }
+
+    @Test
+    public void testRepeatedLongSkipsStayWithinMemoryCap() throws IOException {
+        final byte[] contents = createContents();
+        final AtomicInteger readsInFlight = new AtomicInteger();
+        final AtomicInteger maxReadsInFlight = new AtomicInteger();
+        final PositionalReader reader = new SlowReader(contents, 20) {
+            @Override
+            public int read(final long position, final ByteBuffer destination) {
+                maxReadsInFlight.accumulateAndGet(readsInFlight.incrementAndGet(), Math::max);
+                try {
+                    return super.read(position, destination);
+                } finally {
+                    readsInFlight.decrementAndGet();
+                }
+            }
+        };
+        final int chunkSize = 1000;
+        final int maxWindowChunks = 4;
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .setChunkSize(chunkSize).setMaxWindowBytes(maxWindowChunks * chunkSize).build(reader)) {
+            // each skip goes beyond the window, abandoning the reads in flight
+            for (long position = 0; position < RESOURCE_SIZE - 10_000; position += 6000) {
+                Assert.assertEquals(inputStream.getPosition(), position);
+                Assert.assertEquals(inputStream.read(), contents[(int) position] & 0xFF);
+                Assert.assertEquals(inputStream.skip(5999), 5999);
+            }
+        }
+        Assert.assertTrue(maxReadsInFlight.get() <= maxWindowChunks, "reads in flight: " + maxReadsInFlight.get());
+    }
+
+    @Test
+    public void testBuffersFollowShrinkingWindow() throws IOException, InterruptedException {
+        final int chunkSize = 1000;
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .setChunkSize(chunkSize).setMaxWindowBytes(32 * chunkSize).build(new SlowReader(createContents(), 2))) {
+            final byte[] buffer = new byte[chunkSize];
+            // a fast consumer grows the window, then a slow one shrinks it
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(inputStream.read(buffer, 0, buffer.length), chunkSize);
+                Assert.assertTrue(inputStream.getRetainedBuffers() <= inputStream.getWindowBytes() / chunkSize + 2);
+            }
+            for (int i = 0; i < 30; i++) {
+                Thread.sleep(10);
+                Assert.assertEquals(inputStream.read(buffer, 0, buffer.length), chunkSize);
+                Assert.assertTrue(inputStream.getRetainedBuffers() <= inputStream.getWindowBytes() / chunkSize + 2,
+                        String.format("%d buffers for a window of %d bytes",
+                                inputStream.getRetainedBuffers(), inputStream.getWindowBytes()));
+            }
+        }
+    }
+
+    @Test(expectedExceptions = HtsjdkIOException.class)
+    public void testReadFailure() throws IOException {
+        final PositionalReader reader = new SlowReader(createContents(), 0) {
+            @Override
+            public int read(final long position, final ByteBuffer destination) {
+                if (position >= 5000) {
+                    throw new HtsjdkIOException("read failed");
+                }
+                return super.read(position, destination);
+            }
+        };
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .setChunkSize(1000).build(reader)) {
+            final byte[] buffer = new byte[1000];
+            while (inputStream.read(buffer, 0, buffer.length) > 0) {
+                Assert.assertTrue(inputStream.getPosition() <= 5000);
+            }
+        }
+    }
+
+    @Test
+    public void testReadAfterFailure() throws IOException {
+        final PositionalReader reader = new SlowReader(createContents(), 0) {
+            @Override
+            public int read(final long position, final ByteBuffer destination) {
+                if (position >= 5000) {
+                    throw new HtsjdkIOException("read failed");
+                }
+                return super.read(position, destination);
+            }
+        };
+        try (final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .setChunkSize(1000).build(reader)) {
+            final byte[] buffer = new byte[1000];
+            Assert.assertThrows(HtsjdkIOException.class, () -> {
+                while (inputStream.read(buffer, 0, buffer.length) > 0) {
+                    // read up to the failure
+                }
+            });
+            // the stream does not resume, or report the end of the data, after the failure
+            Assert.assertThrows(HtsjdkException.class, inputStream::read);
+            Assert.assertThrows(HtsjdkException.class, () -> inputStream.read(buffer, 0, buffer.length));
+            Assert.assertThrows(HtsjdkException.class, () -> inputStream.skip(100));
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testReadAfterClose() throws IOException {
+        final ReadAheadInputStream inputStream = ReadAheadInputStream.builder(new PathSpecifier("unused"))
+                .build(new SlowReader(new byte[10], 0));
+        inputStream.close();
+        inputStream.read();
+    }
+}
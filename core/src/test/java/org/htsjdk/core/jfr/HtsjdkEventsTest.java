@@ -0,0 +1,102 @@
+package org.htsjdk.core.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class HtsjdkEventsTest extends HtsjdkBaseTest {
+
+    private static IOResource createResource() throws IOException {
+        final Path tempPath = IOUtils.createTempPath("jfrEvents", ".bin");
+        Files.write(tempPath, new byte[1000]);
+        return new PathSpecifier(tempPath.toString());
+    }
+
+    private static List<RecordedEvent> readEvents(final Recording recording, final String eventName) throws IOException {
+        final Path dump = IOUtils.createTempPath("jfrEvents", ".jfr");
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testNoTokensWithoutRecording() {
+        Assert.assertTrue(HtsjdkEvents.isAvailable());
+        Assert.assertNull(HtsjdkEvents.beginOpen());
+        Assert.assertNull(HtsjdkEvents.beginRead());
+        Assert.assertNull(HtsjdkEvents.beginSeek());
+        Assert.assertNull(HtsjdkEvents.beginInflate());
+        Assert.assertNull(HtsjdkEvents.beginReadAheadStall());
+        // committing a null token is a no-op
+        HtsjdkEvents.commitRead(null, "resource", 0, 0);
+    }
+
+    @Test
+    public void testStreamNotWrappedWithoutRecording() throws IOException {
+        final IOResource ioResource = createResource();
+        try (final InputStream inputStream = Files.newInputStream(ioResource.toPath())) {
+            Assert.assertSame(HtsjdkEvents.traceInputStream(inputStream, ioResource), inputStream);
+        }
+    }
+
+    @Test
+    public void testIOEventsRecorded() throws IOException {
+        final IOResource ioResource = createResource();
+        try (final Recording recording = new Recording()) {
+            recording.enable("htsjdk.IOOpen").withoutThreshold();
+            recording.enable("htsjdk.IORead").withoutThreshold();
+            recording.start();
+
+            try (final InputStream inputStream = ioResource.getInputStream()) {
+                Assert.assertEquals(inputStream.read(new byte[2000]), 1000);
+            }
+            try (final PositionalReader reader = ioResource.getPositionalReader()) {
+                Assert.assertEquals(reader.read(100, ByteBuffer.allocate(50)), 50);
+            }
+            recording.stop();
+
+            final List<RecordedEvent> openEvents = readEvents(recording, "htsjdk.IOOpen");
+            Assert.assertEquals(openEvents.size(), 2);
+            Assert.assertEquals(openEvents.get(0).getString("resource"), ioResource.getURIString());
+
+            final List<RecordedEvent> readEvents = readEvents(recording, "htsjdk.IORead");
+            Assert.assertTrue(readEvents.stream().anyMatch(event ->
+                    event.getLong("position") == -1 && event.getLong("bytesRead") == 1000));
+            Assert.assertTrue(readEvents.stream().anyMatch(event ->
+                    event.getLong("position") == 100 && event.getLong("bytesRead") == 50));
+        }
+    }
+
+    @Test
+    public void testInflateEventRecorded() throws IOException {
+        try (final Recording recording = new Recording()) {
+            recording.enable("htsjdk.BlockInflate").withoutThreshold();
+            recording.start();
+            final Object token = HtsjdkEvents.beginInflate();
+            Assert.assertNotNull(token);
+            HtsjdkEvents.commitInflate(token, "test", 10, 100);
+            recording.stop();
+
+            final List<RecordedEvent> events = readEvents(recording, "htsjdk.BlockInflate");
+            Assert.assertEquals(events.size(), 1);
+            Assert.assertEquals(events.get(0).getString("codec"), "test");
+            Assert.assertEquals(events.get(0).getLong("uncompressedSize"), 100);
+        }
+    }
+}
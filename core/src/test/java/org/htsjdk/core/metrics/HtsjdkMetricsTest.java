@@ -0,0 +1,129 @@
+package org.htsjdk.core.metrics;
+
+import org.htsjdk.core.api.io.CommittableOutputStream;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.PositionalReader;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class HtsjdkMetricsTest extends HtsjdkBaseTest {
+
+    @AfterMethod
+    public void disableMetrics() {
+        HtsjdkMetrics.setEnabled(false);
+        HtsjdkMetrics.reset();
+    }
+
+    private static IOResource createResource() throws IOException {
+        final Path tempPath = IOUtils.createTempPath("metrics", ".bin");
+        return new PathSpecifier(tempPath.toString());
+    }
+
+    @Test
+    public void testWrapWhenDisabledReturnsResource() throws IOException {
+        HtsjdkMetrics.setEnabled(false);
+        final IOResource ioResource = createResource();
+        Assert.assertSame(HtsjdkMetrics.wrap(ioResource), ioResource);
+    }
+
+    @Test
+    public void testIOMetricsRecorded() throws IOException {
+        HtsjdkMetrics.setEnabled(true);
+        HtsjdkMetrics.reset();
+        final IOResource ioResource = HtsjdkMetrics.wrap(createResource());
+        Assert.assertNotEquals(ioResource.getClass(), PathSpecifier.class);
+        Assert.assertSame(HtsjdkMetrics.wrap(ioResource), ioResource);
+
+        try (final OutputStream outputStream = ioResource.getOutputStream()) {
+            outputStream.write(new byte[1000]);
+            outputStream.write(1);
+        }
+        try (final InputStream inputStream = ioResource.getInputStream()) {
+            final byte[] buffer = new byte[600];
+            while (inputStream.read(buffer) != -1) {
+                // consume
+            }
+        }
+        try (final PositionalReader reader = ioResource.getPositionalReader()) {
+            Assert.assertEquals(reader.readFully(1, ByteBuffer.allocate(100)), 100);
+        }
+
+        final IOMetrics.Snapshot snapshot = HtsjdkMetrics.snapshot().getIOMetrics().get("file");
+        Assert.assertEquals(snapshot.getOpens(), 3);
+        Assert.assertEquals(snapshot.getBytesWritten(), 1001);
+        Assert.assertEquals(snapshot.getWriteOperations(), 2);
+        Assert.assertEquals(snapshot.getBytesRead(), 1001 + 100);
+        // two reads of data and one returning end-of-stream from the stream, one from the reader
+        Assert.assertEquals(snapshot.getReadOperations(), 4);
+        Assert.assertEquals(snapshot.getReadLatency().getCount(), 4);
+    }
+
+    @Test
+    public void testCommitAndAbortAreForwarded() throws IOException {
+        HtsjdkMetrics.setEnabled(true);
+        final IOResource ioResource = HtsjdkMetrics.wrap(createResource());
+        final WriteOptions writeOptions = WriteOptions.builder().setAtomicCommit(true).build();
+
+        try (final CommittableOutputStream outputStream = ioResource.getOutputStream(writeOptions)) {
+            outputStream.write(new byte[100]);
+            outputStream.abort();
+        }
+        Assert.assertEquals(Files.size(ioResource.toPath()), 0);
+
+        try (final CommittableOutputStream outputStream = ioResource.getOutputStream(writeOptions)) {
+            outputStream.write(new byte[100]);
+            outputStream.commit();
+        }
+        Assert.assertEquals(Files.size(ioResource.toPath()), 100);
+    }
+
+    @Test
+    public void testStageMetrics() {
+        final StageMetrics stageMetrics = HtsjdkMetrics.getStageMetrics("test.stage");
+        Assert.assertSame(HtsjdkMetrics.getStageMetrics("test.stage"), stageMetrics);
+
+        HtsjdkMetrics.setEnabled(false);
+        stageMetrics.stop(stageMetrics.start(), 10);
+        Assert.assertEquals(stageMetrics.snapshot().getInvocations(), 0);
+
+        HtsjdkMetrics.setEnabled(true);
+        stageMetrics.stop(stageMetrics.start(), 10);
+        stageMetrics.record(100, 5);
+        final StageMetrics.Snapshot snapshot = HtsjdkMetrics.snapshot().getStageMetrics().get("test.stage");
+        Assert.assertEquals(snapshot.getInvocations(), 2);
+        Assert.assertEquals(snapshot.getBytes(), 15);
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.snapshot().getPercentileNanos(50), 0);
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(1_000_000);
+        histogram.record(-5);
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(snapshot.getCount(), 101);
+        Assert.assertEquals(snapshot.getMaxNanos(), 1_000_000);
+        Assert.assertEquals(snapshot.getTotalNanos(), 99 * 100 + 1_000_000);
+        Assert.assertEquals(snapshot.getBucketCounts()[0], 1);
+        // 100 falls in the bucket [64, 128)
+        Assert.assertEquals(snapshot.getPercentileNanos(50), 127);
+        Assert.assertEquals(snapshot.getPercentileNanos(100), 1_000_000);
+    }
+}
@@ -0,0 +1,213 @@
+package org.htsjdk.core.partition;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.codec.BinaryInput;
+import org.htsjdk.core.codec.BinaryOutput;
+import org.htsjdk.core.codec.RecordCodec;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.query.Interval;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+public class PartitioningWriterTest extends HtsjdkBaseTest {
+
+    private static final RecordCodec<Interval> INTERVAL_CODEC = new RecordCodec<Interval>() {
+        @Override
+        public String getName() {
+            return "test.interval";
+        }
+
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        @Override
+        public void encode(final Interval record, final BinaryOutput output) {
+            output.writeSymbol(record.getContig()).writeUnsignedInt(record.getStart()).writeUnsignedInt(record.getEnd());
+        }
+
+        @Override
+        public Interval decode(final BinaryInput input) {
+            return new Interval(input.readSymbol(), input.readUnsignedInt(), input.readUnsignedInt());
+        }
+    };
+
+    private static final Comparator<Interval> BY_POSITION = Comparator
+            .comparing(Interval::getContig).thenComparingInt(Interval::getStart).thenComparingInt(Interval::getEnd);
+
+    private static List<Interval> createRecords(final int count, final int contigCount) {
+        final Random random = new Random(11);
+        final List<Interval> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int start = 1 + random.nextInt(10_000_000);
+            records.add(new Interval("chr" + random.nextInt(contigCount), start, start + random.nextInt(150)));
+        }
+        return records;
+    }
+
+    private static List<IOResource> createOutputs(final int count) throws IOException {
+        final List<IOResource> outputs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            outputs.add(new PathSpecifier(IOUtils.createTempPath("partition" + i, ".shard").toString()));
+        }
+        return outputs;
+    }
+
+    @DataProvider
+    public Object[][] writerConfigurations() {
+        return new Object[][] {
+                // partitioner, contig count, block size, memory limit
+                { Partitioners.<Interval>byGenomicBin(100_000), 5, PartitioningWriter.DEFAULT_BLOCK_SIZE, PartitioningWriter.DEFAULT_MAX_BUFFERED_BYTES },
+                { Partitioners.byHash(Interval::toString), 5, 1024, 16 * 1024L },
+                // all the records in one partition, with a memory limit far below the data size
+                { Partitioners.byHash(Interval::getContig), 1, 1024, 8 * 1024L },
+        };
+    }
+
+    @Test(dataProvider = "writerConfigurations")
+    public void testPartitionRoundTrip(
+            final Partitioner<Interval> partitioner,
+            final int contigCount,
+            final int blockSize,
+            final long maxBufferedBytes) throws IOException {
+        final List<Interval> records = createRecords(20_000, contigCount);
+        final List<IOResource> outputs = createOutputs(4);
+        try (final PartitioningWriter<Interval> writer = PartitioningWriter.builder(outputs, INTERVAL_CODEC, partitioner)
+                .setBlockSize(blockSize)
+                .setMaxBufferedBytes(maxBufferedBytes)
+                .build()) {
+            records.forEach(writer::write);
+        }
+
+        final List<Interval> readBack = new ArrayList<>();
+        for (int i = 0; i < outputs.size(); i++) {
+            final List<Interval> shard = ShardFormat.readAll(outputs.get(i), INTERVAL_CODEC);
+            for (final Interval record : shard) {
+                Assert.assertEquals(partitioner.getPartition(record, outputs.size()), i);
+            }
+            readBack.addAll(shard);
+        }
+        readBack.sort(BY_POSITION);
+        final List<Interval> expected = new ArrayList<>(records);
+        expected.sort(BY_POSITION);
+        Assert.assertEquals(readBack, expected);
+    }
+
+    @Test
+    public void testShardIsGzip() throws IOException {
+        final List<Interval> records = createRecords(5_000, 2);
+        final List<IOResource> outputs = createOutputs(1);
+        try (final PartitioningWriter<Interval> writer = PartitioningWriter.builder(outputs, INTERVAL_CODEC, (r, n) -> 0)
+                .setBlockSize(1024)
+                .build()) {
+            records.forEach(writer::write);
+        }
+
+        // the concatenated members inflate to the concatenated blocks, which start with the block magic
+        try (final InputStream inputStream = new GZIPInputStream(outputs.get(0).getInputStream())) {
+            final byte[] magic = new byte[3];
+            Assert.assertEquals(inputStream.read(magic), 3);
+            Assert.assertEquals(new String(magic), "HRB");
+        }
+        Assert.assertEquals(ShardFormat.readAll(outputs.get(0), INTERVAL_CODEC), records);
+    }
+
+    @Test
+    public void testEmptyShards() throws IOException {
+        final List<IOResource> outputs = createOutputs(3);
+        PartitioningWriter.builder(outputs, INTERVAL_CODEC, (r, n) -> 0).build().close();
+        for (final IOResource output : outputs) {
+            Assert.assertEquals(Files.size(output.toPath()), 0);
+            Assert.assertTrue(ShardFormat.readAll(output, INTERVAL_CODEC).isEmpty());
+        }
+    }
+
+    @Test
+    public void testManyPartitionsStayWithinMemoryLimit() throws IOException {
+        final int partitionCount = 1024;
+        final long maxBufferedBytes = 4L * 1024 * 1024;
+        final List<IOResource> outputs = createOutputs(partitionCount);
+        final List<Interval> records = createRecords(200_000, 5);
+        try (final PartitioningWriter<Interval> writer = PartitioningWriter.builder(
+                outputs, INTERVAL_CODEC, Partitioners.byHash(Interval::toString))
+                .setMaxBufferedBytes(maxBufferedBytes).build()) {
+            for (final Interval record : records) {
+                writer.write(record);
+                // the buffers of every partition, whether open, waiting to be written or kept for reuse
+                Assert.assertTrue(writer.getBufferedBytes() <= maxBufferedBytes, "buffered " + writer.getBufferedBytes());
+            }
+        }
+
+        int readBack = 0;
+        for (final IOResource output : outputs) {
+            readBack += ShardFormat.readAll(output, INTERVAL_CODEC).size();
+        }
+        Assert.assertEquals(readBack, records.size());
+    }
+
+    @Test(expectedExceptions = HtsjdkIOException.class)
+    public void testWriteFailure() throws IOException {
+        final Path path = IOUtils.createTempPath("failingPartition", ".shard");
+        final IOResource failingOutput = new PathSpecifier(path.toString()) {
+            @Override
+            public OutputStream getOutputStream() {
+                return new OutputStream() {
+                    @Override
+                    public void write(final int b) throws IOException {
+                        throw new IOException("disk full");
+                    }
+                };
+            }
+        };
+        try (final PartitioningWriter<Interval> writer = PartitioningWriter.builder(
+                Collections.singletonList(failingOutput), INTERVAL_CODEC, (r, n) -> 0).setBlockSize(64).build()) {
+            createRecords(1000, 1).forEach(writer::write);
+        }
+    }
+
+    @Test
+    public void testOpenFailureClosesOpenedOutputs() throws IOException {
+        final AtomicBoolean firstOutputClosed = new AtomicBoolean();
+        final IOResource firstOutput = new PathSpecifier(IOUtils.createTempPath("partition0", ".shard").toString()) {
+            @Override
+            public OutputStream getOutputStream() {
+                return new ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        firstOutputClosed.set(true);
+                    }
+                };
+            }
+        };
+        final IOResource failingOutput = new PathSpecifier(IOUtils.createTempPath("partition1", ".shard").toString()) {
+            @Override
+            public OutputStream getOutputStream() {
+                throw new HtsjdkIOException("cannot open output");
+            }
+        };
+        final PartitioningWriter<Interval> writer = PartitioningWriter.builder(
+                Arrays.asList(firstOutput, failingOutput), INTERVAL_CODEC, (r, n) -> 0).build();
+        Assert.assertThrows(HtsjdkIOException.class, () -> writer.write(createRecords(1, 1).get(0)));
+        Assert.assertTrue(firstOutputClosed.get());
+    }
+}
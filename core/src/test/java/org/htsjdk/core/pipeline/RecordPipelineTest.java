@@ -0,0 +1,261 @@
+package org.htsjdk.core.pipeline;
+
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class RecordPipelineTest extends HtsjdkBaseTest {
+
+    // reads up to 10 lines at a time
+    private static final BatchReader<List<String>> LINE_BATCH_READER = new BatchReader<List<String>>() {
+        @Override
+        public List<String> readNext(final InputStream inputStream) throws IOException {
+            final List<String> lines = new ArrayList<>();
+            final StringBuilder line = new StringBuilder();
+            int c;
+            while (lines.size() < 10 && (c = inputStream.read()) != -1) {
+                if (c == '\n') {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                } else {
+                    line.append((char) c);
+                }
+            }
+            return lines.isEmpty() ? null : lines;
+        }
+    };
+
+    private static PathSpecifier createNumbersFile(final int count) throws IOException {
+        final Path tempPath = IOUtils.createTempPath("recordPipeline", ".txt");
+        Files.write(tempPath,
+                IntStream.range(0, count).mapToObj(Integer::toString).collect(Collectors.toList()),
+                StandardCharsets.UTF_8);
+        return new PathSpecifier(tempPath.toString());
+    }
+
+    private static final class CollectingSubscriber<T> implements Subscriber<T> {
+        private final long requestSize;
+        private final List<T> items = new ArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        private CollectingSubscriber(final long requestSize) {
+            this.requestSize = requestSize;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(requestSize);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+            if (items.size() % requestSize == 0) {
+                subscription.request(requestSize);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        private void await() throws InterruptedException {
+            Assert.assertTrue(done.await(30, TimeUnit.SECONDS), "pipeline did not terminate");
+        }
+    }
+
+    @DataProvider
+    public Object[][] pipelineConfigurations() {
+        return new Object[][] {
+                // number of lines, request size, stage parallelism, queue capacity
+                {0, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1000, 1, 4, 2},
+                {1000, 7, 1, 16},
+                {1005, Long.MAX_VALUE, 8, 4},
+        };
+    }
+
+    @Test(dataProvider = "pipelineConfigurations")
+    public void testDeliversAllBatchesInOrder(
+            final int lineCount,
+            final long requestSize,
+            final int parallelism,
+            final int queueCapacity) throws IOException, InterruptedException {
+        final RecordPipeline<List<Integer>> pipeline = RecordPipeline.builder(createNumbersFile(lineCount), LINE_BATCH_READER)
+                .addStage("parse",
+                        (List<String> lines) -> lines.stream().map(Integer::parseInt).collect(Collectors.toList()),
+                        parallelism)
+                .setQueueCapacity(queueCapacity)
+                .build();
+
+        final CollectingSubscriber<List<Integer>> subscriber = new CollectingSubscriber<>(requestSize);
+        pipeline.subscribe(subscriber);
+        subscriber.await();
+
+        Assert.assertNull(subscriber.error);
+        Assert.assertTrue(subscriber.completed);
+        Assert.assertEquals(
+                subscriber.items.stream().flatMap(List::stream).collect(Collectors.toList()),
+                IntStream.range(0, lineCount).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testStageErrorIsSignalled() throws IOException, InterruptedException {
+        final RecordPipeline<Integer> pipeline = RecordPipeline.builder(createNumbersFile(100), LINE_BATCH_READER)
+                .addStage("fail", (List<String> lines) -> {
+                    if (lines.contains("55")) {
+                        throw new IllegalStateException("bad batch");
+                    }
+                    return lines.size();
+                }, 2)
+                .build();
+
+        final CollectingSubscriber<Integer> subscriber = new CollectingSubscriber<>(1);
+        pipeline.subscribe(subscriber);
+        subscriber.await();
+
+        Assert.assertFalse(subscriber.completed);
+        Assert.assertTrue(subscriber.error instanceof IllegalStateException);
+        Assert.assertEquals(subscriber.items.size(), 5);
+    }
+
+    @Test
+    public void testNonPositiveRequestIsSignalled() throws IOException, InterruptedException {
+        final CollectingSubscriber<List<String>> subscriber = new CollectingSubscriber<>(0);
+        RecordPipeline.builder(createNumbersFile(10), LINE_BATCH_READER).build().subscribe(subscriber);
+        subscriber.await();
+
+        Assert.assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testCancelStopsDelivery() throws IOException, InterruptedException {
+        final CountDownLatch received = new CountDownLatch(1);
+        final List<List<String>> items = new ArrayList<>();
+        RecordPipeline.builder(createNumbersFile(1000), LINE_BATCH_READER).setQueueCapacity(1).build()
+                .subscribe(new Subscriber<List<String>>() {
+                    private Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(final Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(final List<String> item) {
+                        items.add(item);
+                        subscription.cancel();
+                        received.countDown();
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) { }
+
+                    @Override
+                    public void onComplete() { }
+                });
+
+        Assert.assertTrue(received.await(30, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        Assert.assertEquals(items.size(), 1);
+    }
+
+    @Test
+    public void testCompletesWithoutFurtherDemand() throws IOException, InterruptedException {
+        // 100 lines make exactly 10 batches, all requested upfront and never again
+        final CountDownLatch completed = new CountDownLatch(1);
+        final List<List<String>> items = new ArrayList<>();
+        RecordPipeline.builder(createNumbersFile(100), LINE_BATCH_READER).build()
+                .subscribe(new Subscriber<List<String>>() {
+                    @Override
+                    public void onSubscribe(final Subscription subscription) {
+                        subscription.request(10);
+                    }
+
+                    @Override
+                    public void onNext(final List<String> item) {
+                        items.add(item);
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) { }
+
+                    @Override
+                    public void onComplete() {
+                        completed.countDown();
+                    }
+                });
+
+        Assert.assertTrue(completed.await(30, TimeUnit.SECONDS), "pipeline did not complete");
+        Assert.assertEquals(items.size(), 10);
+    }
+
+    @Test
+    public void testThrowingSubscriberIsCancelled() throws IOException, InterruptedException {
+        final CountDownLatch received = new CountDownLatch(1);
+        final List<String> signals = Collections.synchronizedList(new ArrayList<>());
+        RecordPipeline.builder(createNumbersFile(1000), LINE_BATCH_READER).setQueueCapacity(1).build()
+                .subscribe(new Subscriber<List<String>>() {
+                    @Override
+                    public void onSubscribe(final Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(final List<String> item) {
+                        signals.add("next");
+                        received.countDown();
+                        throw new IllegalStateException("subscriber failure");
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) {
+                        signals.add("error");
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        signals.add("complete");
+                    }
+                });
+
+        Assert.assertTrue(received.await(30, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        Assert.assertEquals(signals, Collections.singletonList("next"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidParallelism() throws IOException {
+        RecordPipeline.builder(createNumbersFile(1), LINE_BATCH_READER).addStage("s", lines -> lines, 0);
+    }
+}
@@ -0,0 +1,206 @@
+package org.htsjdk.core.query;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.concurrent.HtsjdkExecutors;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class MultiRegionQueryTest extends HtsjdkBaseTest {
+
+    // each record is stored as three ints: contig index, start, end
+    private static final int RECORD_SIZE = 12;
+    private static final int RECORDS_PER_BLOCK = 10;
+    private static final List<String> CONTIGS = Arrays.asList("chr1", "chr2");
+
+    private static List<Interval> createRecords() {
+        final Random random = new Random(17);
+        final List<Interval> records = new ArrayList<>();
+        for (final String contig : CONTIGS) {
+            int start = 1;
+            for (int i = 0; i < 500; i++) {
+                start += random.nextInt(20);
+                records.add(new Interval(contig, start, start + random.nextInt(100)));
+            }
+        }
+        return records;
+    }
+
+    private static IOResource writeRecords(final List<Interval> records) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+        for (final Interval record : records) {
+            buffer.putInt(CONTIGS.indexOf(record.getContig())).putInt(record.getStart()).putInt(record.getEnd());
+        }
+        final Path path = IOUtils.createTempPath("multiRegionQuery", ".bin");
+        Files.write(path, buffer.array());
+        return new PathSpecifier(path.toString());
+    }
+
+    // one range per block of records spanning the region
+    private static RangeIndex createIndex(final List<Interval> records) {
+        return region -> {
+            final List<ByteRange> ranges = new ArrayList<>();
+            for (int block = 0; block * RECORDS_PER_BLOCK < records.size(); block++) {
+                final List<Interval> blockRecords = records.subList(
+                        block * RECORDS_PER_BLOCK, Math.min(records.size(), (block + 1) * RECORDS_PER_BLOCK));
+                if (blockRecords.stream().anyMatch(record -> Interval.overlaps(record, region))) {
+                    ranges.add(new ByteRange(
+                            (long) block * RECORDS_PER_BLOCK * RECORD_SIZE,
+                            (long) (block * RECORDS_PER_BLOCK + blockRecords.size()) * RECORD_SIZE));
+                }
+            }
+            return ranges;
+        };
+    }
+
+    private static final RangeDecoder<Interval> DECODER = (range, data) -> {
+        final List<Interval> records = new ArrayList<>();
+        while (data.hasRemaining()) {
+            records.add(new Interval(CONTIGS.get(data.getInt()), data.getInt(), data.getInt()));
+        }
+        return records;
+    };
+
+    @DataProvider
+    public Object[][] gaps() {
+        return new Object[][] { { 0L }, { RECORD_SIZE * RECORDS_PER_BLOCK * 3L }, { Long.MAX_VALUE } };
+    }
+
+    @Test(dataProvider = "gaps")
+    public void testResultsMatchScan(final long maxGap) throws IOException {
+        final List<Interval> records = createRecords();
+        final MultiRegionQuery<Interval> query = MultiRegionQuery.builder(writeRecords(records), createIndex(records), DECODER)
+                .setMaxGap(maxGap)
+                .setMaxRangeLength(RECORD_SIZE * RECORDS_PER_BLOCK * 20L)
+                .build();
+
+        final Random random = new Random(3);
+        final List<Interval> regions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int start = 1 + random.nextInt(5000);
+            regions.add(new Interval(CONTIGS.get(random.nextInt(CONTIGS.size())), start, start + random.nextInt(300)));
+        }
+        regions.add(new Interval("chr1", 1_000_000, 1_000_010));
+
+        final Iterator<RegionResult<Interval>> results = query.execute(regions);
+        for (final Interval region : regions) {
+            final RegionResult<Interval> result = results.next();
+            Assert.assertSame(result.getRegion(), region);
+            Assert.assertEquals(result.getRecords(), records.stream()
+                    .filter(region::overlaps)
+                    .collect(Collectors.toList()));
+        }
+        Assert.assertFalse(results.hasNext());
+    }
+
+    @Test
+    public void testOutstandingReadsAreBounded() throws IOException {
+        final List<Interval> records = createRecords();
+        final AtomicInteger decoding = new AtomicInteger();
+        final AtomicInteger maxDecoding = new AtomicInteger();
+        final RangeDecoder<Interval> slowDecoder = (range, data) -> {
+            maxDecoding.accumulateAndGet(decoding.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                return DECODER.decode(range, data);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                decoding.decrementAndGet();
+            }
+        };
+        // an unbounded pool for decoding, so that only the query limits the ranges in flight
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final MultiRegionQuery<Interval> query = MultiRegionQuery.builder(writeRecords(records), createIndex(records), slowDecoder)
+                    .setMaxGap(0)
+                    .setMaxRangeLength(RECORD_SIZE * RECORDS_PER_BLOCK)
+                    .setMaxOutstandingReads(3)
+                    .setExecutorProvider(HtsjdkExecutors.of(executor))
+                    .build();
+            final List<Interval> regions = new ArrayList<>();
+            for (int start = 1; start < 5000; start += 200) {
+                regions.add(new Interval("chr1", start, start + 10));
+            }
+            Assert.assertTrue(query.plan(regions).getRanges().size() > 10);
+
+            final Iterator<RegionResult<Interval>> results = query.execute(regions);
+            for (final Interval region : regions) {
+                Assert.assertEquals(results.next().getRecords(), records.stream()
+                        .filter(region::overlaps)
+                        .collect(Collectors.toList()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(maxDecoding.get() <= 3, "ranges decoded at once: " + maxDecoding.get());
+    }
+
+    @Test
+    public void testPlanCoalescesRanges() {
+        final List<Interval> regions = Arrays.asList(
+                new Interval("chr1", 1, 10), new Interval("chr1", 5, 20), new Interval("chr2", 1, 10));
+        final RangeIndex index = region -> {
+            switch (region.getStart() + region.getContig()) {
+                case "1chr1":
+                    return Arrays.asList(new ByteRange(0, 100), new ByteRange(1000, 1100));
+                case "5chr1":
+                    // overlaps the first range, and is far from the second
+                    return Arrays.asList(new ByteRange(50, 150), new ByteRange(5000, 5100));
+                default:
+                    // within the gap of the second range
+                    return Collections.singletonList(new ByteRange(1110, 1200));
+            }
+        };
+
+        final QueryPlan plan = QueryPlan.create(regions, index, 10, 1000);
+        Assert.assertEquals(plan.getRanges(), Arrays.asList(
+                new ByteRange(0, 150), new ByteRange(1000, 1200), new ByteRange(5000, 5100)));
+        Assert.assertEquals(plan.getRangeIndices(0), new int[] { 0, 1 });
+        Assert.assertEquals(plan.getRangeIndices(1), new int[] { 0, 2 });
+        Assert.assertEquals(plan.getRangeIndices(2), new int[] { 1 });
+        Assert.assertEquals(plan.getTotalBytes(), 150 + 200 + 100);
+
+        // the gap is too small to merge the ranges at 1000 and 1110
+        Assert.assertEquals(QueryPlan.create(regions, index, 9, 1000).getRanges().size(), 4);
+        // the merged range would be too long
+        Assert.assertEquals(QueryPlan.create(regions, index, 10, 199).getRanges().size(), 4);
+    }
+
+    @Test(expectedExceptions = HtsjdkIOException.class)
+    public void testRangeBeyondEndOfResource() throws IOException {
+        final List<Interval> records = createRecords();
+        final MultiRegionQuery<Interval> query = MultiRegionQuery.builder(
+                writeRecords(records),
+                region -> Collections.singletonList(new ByteRange(0, records.size() * RECORD_SIZE + 1)),
+                DECODER).build();
+        query.execute(Collections.singletonList(new Interval("chr1", 1, 10))).next();
+    }
+
+    @Test
+    public void testEmptyQuery() throws IOException {
+        final List<Interval> records = createRecords();
+        final MultiRegionQuery<Interval> query = MultiRegionQuery.builder(writeRecords(records), createIndex(records), DECODER).build();
+        Assert.assertFalse(query.execute(Collections.<Locatable>emptyList()).hasNext());
+    }
+}
@@ -0,0 +1,64 @@
+package org.htsjdk.core.utils;
+
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.FileSystems;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PathResolverTest extends HtsjdkBaseTest {
+
+    @Test
+    public void testResolveAll() {
+        final List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 3 * PathResolver.CHUNK_SIZE; i++) {
+            inputs.add(i % 3 == 0 ? "localFile" + i + ".bam" : i % 3 == 1 ? "unknownscheme://bucket/" + i : "\0");
+        }
+
+        final List<PathResolver.Resolution> resolutions = PathResolver.resolveAll(inputs);
+        Assert.assertEquals(resolutions.size(), inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final PathResolver.Resolution resolution = resolutions.get(i);
+            Assert.assertEquals(resolution.getRawInputString(), inputs.get(i));
+            switch (i % 3) {
+                case 0:
+                    Assert.assertTrue(resolution.isPath());
+                    Assert.assertTrue(resolution.getPathSpecifier().get().isPath());
+                    break;
+                case 1:
+                    Assert.assertFalse(resolution.isPath());
+                    Assert.assertEquals(resolution.getFailureReason().get(),
+                            "FileSystemNotFoundException: Provider \"unknownscheme\" not installed");
+                    Assert.assertEquals(resolution.getPathSpecifier().get().getToPathFailureReason(), resolution.getFailureReason());
+                    break;
+                default:
+                    Assert.assertFalse(resolution.isPath());
+                    Assert.assertFalse(resolution.getPathSpecifier().isPresent());
+                    Assert.assertTrue(resolution.getFailureReason().get().startsWith("Invalid path specifier"));
+            }
+        }
+    }
+
+    @Test
+    public void testFailureReasonIsMemoized() {
+        final PathSpecifier pathSpecifier = new PathSpecifier("file://nonexistent_authority/path/to/file.bam");
+        Assert.assertFalse(pathSpecifier.isPath());
+        final String reason = pathSpecifier.getToPathFailureReason().get();
+        Assert.assertTrue(reason.startsWith("IllegalArgumentException"), reason);
+        Assert.assertSame(pathSpecifier.getToPathFailureReason().get(), reason);
+        Assert.assertFalse(pathSpecifier.isPath());
+    }
+
+    @Test
+    public void testProviderLookup() {
+        Assert.assertSame(FileSystemProviders.getProvider("file").get(), FileSystems.getDefault().provider());
+        Assert.assertSame(FileSystemProviders.getProvider("FILE").get(), FileSystems.getDefault().provider());
+        Assert.assertFalse(FileSystemProviders.isInstalled("unknownscheme"));
+        for (final String scheme : Arrays.asList("file", "unknownscheme")) {
+            Assert.assertEquals(FileSystemProviders.isInstalled(scheme), new PathSpecifier(scheme + ":/a").isNIO());
+        }
+    }
+}
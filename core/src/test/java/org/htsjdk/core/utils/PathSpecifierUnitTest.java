@@ -123,6 +123,68 @@ public class PathSpecifierUnitTest {
         Assert.assertEquals(ioResource.getURI().toString(), expectedURIString);
     }
 
+    @Test(dataProvider = "validPathSpecifiers")
+    public void testSerialization(final String referenceString, final String expectedURIString, final boolean isNIO, final boolean isPath)
+            throws IOException, ClassNotFoundException {
+        final PathSpecifier pathSpecifier = new PathSpecifier(referenceString);
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized)) {
+            objectOutputStream.writeObject(pathSpecifier);
+        }
+        try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            final PathSpecifier deserialized = (PathSpecifier) objectInputStream.readObject();
+            Assert.assertEquals(deserialized, pathSpecifier);
+            Assert.assertEquals(deserialized.getRawInputString(), referenceString);
+            Assert.assertEquals(deserialized.getURIString(), expectedURIString);
+            Assert.assertEquals(deserialized.isPath(), isPath);
+        }
+    }
+
+    // a subclass with state of its own, which is serialized by default serialization
+    private static final class TaggedPathSpecifier extends PathSpecifier {
+        private static final long serialVersionUID = 1L;
+        private final String tag;
+
+        private TaggedPathSpecifier(final String rawInputString, final String tag) {
+            super(rawInputString);
+            this.tag = tag;
+        }
+    }
+
+    @Test(dataProvider = "validPathSpecifiers")
+    public void testSubclassSerialization(final String referenceString, final String expectedURIString, final boolean isNIO, final boolean isPath)
+            throws IOException, ClassNotFoundException {
+        final TaggedPathSpecifier pathSpecifier = new TaggedPathSpecifier(referenceString, "tag");
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized)) {
+            objectOutputStream.writeObject(pathSpecifier);
+        }
+        try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            final TaggedPathSpecifier deserialized = (TaggedPathSpecifier) objectInputStream.readObject();
+            Assert.assertEquals(deserialized, pathSpecifier);
+            Assert.assertEquals(deserialized.tag, "tag");
+            Assert.assertEquals(deserialized.getRawInputString(), referenceString);
+            Assert.assertEquals(deserialized.getURIString(), expectedURIString);
+            Assert.assertEquals(deserialized.isPath(), isPath);
+        }
+    }
+
+    @Test
+    public void testSerializationOfLongPath() throws IOException, ClassNotFoundException {
+        final StringBuilder longPath = new StringBuilder("file:///");
+        while (longPath.length() < 100_000) {
+            longPath.append("directory/");
+        }
+        final PathSpecifier pathSpecifier = new PathSpecifier(longPath.append("file.bam").toString());
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized)) {
+            objectOutputStream.writeObject(pathSpecifier);
+        }
+        try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            Assert.assertEquals(objectInputStream.readObject(), pathSpecifier);
+        }
+    }
+
     @Test(dataProvider = "validPathSpecifiers")
     public void testIsNIO(final String referenceString, final String expectedURIString, final boolean isNIO, final boolean isPath) {
         final IOResource pathURI = new PathSpecifier(referenceString);
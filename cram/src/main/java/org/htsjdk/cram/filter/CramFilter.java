@@ -0,0 +1,215 @@
+package org.htsjdk.cram.filter;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+/**
+ * A record predicate on reference, position, mapping quality and flags that can be pushed down to CRAM container
+ * and slice headers.
+ *
+ * {@link #mayMatch(HeaderSummary)} is conservative: it only returns false when no record summarized by the header
+ * can match, in which case the reader skips the container or slice without decompressing any of its blocks.
+ * Records from containers and slices that may match are then tested individually with
+ * {@link #matches(int, int, int, int, int)}.
+ *
+ * Use {@link #builder()} to create a filter; a filter with no constraints matches every record.
+ */
+public final class CramFilter {
+
+    /**
+     * A filter that matches every record.
+     */
+    public static final CramFilter ALL = builder().build();
+
+    private static final int UNCONSTRAINED = Integer.MIN_VALUE;
+
+    private final int referenceSequenceId;
+    private final int start;
+    private final int end;
+    private final int minMappingQuality;
+    private final int requiredFlags;
+    private final int excludedFlags;
+
+    private CramFilter(final Builder builder) {
+        this.referenceSequenceId = builder.referenceSequenceId;
+        this.start = builder.start;
+        this.end = builder.end;
+        this.minMappingQuality = builder.minMappingQuality;
+        this.requiredFlags = builder.requiredFlags;
+        this.excludedFlags = builder.excludedFlags;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Determine whether any record summarized by a container or slice header can match this filter.
+     *
+     * @param summary the container or slice header summary
+     * @return false if no summarized record can match, so the container or slice can be skipped
+     */
+    public boolean mayMatch(final HeaderSummary summary) {
+        if (summary.getRecordCount() == 0) {
+            return false;
+        }
+        if (referenceSequenceId != UNCONSTRAINED && summary.getReferenceSequenceId() != HeaderSummary.MULTIPLE_REFERENCE_ID) {
+            if (summary.getReferenceSequenceId() != referenceSequenceId) {
+                return false;
+            }
+            if (referenceSequenceId >= 0 && !overlaps(summary.getAlignmentStart(), summary.getAlignmentEnd())) {
+                return false;
+            }
+        }
+        if (summary.getStatistics().isPresent()) {
+            final SliceStatistics statistics = summary.getStatistics().get();
+            if (minMappingQuality != UNCONSTRAINED && statistics.getMaxMappingQuality() < minMappingQuality) {
+                return false;
+            }
+            // some required flag is not set in any record
+            if ((statistics.getFlagsUnion() & requiredFlags) != requiredFlags) {
+                return false;
+            }
+            // some excluded flag is set in every record
+            if ((statistics.getFlagsIntersection() & excludedFlags) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test a decoded record against this filter.
+     *
+     * @param recordReferenceSequenceId reference sequence ID of the record, or -1 if unmapped
+     * @param alignmentStart 1-based alignment start of the record
+     * @param alignmentEnd 1-based, inclusive alignment end of the record
+     * @param mappingQuality mapping quality of the record
+     * @param flags SAM flags of the record
+     * @return true if the record matches
+     */
+    public boolean matches(
+            final int recordReferenceSequenceId,
+            final int alignmentStart,
+            final int alignmentEnd,
+            final int mappingQuality,
+            final int flags) {
+        if (referenceSequenceId != UNCONSTRAINED) {
+            if (recordReferenceSequenceId != referenceSequenceId) {
+                return false;
+            }
+            if (referenceSequenceId >= 0 && !overlaps(alignmentStart, alignmentEnd)) {
+                return false;
+            }
+        }
+        return (minMappingQuality == UNCONSTRAINED || mappingQuality >= minMappingQuality) &&
+                (flags & requiredFlags) == requiredFlags &&
+                (flags & excludedFlags) == 0;
+    }
+
+    private boolean overlaps(final int otherStart, final int otherEnd) {
+        return otherStart <= end && otherEnd >= start;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CramFilter{ref=%s, range=[%d,%d], minMapq=%s, requiredFlags=0x%x, excludedFlags=0x%x}",
+                referenceSequenceId == UNCONSTRAINED ? "any" : referenceSequenceId,
+                start, end,
+                minMappingQuality == UNCONSTRAINED ? "any" : minMappingQuality,
+                requiredFlags, excludedFlags);
+    }
+
+    /**
+     * Builder for {@link CramFilter}.
+     */
+    public static final class Builder {
+        private int referenceSequenceId = UNCONSTRAINED;
+        private int start = 1;
+        private int end = Integer.MAX_VALUE;
+        private int minMappingQuality = UNCONSTRAINED;
+        private int requiredFlags;
+        private int excludedFlags;
+
+        private Builder() {}
+
+        /**
+         * Only match records on the given reference sequence.
+         *
+         * @param referenceSequenceId reference sequence ID, or {@link HeaderSummary#UNMAPPED_REFERENCE_ID} to
+         *                            only match unplaced unmapped records
+         * @return this builder
+         */
+        public Builder setReferenceSequenceId(final int referenceSequenceId) {
+            ParamUtils.validate(referenceSequenceId >= HeaderSummary.UNMAPPED_REFERENCE_ID,
+                    () -> "invalid reference sequence ID: " + referenceSequenceId);
+            this.referenceSequenceId = referenceSequenceId;
+            return this;
+        }
+
+        /**
+         * Only match records overlapping the given range of the reference sequence. Requires a reference sequence
+         * to be set with {@link #setReferenceSequenceId(int)}.
+         *
+         * @param start 1-based start of the range
+         * @param end 1-based, inclusive end of the range
+         * @return this builder
+         */
+        public Builder setRange(final int start, final int end) {
+            ParamUtils.validate(start >= 1, () -> "start must be positive: " + start);
+            ParamUtils.validate(start <= end, () -> String.format("start %d exceeds end %d", start, end));
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        /**
+         * Only match records with at least the given mapping quality.
+         *
+         * @param minMappingQuality minimum mapping quality
+         * @return this builder
+         */
+        public Builder setMinMappingQuality(final int minMappingQuality) {
+            ParamUtils.validate(minMappingQuality >= 0,
+                    () -> "min mapping quality cannot be negative: " + minMappingQuality);
+            this.minMappingQuality = minMappingQuality;
+            return this;
+        }
+
+        /**
+         * Only match records with all of the given SAM flags set.
+         *
+         * @param requiredFlags required flag bits
+         * @return this builder
+         */
+        public Builder setRequiredFlags(final int requiredFlags) {
+            this.requiredFlags = requiredFlags;
+            return this;
+        }
+
+        /**
+         * Only match records with none of the given SAM flags set.
+         *
+         * @param excludedFlags excluded flag bits
+         * @return this builder
+         */
+        public Builder setExcludedFlags(final int excludedFlags) {
+            this.excludedFlags = excludedFlags;
+            return this;
+        }
+
+        /**
+         * @return a new {@link CramFilter}
+         * @throws IllegalArgumentException if the constraints are inconsistent
+         */
+        public CramFilter build() {
+            ParamUtils.validate((requiredFlags & excludedFlags) == 0,
+                    () -> String.format("flags 0x%x are both required and excluded", requiredFlags & excludedFlags));
+            ParamUtils.validate(referenceSequenceId != UNCONSTRAINED || (start == 1 && end == Integer.MAX_VALUE),
+                    () -> "a range requires a reference sequence ID");
+            return new CramFilter(this);
+        }
+    }
+}
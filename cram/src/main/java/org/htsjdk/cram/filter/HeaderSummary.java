@@ -0,0 +1,72 @@
+package org.htsjdk.cram.filter;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.Optional;
+
+/**
+ * The fields of a CRAM container or slice header that a {@link CramFilter} can be evaluated against, plus the
+ * optional {@link SliceStatistics} for its records.
+ */
+public final class HeaderSummary {
+
+    /**
+     * Reference sequence ID used in CRAM headers for unmapped records.
+     */
+    public static final int UNMAPPED_REFERENCE_ID = -1;
+    /**
+     * Reference sequence ID used in CRAM headers for containers or slices spanning multiple references.
+     */
+    public static final int MULTIPLE_REFERENCE_ID = -2;
+
+    private final int referenceSequenceId;
+    private final int alignmentStart;
+    private final int alignmentSpan;
+    private final int recordCount;
+    private final Optional<SliceStatistics> statistics;
+
+    /**
+     * @param referenceSequenceId reference sequence ID, or {@link #UNMAPPED_REFERENCE_ID} or
+     *                            {@link #MULTIPLE_REFERENCE_ID}
+     * @param alignmentStart 1-based alignment start (ignored unless {@code referenceSequenceId >= 0})
+     * @param alignmentSpan alignment span (ignored unless {@code referenceSequenceId >= 0})
+     * @param recordCount number of records
+     * @param statistics record statistics, if written
+     */
+    public HeaderSummary(
+            final int referenceSequenceId,
+            final int alignmentStart,
+            final int alignmentSpan,
+            final int recordCount,
+            final Optional<SliceStatistics> statistics) {
+        ParamUtils.validate(referenceSequenceId >= MULTIPLE_REFERENCE_ID,
+                () -> "invalid reference sequence ID: " + referenceSequenceId);
+        ParamUtils.validate(recordCount >= 0, () -> "record count cannot be negative: " + recordCount);
+        this.referenceSequenceId = referenceSequenceId;
+        this.alignmentStart = alignmentStart;
+        this.alignmentSpan = alignmentSpan;
+        this.recordCount = recordCount;
+        this.statistics = ParamUtils.nonNull(statistics, () -> "statistics cannot be null");
+    }
+
+    public int getReferenceSequenceId() { return referenceSequenceId; }
+
+    public int getAlignmentStart() { return alignmentStart; }
+
+    public int getAlignmentSpan() { return alignmentSpan; }
+
+    /**
+     * @return 1-based, inclusive alignment end
+     */
+    public int getAlignmentEnd() { return alignmentStart + alignmentSpan - 1; }
+
+    public int getRecordCount() { return recordCount; }
+
+    public Optional<SliceStatistics> getStatistics() { return statistics; }
+
+    @Override
+    public String toString() {
+        return String.format("HeaderSummary{ref=%d, start=%d, span=%d, records=%d, statistics=%s}",
+                referenceSequenceId, alignmentStart, alignmentSpan, recordCount, statistics);
+    }
+}
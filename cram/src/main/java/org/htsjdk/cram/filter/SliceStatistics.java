@@ -0,0 +1,182 @@
+package org.htsjdk.cram.filter;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Optional summary statistics for the records of a slice (or a container), written by htsjdk-next alongside the
+ * slice so that a {@link CramFilter} can rule out mapping-quality and flag predicates without decoding the
+ * records. Other CRAM writers do not produce these statistics, so readers must treat them as optional.
+ *
+ * The serialized form is a version byte followed by fixed-size little-endian fields, see {@link #encode()}.
+ */
+public final class SliceStatistics {
+
+    /**
+     * Size of the serialized form, in bytes.
+     */
+    public static final int ENCODED_SIZE = 1 + 4 * 4;
+
+    private static final byte VERSION = 1;
+
+    private final int minMappingQuality;
+    private final int maxMappingQuality;
+    private final int flagsUnion;
+    private final int flagsIntersection;
+
+    /**
+     * @param minMappingQuality lowest mapping quality of any record
+     * @param maxMappingQuality highest mapping quality of any record
+     * @param flagsUnion bitwise OR of the flags of all records (the flags set in at least one record)
+     * @param flagsIntersection bitwise AND of the flags of all records (the flags set in every record)
+     */
+    public SliceStatistics(
+            final int minMappingQuality,
+            final int maxMappingQuality,
+            final int flagsUnion,
+            final int flagsIntersection) {
+        ParamUtils.validate(minMappingQuality <= maxMappingQuality,
+                () -> String.format("min mapping quality %d exceeds max %d", minMappingQuality, maxMappingQuality));
+        ParamUtils.validate((flagsIntersection & ~flagsUnion) == 0,
+                () -> "flags set in every record must also be set in some record");
+        this.minMappingQuality = minMappingQuality;
+        this.maxMappingQuality = maxMappingQuality;
+        this.flagsUnion = flagsUnion;
+        this.flagsIntersection = flagsIntersection;
+    }
+
+    public int getMinMappingQuality() { return minMappingQuality; }
+
+    public int getMaxMappingQuality() { return maxMappingQuality; }
+
+    public int getFlagsUnion() { return flagsUnion; }
+
+    public int getFlagsIntersection() { return flagsIntersection; }
+
+    /**
+     * @return the serialized form of these statistics, {@link #ENCODED_SIZE} bytes long
+     */
+    public byte[] encode() {
+        final ByteBuffer buffer = ByteBuffer.allocate(ENCODED_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(VERSION);
+        buffer.putInt(minMappingQuality);
+        buffer.putInt(maxMappingQuality);
+        buffer.putInt(flagsUnion);
+        buffer.putInt(flagsIntersection);
+        return buffer.array();
+    }
+
+    /**
+     * Decode statistics written by {@link #encode()}.
+     *
+     * @param encoded the serialized statistics
+     * @return the decoded statistics
+     * @throws IllegalArgumentException if {@code encoded} is not valid serialized statistics
+     */
+    public static SliceStatistics decode(final byte[] encoded) {
+        ParamUtils.nonNull(encoded, () -> "encoded statistics cannot be null");
+        final ByteBuffer buffer = ByteBuffer.wrap(encoded).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            final byte version = buffer.get();
+            ParamUtils.validate(version == VERSION, () -> "unsupported slice statistics version: " + version);
+            return new SliceStatistics(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        } catch (final BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated slice statistics", e);
+        }
+    }
+
+    /**
+     * @return a new accumulator, for computing statistics while writing a slice
+     */
+    public static Accumulator accumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SliceStatistics)) return false;
+
+        final SliceStatistics that = (SliceStatistics) o;
+        return minMappingQuality == that.minMappingQuality &&
+                maxMappingQuality == that.maxMappingQuality &&
+                flagsUnion == that.flagsUnion &&
+                flagsIntersection == that.flagsIntersection;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = minMappingQuality;
+        result = 31 * result + maxMappingQuality;
+        result = 31 * result + flagsUnion;
+        result = 31 * result + flagsIntersection;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SliceStatistics{mapq=[%d,%d], flagsUnion=0x%x, flagsIntersection=0x%x}",
+                minMappingQuality, maxMappingQuality, flagsUnion, flagsIntersection);
+    }
+
+    /**
+     * Accumulates {@link SliceStatistics} for the records added to a slice.
+     */
+    public static final class Accumulator {
+        private int records;
+        private int minMappingQuality = Integer.MAX_VALUE;
+        private int maxMappingQuality = Integer.MIN_VALUE;
+        private int flagsUnion;
+        private int flagsIntersection = ~0;
+
+        private Accumulator() {}
+
+        /**
+         * Add a record to the statistics.
+         *
+         * @param mappingQuality mapping quality of the record
+         * @param flags SAM flags of the record
+         */
+        public void add(final int mappingQuality, final int flags) {
+            records++;
+            minMappingQuality = Math.min(minMappingQuality, mappingQuality);
+            maxMappingQuality = Math.max(maxMappingQuality, mappingQuality);
+            flagsUnion |= flags;
+            flagsIntersection &= flags;
+        }
+
+        /**
+         * Merge the statistics of another accumulator (e.g., to summarize a container from its slices).
+         *
+         * @param other the accumulator to merge into this one
+         */
+        public void merge(final Accumulator other) {
+            if (other.records > 0) {
+                records += other.records;
+                minMappingQuality = Math.min(minMappingQuality, other.minMappingQuality);
+                maxMappingQuality = Math.max(maxMappingQuality, other.maxMappingQuality);
+                flagsUnion |= other.flagsUnion;
+                flagsIntersection &= other.flagsIntersection;
+            }
+        }
+
+        /**
+         * @return the number of records added
+         */
+        public int getRecordCount() { return records; }
+
+        /**
+         * @return the statistics for the records added
+         * @throws IllegalStateException if no records have been added
+         */
+        public SliceStatistics build() {
+            if (records == 0) {
+                throw new IllegalStateException("cannot compute statistics for an empty slice");
+            }
+            return new SliceStatistics(minMappingQuality, maxMappingQuality, flagsUnion, flagsIntersection);
+        }
+    }
+}
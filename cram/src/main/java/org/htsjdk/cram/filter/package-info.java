@@ -0,0 +1,5 @@
+/**
+ * Contains record filters that can be evaluated against CRAM container and slice headers, so that containers
+ * and slices that cannot contain matching records are skipped without being decompressed.
+ */
+package org.htsjdk.cram.filter;
@@ -0,0 +1,35 @@
+package org.htsjdk.cram.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Decoding of a CRAM container.
+ */
+@Name("htsjdk.cram.ContainerDecode")
+@Label("CRAM Container Decode")
+@Description("Decoding of a CRAM container")
+@Category({"htsjdk", "CRAM"})
+final class ContainerDecodeEvent extends jdk.jfr.Event {
+    @Label("Reference Sequence ID")
+    int referenceSequenceId;
+
+    @Label("Alignment Start")
+    int alignmentStart;
+
+    @Label("Alignment Span")
+    int alignmentSpan;
+
+    @Label("Records")
+    int records;
+
+    @Label("Slices")
+    int slices;
+
+    @Label("Container Size")
+    @DataAmount
+    long containerSize;
+}
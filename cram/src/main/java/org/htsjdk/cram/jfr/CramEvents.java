@@ -0,0 +1,78 @@
+package org.htsjdk.cram.jfr;
+
+import org.htsjdk.core.jfr.HtsjdkEvents;
+
+/**
+ * Emits CRAM Java Flight Recorder events, following the same begin/commit protocol as {@link HtsjdkEvents}:
+ * {@code beginX()} returns a token that is {@code null} unless the event is being recorded, and
+ * {@code commitX(token, ...)} records the event if the token is not null.
+ *
+ * Block decompression is recorded with {@link HtsjdkEvents#beginInflate()}, using the codec names
+ * {@code "cram.<method>"} (e.g., {@code "cram.gzip"}, {@code "cram.rans4x8"}) so CRAM blocks can be told apart
+ * from other compressed formats.
+ */
+public final class CramEvents {
+
+    // cannot be instantiated
+    private CramEvents() {}
+
+    /**
+     * @return a token for {@link #commitContainerDecode}, or null if the event is not being recorded
+     */
+    public static Object beginContainerDecode() {
+        return HtsjdkEvents.isAvailable() ? CramJfrEvents.beginContainerDecode() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginContainerDecode()}
+     * @param referenceSequenceId reference sequence ID from the container header
+     * @param alignmentStart alignment start from the container header
+     * @param alignmentSpan alignment span from the container header
+     * @param records number of records in the container
+     * @param slices number of slices in the container
+     * @param containerSize size of the container, in bytes
+     */
+    public static void commitContainerDecode(
+            final Object token,
+            final int referenceSequenceId,
+            final int alignmentStart,
+            final int alignmentSpan,
+            final int records,
+            final int slices,
+            final long containerSize) {
+        if (token != null) {
+            CramJfrEvents.commitContainerDecode(
+                    token, referenceSequenceId, alignmentStart, alignmentSpan, records, slices, containerSize);
+        }
+    }
+
+    /**
+     * @return a token for {@link #commitSliceDecode}, or null if the event is not being recorded
+     */
+    public static Object beginSliceDecode() {
+        return HtsjdkEvents.isAvailable() ? CramJfrEvents.beginSliceDecode() : null;
+    }
+
+    /**
+     * @param token value returned by {@link #beginSliceDecode()}
+     * @param referenceSequenceId reference sequence ID from the slice header
+     * @param alignmentStart alignment start from the slice header
+     * @param alignmentSpan alignment span from the slice header
+     * @param records number of records in the slice
+     * @param blocks number of blocks in the slice
+     * @param uncompressedSize total uncompressed size of the slice blocks, in bytes
+     */
+    public static void commitSliceDecode(
+            final Object token,
+            final int referenceSequenceId,
+            final int alignmentStart,
+            final int alignmentSpan,
+            final int records,
+            final int blocks,
+            final long uncompressedSize) {
+        if (token != null) {
+            CramJfrEvents.commitSliceDecode(
+                    token, referenceSequenceId, alignmentStart, alignmentSpan, records, blocks, uncompressedSize);
+        }
+    }
+}
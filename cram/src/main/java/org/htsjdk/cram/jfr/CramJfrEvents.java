@@ -0,0 +1,71 @@
+package org.htsjdk.cram.jfr;
+
+/**
+ * The only class, besides the events themselves, that refers to {@code jdk.jfr}. It is only loaded by
+ * {@link CramEvents} once {@code jdk.jfr} is known to be available.
+ */
+final class CramJfrEvents {
+
+    // cannot be instantiated
+    private CramJfrEvents() {}
+
+    static Object beginContainerDecode() {
+        final ContainerDecodeEvent event = new ContainerDecodeEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitContainerDecode(
+            final Object token,
+            final int referenceSequenceId,
+            final int alignmentStart,
+            final int alignmentSpan,
+            final int records,
+            final int slices,
+            final long containerSize) {
+        final ContainerDecodeEvent event = (ContainerDecodeEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.referenceSequenceId = referenceSequenceId;
+            event.alignmentStart = alignmentStart;
+            event.alignmentSpan = alignmentSpan;
+            event.records = records;
+            event.slices = slices;
+            event.containerSize = containerSize;
+            event.commit();
+        }
+    }
+
+    static Object beginSliceDecode() {
+        final SliceDecodeEvent event = new SliceDecodeEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitSliceDecode(
+            final Object token,
+            final int referenceSequenceId,
+            final int alignmentStart,
+            final int alignmentSpan,
+            final int records,
+            final int blocks,
+            final long uncompressedSize) {
+        final SliceDecodeEvent event = (SliceDecodeEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.referenceSequenceId = referenceSequenceId;
+            event.alignmentStart = alignmentStart;
+            event.alignmentSpan = alignmentSpan;
+            event.records = records;
+            event.blocks = blocks;
+            event.uncompressedSize = uncompressedSize;
+            event.commit();
+        }
+    }
+}
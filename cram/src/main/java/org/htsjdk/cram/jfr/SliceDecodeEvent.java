@@ -0,0 +1,35 @@
+package org.htsjdk.cram.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Decoding of a CRAM slice.
+ */
+@Name("htsjdk.cram.SliceDecode")
+@Label("CRAM Slice Decode")
+@Description("Decoding of a CRAM slice")
+@Category({"htsjdk", "CRAM"})
+final class SliceDecodeEvent extends jdk.jfr.Event {
+    @Label("Reference Sequence ID")
+    int referenceSequenceId;
+
+    @Label("Alignment Start")
+    int alignmentStart;
+
+    @Label("Alignment Span")
+    int alignmentSpan;
+
+    @Label("Records")
+    int records;
+
+    @Label("Blocks")
+    int blocks;
+
+    @Label("Uncompressed Size")
+    @DataAmount
+    long uncompressedSize;
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains Java Flight Recorder events for CRAM decoding. See {@link org.htsjdk.cram.jfr.CramEvents}.
+ */
+package org.htsjdk.cram.jfr;
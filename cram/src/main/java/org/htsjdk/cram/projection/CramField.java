@@ -0,0 +1,55 @@
+package org.htsjdk.cram.projection;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The record fields a caller can request from a CRAM reader, and the data series needed to decode each one.
+ *
+ * The CRAM bit flags ({@link DataSeries#CF}) are always decoded, since they determine which other data series are
+ * present for a record. Fields that differ between mapped and unmapped records (cigar, mapping quality, bases and
+ * quality scores) also need the SAM flags ({@link DataSeries#BF}), whose unmapped bit selects how the record is
+ * decoded.
+ */
+public enum CramField {
+    /** SAM flags. */
+    FLAGS(DataSeries.BF),
+    /** Reference sequence of the record (only read for multi-reference slices). */
+    REFERENCE(DataSeries.RI),
+    /** Alignment start. Positions are delta-coded, so this is needed to place any record. */
+    ALIGNMENT_START(DataSeries.AP),
+    /** Cigar and alignment end, reconstructed from the read length and the read features. */
+    CIGAR(DataSeries.BF, DataSeries.RL, DataSeries.FN, DataSeries.FC, DataSeries.FP, DataSeries.DL, DataSeries.RS,
+            DataSeries.IN, DataSeries.SC, DataSeries.HC, DataSeries.PD),
+    /** Mapping quality. */
+    MAPPING_QUALITY(DataSeries.BF, DataSeries.MQ),
+    /** Read name. */
+    READ_NAME(DataSeries.RN),
+    /** Read group. */
+    READ_GROUP(DataSeries.RG),
+    /** Mate reference, mate alignment start, template length and mate flags. */
+    MATE(DataSeries.MF, DataSeries.NS, DataSeries.NP, DataSeries.TS, DataSeries.NF),
+    /** Read bases, which are reconstructed from the reference and the read features. */
+    BASES(DataSeries.BF, DataSeries.RL, DataSeries.FN, DataSeries.FC, DataSeries.FP, DataSeries.DL, DataSeries.RS,
+            DataSeries.IN, DataSeries.SC, DataSeries.HC, DataSeries.PD, DataSeries.BS, DataSeries.BA, DataSeries.BB),
+    /** Base quality scores. */
+    QUALITY_SCORES(DataSeries.BF, DataSeries.RL, DataSeries.FN, DataSeries.FC, DataSeries.FP, DataSeries.QS, DataSeries.QQ),
+    /** Auxiliary tags; also requires the tag data blocks. */
+    TAGS(DataSeries.TL, DataSeries.TC, DataSeries.TN);
+
+    private final Set<DataSeries> dataSeries;
+
+    CramField(final DataSeries first, final DataSeries... rest) {
+        final EnumSet<DataSeries> series = EnumSet.of(first, rest);
+        series.add(DataSeries.CF);
+        this.dataSeries = Collections.unmodifiableSet(series);
+    }
+
+    /**
+     * @return the data series needed to decode this field
+     */
+    public Set<DataSeries> getDataSeries() {
+        return dataSeries;
+    }
+}
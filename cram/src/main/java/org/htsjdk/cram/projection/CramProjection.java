@@ -0,0 +1,148 @@
+package org.htsjdk.cram.projection;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The set of record fields a caller needs from a CRAM reader. Fields that are not projected are left unset on
+ * decoded records.
+ *
+ * Since each data series is usually written to its own external block, a reader can skip decompressing (and
+ * decoding) the blocks that only hold data series no projected field needs; see
+ * {@link #getSkippableContentIds(Map, Collection)}. For example, projecting only {@link CramField#FLAGS},
+ * {@link CramField#REFERENCE}, {@link CramField#ALIGNMENT_START} and {@link CramField#CIGAR} for coverage skips the
+ * read name, base, quality score and tag blocks, which usually make up most of a slice.
+ */
+public final class CramProjection {
+
+    /**
+     * Projection of every field.
+     */
+    public static final CramProjection ALL = new CramProjection(EnumSet.allOf(CramField.class));
+
+    private final Set<CramField> fields;
+    private final Set<DataSeries> requiredDataSeries;
+
+    private CramProjection(final Set<CramField> fields) {
+        this.fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+        final EnumSet<DataSeries> series = EnumSet.of(DataSeries.CF);
+        fields.forEach(field -> series.addAll(field.getDataSeries()));
+        this.requiredDataSeries = Collections.unmodifiableSet(series);
+    }
+
+    /**
+     * Create a projection of the given fields.
+     *
+     * @param fields the fields to decode. May be empty, in which case only the record count is meaningful.
+     * @return a projection of {@code fields}
+     */
+    public static CramProjection of(final CramField... fields) {
+        ParamUtils.nonNull(fields, () -> "fields cannot be null");
+        return of(Arrays.asList(fields));
+    }
+
+    /**
+     * Create a projection of the given fields.
+     *
+     * @param fields the fields to decode. May not be null.
+     * @return a projection of {@code fields}
+     */
+    public static CramProjection of(final Collection<CramField> fields) {
+        ParamUtils.nonNull(fields, () -> "fields cannot be null");
+        final EnumSet<CramField> fieldSet = EnumSet.noneOf(CramField.class);
+        fieldSet.addAll(fields);
+        return new CramProjection(fieldSet);
+    }
+
+    /**
+     * @return the projected fields
+     */
+    public Set<CramField> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param field a record field
+     * @return true if {@code field} is projected
+     */
+    public boolean includes(final CramField field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * @return the data series that must be decoded for this projection
+     */
+    public Set<DataSeries> getRequiredDataSeries() {
+        return requiredDataSeries;
+    }
+
+    /**
+     * @param dataSeries a data series
+     * @return true if {@code dataSeries} must be decoded for this projection
+     */
+    public boolean requires(final DataSeries dataSeries) {
+        return requiredDataSeries.contains(dataSeries);
+    }
+
+    /**
+     * Determine which external blocks of a slice need not be decompressed for this projection.
+     *
+     * A block is skippable only if no required data series is written to it. Data series that are not encoded to
+     * an external block (i.e., are in the core block) are absent from {@code dataSeriesContentIds}; the core block
+     * is always decoded, so they never make a block skippable.
+     *
+     * @param dataSeriesContentIds external block content ID of each data series with an external encoding, from
+     *                             the compression header data series encoding map
+     * @param tagContentIds external block content IDs holding tag values, from the compression header tag
+     *                      encoding map
+     * @return content IDs of the external blocks that can be skipped
+     */
+    public Set<Integer> getSkippableContentIds(
+            final Map<DataSeries, Integer> dataSeriesContentIds,
+            final Collection<Integer> tagContentIds) {
+        ParamUtils.nonNull(dataSeriesContentIds, () -> "data series content IDs cannot be null");
+        ParamUtils.nonNull(tagContentIds, () -> "tag content IDs cannot be null");
+
+        final Set<Integer> requiredContentIds = new HashSet<>();
+        final Set<Integer> skippableContentIds = new HashSet<>();
+        dataSeriesContentIds.forEach((series, contentId) -> {
+            if (requires(series)) {
+                requiredContentIds.add(contentId);
+            } else {
+                skippableContentIds.add(contentId);
+            }
+        });
+        if (includes(CramField.TAGS)) {
+            requiredContentIds.addAll(tagContentIds);
+        } else {
+            skippableContentIds.addAll(tagContentIds);
+        }
+        skippableContentIds.removeAll(requiredContentIds);
+        return skippableContentIds;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CramProjection)) return false;
+
+        return fields.equals(((CramProjection) o).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CramProjection" + fields;
+    }
+}
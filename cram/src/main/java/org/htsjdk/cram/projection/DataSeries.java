@@ -0,0 +1,58 @@
+package org.htsjdk.cram.projection;
+
+/**
+ * The CRAM 3.0 record data series (section 8.4 of the CRAM specification), each identified by its two-letter key
+ * in the compression header data series encoding map.
+ */
+public enum DataSeries {
+    BF("BAM bit flags"),
+    CF("CRAM bit flags"),
+    RI("reference ID"),
+    RL("read length"),
+    AP("in-seq positions"),
+    RG("read groups"),
+    RN("read names"),
+    MF("next mate bit flags"),
+    NS("next fragment reference ID"),
+    NP("next mate alignment start"),
+    TS("template size"),
+    NF("distance to next fragment"),
+    TL("tag IDs"),
+    FN("number of read features"),
+    FC("read feature codes"),
+    FP("in-read positions"),
+    DL("deletion lengths"),
+    BB("stretches of bases"),
+    QQ("stretches of quality scores"),
+    BS("base substitution codes"),
+    IN("insertions"),
+    RS("reference skip lengths"),
+    PD("padding lengths"),
+    HC("hard clip lengths"),
+    SC("soft clips"),
+    MQ("mapping qualities"),
+    BA("bases"),
+    QS("quality scores"),
+    TC("legacy tag count"),
+    TN("legacy tag name and type");
+
+    private final String description;
+
+    DataSeries(final String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return the two-letter key of this data series
+     */
+    public String getKey() {
+        return name();
+    }
+
+    /**
+     * @return a short description of this data series
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains the column projection API, used to decode only the record fields a caller needs from a CRAM slice.
+ */
+package org.htsjdk.cram.projection;
@@ -0,0 +1,118 @@
+package org.htsjdk.cram.filter;
+
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+public class CramFilterTest extends HtsjdkBaseTest {
+
+    private static final int PAIRED = 0x1;
+    private static final int DUPLICATE = 0x400;
+
+    private static HeaderSummary summary(final int referenceSequenceId, final int start, final int span, final int records) {
+        return new HeaderSummary(referenceSequenceId, start, span, records, Optional.empty());
+    }
+
+    private static HeaderSummary summary(final SliceStatistics statistics) {
+        return new HeaderSummary(0, 1, 1000, 10, Optional.of(statistics));
+    }
+
+    @DataProvider
+    public Object[][] headerCases() {
+        final CramFilter chr1Range = CramFilter.builder().setReferenceSequenceId(1).setRange(1000, 2000).build();
+        final CramFilter unmapped = CramFilter.builder().setReferenceSequenceId(HeaderSummary.UNMAPPED_REFERENCE_ID).build();
+        final CramFilter minMapq = CramFilter.builder().setMinMappingQuality(30).build();
+        final CramFilter pairedOnly = CramFilter.builder().setRequiredFlags(PAIRED).build();
+        final CramFilter noDuplicates = CramFilter.builder().setExcludedFlags(DUPLICATE).build();
+
+        return new Object[][] {
+                { CramFilter.ALL, summary(0, 1, 100, 10), true },
+                { CramFilter.ALL, summary(0, 1, 100, 0), false },
+
+                { chr1Range, summary(1, 500, 600, 10), true },
+                { chr1Range, summary(1, 2000, 10, 10), true },
+                { chr1Range, summary(1, 2001, 10, 10), false },
+                { chr1Range, summary(1, 1, 999, 10), false },
+                { chr1Range, summary(0, 1000, 100, 10), false },
+                { chr1Range, summary(HeaderSummary.UNMAPPED_REFERENCE_ID, 0, 0, 10), false },
+                { chr1Range, summary(HeaderSummary.MULTIPLE_REFERENCE_ID, 0, 0, 10), true },
+
+                { unmapped, summary(HeaderSummary.UNMAPPED_REFERENCE_ID, 0, 0, 10), true },
+                { unmapped, summary(3, 1, 100, 10), false },
+
+                // statistics absent: can't rule anything out
+                { minMapq, summary(0, 1, 100, 10), true },
+                { minMapq, summary(new SliceStatistics(0, 29, 0, 0)), false },
+                { minMapq, summary(new SliceStatistics(0, 30, 0, 0)), true },
+
+                { pairedOnly, summary(new SliceStatistics(0, 60, DUPLICATE, 0)), false },
+                { pairedOnly, summary(new SliceStatistics(0, 60, PAIRED | DUPLICATE, 0)), true },
+
+                { noDuplicates, summary(new SliceStatistics(0, 60, PAIRED | DUPLICATE, DUPLICATE)), false },
+                { noDuplicates, summary(new SliceStatistics(0, 60, PAIRED | DUPLICATE, PAIRED)), true },
+        };
+    }
+
+    @Test(dataProvider = "headerCases")
+    public void testMayMatch(final CramFilter filter, final HeaderSummary summary, final boolean expected) {
+        Assert.assertEquals(filter.mayMatch(summary), expected);
+    }
+
+    @Test
+    public void testMatches() {
+        final CramFilter filter = CramFilter.builder()
+                .setReferenceSequenceId(2)
+                .setRange(100, 200)
+                .setMinMappingQuality(20)
+                .setRequiredFlags(PAIRED)
+                .setExcludedFlags(DUPLICATE)
+                .build();
+
+        Assert.assertTrue(filter.matches(2, 150, 250, 20, PAIRED));
+        Assert.assertFalse(filter.matches(1, 150, 250, 20, PAIRED));
+        Assert.assertFalse(filter.matches(2, 201, 250, 20, PAIRED));
+        Assert.assertFalse(filter.matches(2, 150, 250, 19, PAIRED));
+        Assert.assertFalse(filter.matches(2, 150, 250, 20, 0));
+        Assert.assertFalse(filter.matches(2, 150, 250, 20, PAIRED | DUPLICATE));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testConflictingFlags() {
+        CramFilter.builder().setRequiredFlags(DUPLICATE).setExcludedFlags(DUPLICATE).build();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRangeWithoutReference() {
+        CramFilter.builder().setRange(1, 100).build();
+    }
+
+    @Test
+    public void testStatisticsAccumulateAndRoundTrip() {
+        final SliceStatistics.Accumulator first = SliceStatistics.accumulator();
+        first.add(10, PAIRED | DUPLICATE);
+        first.add(40, PAIRED);
+        final SliceStatistics.Accumulator second = SliceStatistics.accumulator();
+        second.add(5, PAIRED);
+        first.merge(second);
+        first.merge(SliceStatistics.accumulator());
+
+        final SliceStatistics statistics = first.build();
+        Assert.assertEquals(first.getRecordCount(), 3);
+        Assert.assertEquals(statistics, new SliceStatistics(5, 40, PAIRED | DUPLICATE, PAIRED));
+        Assert.assertEquals(statistics.encode().length, SliceStatistics.ENCODED_SIZE);
+        Assert.assertEquals(SliceStatistics.decode(statistics.encode()), statistics);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testEmptyStatistics() {
+        SliceStatistics.accumulator().build();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDecodeTruncatedStatistics() {
+        SliceStatistics.decode(new byte[3]);
+    }
+}
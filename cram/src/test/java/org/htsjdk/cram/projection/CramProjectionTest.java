@@ -0,0 +1,89 @@
+package org.htsjdk.cram.projection;
+
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class CramProjectionTest extends HtsjdkBaseTest {
+
+    // one external block per data series, with content ID equal to the ordinal, and tags in blocks 100 and 101
+    private static Map<DataSeries, Integer> oneBlockPerSeries() {
+        final Map<DataSeries, Integer> contentIds = new EnumMap<>(DataSeries.class);
+        for (final DataSeries series : DataSeries.values()) {
+            contentIds.put(series, series.ordinal());
+        }
+        return contentIds;
+    }
+
+    @Test
+    public void testCoverageProjection() {
+        final CramProjection projection = CramProjection.of(
+                CramField.FLAGS, CramField.REFERENCE, CramField.ALIGNMENT_START, CramField.CIGAR);
+
+        Assert.assertTrue(projection.requires(DataSeries.CF));
+        Assert.assertTrue(projection.requires(DataSeries.AP));
+        Assert.assertTrue(projection.requires(DataSeries.DL));
+        Assert.assertFalse(projection.requires(DataSeries.RN));
+        Assert.assertFalse(projection.requires(DataSeries.QS));
+        Assert.assertFalse(projection.requires(DataSeries.BA));
+        Assert.assertFalse(projection.requires(DataSeries.TL));
+
+        Assert.assertEquals(
+                projection.getSkippableContentIds(oneBlockPerSeries(), Arrays.asList(100, 101)),
+                new HashSet<>(Arrays.asList(
+                        DataSeries.RG.ordinal(), DataSeries.RN.ordinal(), DataSeries.MF.ordinal(),
+                        DataSeries.NS.ordinal(), DataSeries.NP.ordinal(), DataSeries.TS.ordinal(),
+                        DataSeries.NF.ordinal(), DataSeries.TL.ordinal(), DataSeries.BB.ordinal(),
+                        DataSeries.QQ.ordinal(), DataSeries.BS.ordinal(), DataSeries.MQ.ordinal(),
+                        DataSeries.BA.ordinal(), DataSeries.QS.ordinal(), DataSeries.TC.ordinal(),
+                        DataSeries.TN.ordinal(), 100, 101)));
+    }
+
+    @Test
+    public void testSharedBlockIsNotSkipped() {
+        final Map<DataSeries, Integer> contentIds = oneBlockPerSeries();
+        // read names share a block with the mapping qualities, which are required
+        contentIds.put(DataSeries.RN, DataSeries.MQ.ordinal());
+        // quality scores are in the core block
+        contentIds.remove(DataSeries.QS);
+
+        final CramProjection projection = CramProjection.of(CramField.MAPPING_QUALITY);
+        final Set<Integer> skippable = projection.getSkippableContentIds(contentIds, Collections.emptyList());
+        Assert.assertFalse(skippable.contains(DataSeries.MQ.ordinal()));
+        Assert.assertFalse(skippable.contains(DataSeries.CF.ordinal()));
+        Assert.assertTrue(skippable.contains(DataSeries.BA.ordinal()));
+    }
+
+    @Test
+    public void testFlagsAreNeverSkippedForMappedFields() {
+        for (final CramField field : Arrays.asList(
+                CramField.CIGAR, CramField.MAPPING_QUALITY, CramField.BASES, CramField.QUALITY_SCORES)) {
+            final CramProjection projection = CramProjection.of(field);
+            Assert.assertTrue(projection.requires(DataSeries.BF), field.name());
+            Assert.assertFalse(projection.getSkippableContentIds(oneBlockPerSeries(), Collections.emptyList())
+                    .contains(DataSeries.BF.ordinal()), field.name());
+        }
+    }
+
+    @Test
+    public void testAllProjectionSkipsNothing() {
+        Assert.assertEquals(CramProjection.ALL.getRequiredDataSeries(), EnumSet.allOf(DataSeries.class));
+        Assert.assertTrue(CramProjection.ALL.getSkippableContentIds(oneBlockPerSeries(), Arrays.asList(100)).isEmpty());
+    }
+
+    @Test
+    public void testEmptyProjection() {
+        final CramProjection projection = CramProjection.of();
+        Assert.assertTrue(projection.getFields().isEmpty());
+        Assert.assertEquals(projection.getRequiredDataSeries(), EnumSet.of(DataSeries.CF));
+        Assert.assertEquals(projection, CramProjection.of(Collections.emptyList()));
+    }
+}
@@ -0,0 +1,229 @@
+package org.htsjdk.generator;
+
+import org.htsjdk.core.api.io.CommittableOutputStream;
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.exception.HtsjdkIOException;
+import org.htsjdk.core.partition.PartitioningWriter;
+import org.htsjdk.core.partition.Partitioners;
+import org.htsjdk.core.utils.ParamUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes synthetic test data sets for load and scaling tests: a reference, as FASTA, and records aligned to it,
+ * as {@link org.htsjdk.core.partition.ShardFormat shards} written by a {@link PartitioningWriter}. All the output
+ * goes through {@link IOResource#getOutputStream(WriteOptions)}.
+ *
+ * Data sets are fully determined by their parameters, so the same command always produces the same files, and
+ * large data sets can be regenerated rather than stored. From the command line:
+ *
+ * <pre>
+ *     DataGenerator --output /data/synthetic --reference-length 3G --contigs 24 --coverage 30 \
+ *             --skew HOTSPOTS --partitions 64
+ * </pre>
+ *
+ * Run without arguments for the list of options.
+ */
+public final class DataGenerator {
+
+    /**
+     * Name of the reference written to the output directory.
+     */
+    public static final String REFERENCE_FILE_NAME = "reference.fa";
+
+    /**
+     * Default number of bases per FASTA line.
+     */
+    public static final int DEFAULT_LINE_WIDTH = 60;
+
+    /**
+     * Default genomic bin size used to partition the records.
+     */
+    public static final int DEFAULT_BIN_SIZE = 100_000;
+
+    // cannot be instantiated
+    private DataGenerator() {}
+
+    /**
+     * Write a reference as FASTA.
+     *
+     * @param reference the reference. May not be null.
+     * @param output the resource to write. May not be null.
+     * @param lineWidth number of bases per line. Must be positive.
+     * @param writeOptions options of the output stream. May not be null.
+     * @throws HtsjdkIOException if writing fails
+     */
+    public static void writeReference(
+            final SyntheticReference reference,
+            final IOResource output,
+            final int lineWidth,
+            final WriteOptions writeOptions) {
+        ParamUtils.nonNull(reference, () -> "reference cannot be null");
+        ParamUtils.nonNull(output, () -> "output cannot be null");
+        try (final CommittableOutputStream outputStream = output.getOutputStream(writeOptions)) {
+            reference.writeFasta(outputStream, lineWidth);
+            outputStream.commit();
+        } catch (final IOException e) {
+            throw new HtsjdkIOException("Failed writing reference to " + output.getURIString(), e);
+        }
+    }
+
+    /**
+     * Write all the records of a generator into shards, partitioned by genomic bin.
+     *
+     * @param generator the records to write. May not be null.
+     * @param shards the shards, one per partition. May not be null or empty.
+     * @param binSize genomic bin size, in bases, of the partitioning. Must be positive.
+     * @param writeOptions options of the output streams of the shards. May not be null.
+     * @return number of records written
+     * @throws HtsjdkIOException if writing fails
+     */
+    public static long writeRecords(
+            final RecordGenerator generator,
+            final List<? extends IOResource> shards,
+            final int binSize,
+            final WriteOptions writeOptions) {
+        ParamUtils.nonNull(generator, () -> "generator cannot be null");
+        long count = 0;
+        try (final PartitioningWriter<SyntheticRecord> writer = PartitioningWriter
+                .builder(shards, SyntheticRecordCodec.INSTANCE, Partitioners.<SyntheticRecord>byGenomicBin(binSize))
+                .setWriteOptions(writeOptions)
+                .build()) {
+            final Iterator<SyntheticRecord> records = generator.records();
+            while (records.hasNext()) {
+                writer.write(records.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generate a data set from command line options.
+     *
+     * @param args options, as {@code --name value} pairs
+     */
+    public static void main(final String[] args) {
+        final Path outputDirectory;
+        final SyntheticReference reference;
+        final RecordGenerator generator;
+        final WriteOptions writeOptions;
+        final int partitionCount;
+        final int binSize;
+        // malformed numbers (NumberFormatException), unknown skews and out of range values are reported with the usage
+        try {
+            final Map<String, String> options = parseOptions(args);
+            outputDirectory = Paths.get(options.get("output"));
+            final long seed = Long.parseLong(options.get("seed"));
+            reference = SyntheticReference.builder()
+                    .setSeed(seed)
+                    .addContigs(Integer.parseInt(options.get("contigs")), parseSize(options.get("reference-length")))
+                    .setNFraction(Double.parseDouble(options.get("n-fraction")))
+                    .setRepeatFraction(Double.parseDouble(options.get("repeat-fraction")))
+                    .build();
+            generator = RecordGenerator.builder(reference)
+                    .setSeed(seed)
+                    .setCoverage(Double.parseDouble(options.get("coverage")))
+                    .setRecordLength(Integer.parseInt(options.get("record-length")))
+                    .setMismatchRate(Double.parseDouble(options.get("mismatch-rate")))
+                    .setSkew(RecordGenerator.Skew.valueOf(options.get("skew").toUpperCase(Locale.ROOT)))
+                    .build();
+            writeOptions = WriteOptions.builder()
+                    .setBufferSize((int) parseSize(options.get("buffer-size")))
+                    .setSyncPolicy(WriteOptions.SyncPolicy.NEVER)
+                    .build();
+            partitionCount = Integer.parseInt(options.get("partitions"));
+            ParamUtils.validate(partitionCount > 0, () -> "partitions must be positive: " + partitionCount);
+            binSize = Integer.parseInt(options.get("bin-size"));
+            ParamUtils.validate(binSize > 0, () -> "bin size must be positive: " + binSize);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (final IOException e) {
+            throw new HtsjdkIOException("Could not create output directory " + outputDirectory, e);
+        }
+        final long start = System.nanoTime();
+        writeReference(reference, new PathSpecifier(outputDirectory.resolve(REFERENCE_FILE_NAME).toString()),
+                DEFAULT_LINE_WIDTH, writeOptions);
+        final List<IOResource> shards = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            shards.add(new PathSpecifier(outputDirectory.resolve(String.format("records.%05d.shard", i)).toString()));
+        }
+        System.out.printf("Writing %,d bases and about %,d records to %s%n",
+                reference.getTotalLength(), generator.getExpectedRecordCount(), outputDirectory);
+        final long recordCount = writeRecords(generator, shards, binSize, writeOptions);
+        System.out.printf("Wrote %,d records in %.1f s%n", recordCount, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static final String USAGE = String.join("\n",
+            "Options (all but --output are optional; sizes accept binary K, M and G suffixes):",
+            "  --output DIR             output directory",
+            "  --seed N                 seed of the reference and the records (0)",
+            "  --contigs N              number of contigs (24)",
+            "  --reference-length SIZE  total length of the reference (100M)",
+            "  --n-fraction F           fraction of the reference made of N runs (0.01)",
+            "  --repeat-fraction F      fraction of the reference made of tandem repeats (0.02)",
+            "  --coverage X             mean coverage of the records (30)",
+            "  --record-length N        length of the records (150)",
+            "  --mismatch-rate F        per-base mismatch rate of the records (0.001)",
+            "  --skew NAME              one of NONE, HOTSPOTS, STACKED, FIRST_CONTIG, LONG_RECORDS (NONE)",
+            "  --partitions N           number of record shards (1)",
+            "  --bin-size N             genomic bin size of the partitioning (" + DEFAULT_BIN_SIZE + ")",
+            "  --buffer-size SIZE       output buffer size (" + WriteOptions.DEFAULT_BUFFER_SIZE + ")");
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put("seed", "0");
+        options.put("contigs", "24");
+        options.put("reference-length", "100M");
+        options.put("n-fraction", "0.01");
+        options.put("repeat-fraction", "0.02");
+        options.put("coverage", "30");
+        options.put("record-length", "150");
+        options.put("mismatch-rate", "0.001");
+        options.put("skew", RecordGenerator.Skew.NONE.name());
+        options.put("partitions", "1");
+        options.put("bin-size", Integer.toString(DEFAULT_BIN_SIZE));
+        options.put("buffer-size", Integer.toString(WriteOptions.DEFAULT_BUFFER_SIZE));
+
+        for (int i = 0; i < args.length; i += 2) {
+            final String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || (!options.containsKey(name) && !name.equals("output"))) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for option: " + args[i]);
+            }
+            options.put(name, args[i + 1]);
+        }
+        if (!options.containsKey("output")) {
+            throw new IllegalArgumentException("Missing option: --output");
+        }
+        return options;
+    }
+
+    // parse a size with an optional binary K, M or G suffix
+    static long parseSize(final String size) {
+        final char suffix = Character.toUpperCase(size.charAt(size.length() - 1));
+        final int shift = suffix == 'K' ? 10 : suffix == 'M' ? 20 : suffix == 'G' ? 30 : 0;
+        final String digits = shift == 0 ? size : size.substring(0, size.length() - 1);
+        return Long.parseLong(digits) << shift;
+    }
+}
@@ -0,0 +1,365 @@
+package org.htsjdk.generator;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Generates deterministic, coordinate-sorted streams of {@link SyntheticRecord}s aligned to a
+ * {@link SyntheticReference}, at a given mean coverage.
+ *
+ * Record starts are a Poisson process along each contig, so coverage is uniform on average, unless a
+ * {@link Skew} concentrates records in some places to reproduce a pathological distribution. Records copy their
+ * bases from the reference, with random substitutions. Records are generated lazily, so streams of any size can be
+ * produced in constant memory.
+ *
+ * Each contig has its own random stream, derived from the seed and the contig index: the records of a contig are
+ * the same whether or not the other contigs are generated, so contigs can be generated independently, e.g. in
+ * parallel or in separate processes.
+ */
+public final class RecordGenerator {
+
+    /**
+     * Size of the windows over which the start rate is constant, in bases.
+     */
+    public static final int WINDOW_SIZE = 10_000;
+
+    /**
+     * Mapping quality of records starting in unique (not low-complexity) regions of the reference.
+     */
+    public static final int UNIQUE_MAPPING_QUALITY = 60;
+
+    private static final String BASES = "ACGT";
+
+    // HOTSPOTS: fraction of the windows that are hot, and their coverage relative to the other windows
+    private static final double HOTSPOT_FRACTION = 0.01;
+    private static final double HOTSPOT_MULTIPLIER = 100;
+    // STACKED: mean number of records sharing a start
+    private static final int MEAN_STACK_SIZE = 50;
+    // LONG_RECORDS: ratio between the longest and the shortest records
+    private static final double LONG_RECORD_RATIO = 100;
+
+    /**
+     * Distribution of the records.
+     */
+    public enum Skew {
+        /**
+         * Uniform coverage, with records of the configured length.
+         */
+        NONE,
+        /**
+         * {@code 1%} of the {@value RecordGenerator#WINDOW_SIZE}-base windows get 100 times the coverage of the others, as with
+         * amplified regions or collapsed repeats.
+         */
+        HOTSPOTS,
+        /**
+         * Records come in stacks of up to {@code 99} records with the same start and length, all but the first
+         * flagged as duplicates, as with PCR duplicates in low-complexity libraries.
+         */
+        STACKED,
+        /**
+         * All the records are on the first contig, at the coverage that the whole reference would have had,
+         * leaving the other contigs empty.
+         */
+        FIRST_CONTIG,
+        /**
+         * Record lengths are spread log-uniformly from the configured length to 100 times that, as with long reads.
+         */
+        LONG_RECORDS
+    }
+
+    private final SyntheticReference reference;
+    private final long seed;
+    private final double coverage;
+    private final int recordLength;
+    private final double mismatchRate;
+    private final Skew skew;
+
+    private RecordGenerator(final Builder builder) {
+        this.reference = builder.reference;
+        this.seed = builder.seed;
+        this.coverage = builder.coverage;
+        this.recordLength = builder.recordLength;
+        this.mismatchRate = builder.mismatchRate;
+        this.skew = builder.skew;
+    }
+
+    /**
+     * @param reference the reference to which records are aligned. May not be null.
+     * @return a new builder
+     */
+    public static Builder builder(final SyntheticReference reference) {
+        return new Builder(reference);
+    }
+
+    /**
+     * @return the reference to which records are aligned
+     */
+    public SyntheticReference getReference() {
+        return reference;
+    }
+
+    /**
+     * @return the expected number of records over the whole reference
+     */
+    public long getExpectedRecordCount() {
+        return Math.round(coverage * reference.getTotalLength() / getMeanRecordLength());
+    }
+
+    /**
+     * @return the records of all the contigs, in contig order and coordinate-sorted within each contig
+     */
+    public Iterator<SyntheticRecord> records() {
+        return new Iterator<SyntheticRecord>() {
+            private int contigIndex = 0;
+            private Iterator<SyntheticRecord> current = contigRecords(0);
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && contigIndex < reference.getContigCount() - 1) {
+                    current = contigRecords(++contigIndex);
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public SyntheticRecord next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * @param contigIndex index of the contig
+     * @return the coordinate-sorted records of a contig
+     */
+    public Iterator<SyntheticRecord> contigRecords(final int contigIndex) {
+        ParamUtils.validateIndex(contigIndex, reference.getContigCount());
+        return new ContigIterator(contigIndex);
+    }
+
+    private double getMeanRecordLength() {
+        return skew == Skew.LONG_RECORDS
+                ? recordLength * (LONG_RECORD_RATIO - 1) / Math.log(LONG_RECORD_RATIO)
+                : recordLength;
+    }
+
+    // expected number of record starts per base (or stacks, for STACKED) in a window of a contig
+    private double getStartRate(final int contigIndex, final long window) {
+        final double rate = coverage / getMeanRecordLength();
+        switch (skew) {
+            case HOTSPOTS:
+                final boolean hot = (SyntheticReference.mix(seed, contigIndex, window, 3) >>> 11) * 0x1.0p-53 < HOTSPOT_FRACTION;
+                return rate * (hot ? HOTSPOT_MULTIPLIER : 1) / (1 + HOTSPOT_FRACTION * (HOTSPOT_MULTIPLIER - 1));
+            case STACKED:
+                return rate / MEAN_STACK_SIZE;
+            case FIRST_CONTIG:
+                return contigIndex == 0 ? rate * reference.getTotalLength() / reference.getContigLength(0) : 0;
+            default:
+                return rate;
+        }
+    }
+
+    private final class ContigIterator implements Iterator<SyntheticRecord> {
+        private final int contigIndex;
+        private final String contigName;
+        private final int contigLength;
+        private final SplittableRandom random;
+
+        // continuous position of the last start, whose integer part is the 1-based start
+        private double position = 1;
+        private long recordCount;
+        // remaining records of the current stack, which share the start and length of stackTemplate
+        private int stackRemaining;
+        private SyntheticRecord stackTemplate;
+        private SyntheticRecord next;
+
+        private ContigIterator(final int contigIndex) {
+            this.contigIndex = contigIndex;
+            this.contigName = reference.getContigName(contigIndex);
+            this.contigLength = reference.getContigLength(contigIndex);
+            this.random = new SplittableRandom(SyntheticReference.mix(seed, contigIndex, 0, 4));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = generate();
+            }
+            return next != null;
+        }
+
+        @Override
+        public SyntheticRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final SyntheticRecord record = next;
+            next = null;
+            return record;
+        }
+
+        private SyntheticRecord generate() {
+            if (stackRemaining > 0) {
+                stackRemaining--;
+                return createRecord(stackTemplate.getStart(), stackTemplate.getBases().length, SyntheticRecord.DUPLICATE);
+            }
+            final int start = nextStart();
+            if (start < 0) {
+                return null;
+            }
+            final SyntheticRecord record = createRecord(start, nextLength(start), 0);
+            if (skew == Skew.STACKED) {
+                stackTemplate = record;
+                stackRemaining = random.nextInt(2 * MEAN_STACK_SIZE - 1);
+            }
+            return record;
+        }
+
+        // Advance to the next start, or return -1 past the end of the contig. Inter-arrival distances are
+        // exponential, and since they are memoryless, a draw that crosses a window boundary can be discarded and
+        // redrawn from the boundary at the rate of the next window.
+        private int nextStart() {
+            while (position < contigLength + 1) {
+                final long window = (long) (position - 1) / WINDOW_SIZE;
+                final double windowEnd = (window + 1) * WINDOW_SIZE + 1;
+                final double rate = getStartRate(contigIndex, window);
+                final double next = rate > 0 ? position - Math.log(1 - random.nextDouble()) / rate : windowEnd;
+                if (next < windowEnd) {
+                    position = next;
+                    if (position < contigLength + 1) {
+                        return (int) position;
+                    }
+                } else {
+                    position = windowEnd;
+                }
+            }
+            return -1;
+        }
+
+        private int nextLength(final int start) {
+            final int length = skew == Skew.LONG_RECORDS
+                    ? (int) (recordLength * Math.exp(random.nextDouble() * Math.log(LONG_RECORD_RATIO)))
+                    : recordLength;
+            return Math.min(length, contigLength - start + 1);
+        }
+
+        private SyntheticRecord createRecord(final int start, final int length, final int flags) {
+            final byte[] bases = reference.getBases(contigIndex, start, length);
+            addMismatches(bases);
+            final int strand = random.nextBoolean() ? SyntheticRecord.REVERSE_STRAND : 0;
+            final int mappingQuality = reference.isLowComplexity(contigIndex, start) ? 0 : UNIQUE_MAPPING_QUALITY;
+            return new SyntheticRecord(
+                    "r" + contigIndex + "." + recordCount++, contigName, start, flags | strand, mappingQuality, bases);
+        }
+
+        // substitute bases at geometrically distributed distances, rather than drawing once per base
+        private void addMismatches(final byte[] bases) {
+            if (mismatchRate == 0) {
+                return;
+            }
+            final double logKeep = Math.log(1 - mismatchRate);
+            long index = -1;
+            while (true) {
+                index += 1 + (long) (Math.log(1 - random.nextDouble()) / logKeep);
+                if (index >= bases.length) {
+                    return;
+                }
+                bases[(int) index] = substitute(bases[(int) index]);
+            }
+        }
+
+        // replace a base by one of the three others, leaving N unchanged
+        private byte substitute(final byte base) {
+            final int index = BASES.indexOf(base);
+            return index < 0 ? base : (byte) BASES.charAt((index + 1 + random.nextInt(3)) & 3);
+        }
+    }
+
+    /**
+     * Builder for {@link RecordGenerator}.
+     */
+    public static final class Builder {
+        private final SyntheticReference reference;
+        private long seed;
+        private double coverage = 30;
+        private int recordLength = 150;
+        private double mismatchRate = 0.001;
+        private Skew skew = Skew.NONE;
+
+        private Builder(final SyntheticReference reference) {
+            this.reference = ParamUtils.nonNull(reference, () -> "reference cannot be null");
+        }
+
+        /**
+         * Set the seed of the records (defaults to 0). Independent of the seed of the reference.
+         *
+         * @param seed the seed
+         * @return this builder
+         */
+        public Builder setSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Set the mean coverage of the reference by the records (defaults to 30).
+         *
+         * @param coverage mean coverage. Must be positive.
+         * @return this builder
+         */
+        public Builder setCoverage(final double coverage) {
+            ParamUtils.validate(coverage > 0, () -> "coverage must be positive: " + coverage);
+            this.coverage = coverage;
+            return this;
+        }
+
+        /**
+         * Set the length of the records (defaults to 150). Records are clipped at the end of their contig.
+         *
+         * @param recordLength record length, in bases. Must be positive.
+         * @return this builder
+         */
+        public Builder setRecordLength(final int recordLength) {
+            ParamUtils.validate(recordLength > 0, () -> "record length must be positive: " + recordLength);
+            this.recordLength = recordLength;
+            return this;
+        }
+
+        /**
+         * Set the probability that a base of a record differs from the reference (defaults to 0.001).
+         *
+         * @param mismatchRate probability, from 0 (inclusive) to 1 (exclusive)
+         * @return this builder
+         */
+        public Builder setMismatchRate(final double mismatchRate) {
+            ParamUtils.validate(mismatchRate >= 0 && mismatchRate < 1,
+                    () -> "mismatch rate must be in [0, 1): " + mismatchRate);
+            this.mismatchRate = mismatchRate;
+            return this;
+        }
+
+        /**
+         * Set the distribution of the records (defaults to {@link Skew#NONE}).
+         *
+         * @param skew the distribution. May not be null.
+         * @return this builder
+         */
+        public Builder setSkew(final Skew skew) {
+            this.skew = ParamUtils.nonNull(skew, () -> "skew cannot be null");
+            return this;
+        }
+
+        /**
+         * @return a new {@link RecordGenerator}
+         */
+        public RecordGenerator build() {
+            return new RecordGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.htsjdk.generator;
+
+import org.htsjdk.core.api.Locatable;
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A synthetic aligned record, generated by {@link RecordGenerator}: a read with an ungapped alignment to a
+ * {@link SyntheticReference}.
+ */
+public final class SyntheticRecord implements Locatable {
+
+    /**
+     * Flag of records aligned to the reverse strand (as in SAM).
+     */
+    public static final int REVERSE_STRAND = 0x10;
+
+    /**
+     * Flag of records that are duplicates of a previous record (as in SAM).
+     */
+    public static final int DUPLICATE = 0x400;
+
+    private final String name;
+    private final String contig;
+    private final int start;
+    private final int flags;
+    private final int mappingQuality;
+    private final byte[] bases;
+
+    /**
+     * @param name name of the record. May not be null.
+     * @param contig contig to which the record is aligned. May not be null.
+     * @param start 1-based alignment start. Must be positive.
+     * @param flags SAM flags
+     * @param mappingQuality mapping quality, from 0 to 255
+     * @param bases bases of the record, as upper case ASCII. May not be null or empty.
+     */
+    public SyntheticRecord(
+            final String name,
+            final String contig,
+            final int start,
+            final int flags,
+            final int mappingQuality,
+            final byte[] bases) {
+        this.name = ParamUtils.nonNull(name, () -> "name cannot be null");
+        this.contig = ParamUtils.nonNull(contig, () -> "contig cannot be null");
+        ParamUtils.validate(start >= 1, () -> "start must be positive: " + start);
+        ParamUtils.validate(mappingQuality >= 0 && mappingQuality <= 255,
+                () -> "mapping quality must be between 0 and 255: " + mappingQuality);
+        ParamUtils.validate(bases != null && bases.length > 0, () -> "bases cannot be null or empty");
+        this.start = start;
+        this.flags = flags;
+        this.mappingQuality = mappingQuality;
+        this.bases = bases;
+    }
+
+    /**
+     * @return name of the record
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getContig() {
+        return contig;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
+    }
+
+    @Override
+    public int getEnd() {
+        return start + bases.length - 1;
+    }
+
+    /**
+     * @return SAM flags
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return mapping quality
+     */
+    public int getMappingQuality() {
+        return mappingQuality;
+    }
+
+    /**
+     * @return bases of the record, as upper case ASCII. The array is not copied and must not be modified.
+     */
+    public byte[] getBases() {
+        return bases;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SyntheticRecord)) {
+            return false;
+        }
+        final SyntheticRecord that = (SyntheticRecord) o;
+        return start == that.start && flags == that.flags && mappingQuality == that.mappingQuality
+                && name.equals(that.name) && contig.equals(that.contig) && Arrays.equals(bases, that.bases);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, contig, start, flags);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s:%d-%d flags=%d mapq=%d %s",
+                name, contig, start, getEnd(), flags, mappingQuality, new String(bases, StandardCharsets.US_ASCII));
+    }
+}
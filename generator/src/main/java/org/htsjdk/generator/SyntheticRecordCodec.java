@@ -0,0 +1,49 @@
+package org.htsjdk.generator;
+
+import org.htsjdk.core.codec.BinaryInput;
+import org.htsjdk.core.codec.BinaryOutput;
+import org.htsjdk.core.codec.RecordCodec;
+
+/**
+ * {@link RecordCodec} for {@link SyntheticRecord}s.
+ */
+public final class SyntheticRecordCodec implements RecordCodec<SyntheticRecord> {
+
+    /**
+     * The codec instance (the codec is stateless).
+     */
+    public static final SyntheticRecordCodec INSTANCE = new SyntheticRecordCodec();
+
+    private SyntheticRecordCodec() {}
+
+    @Override
+    public String getName() {
+        return "htsjdk.generator.record";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void encode(final SyntheticRecord record, final BinaryOutput output) {
+        output.writeString(record.getName())
+                .writeSymbol(record.getContig())
+                .writeUnsignedInt(record.getStart())
+                .writeUnsignedInt(record.getFlags())
+                .writeByte(record.getMappingQuality())
+                .writeBases(record.getBases());
+    }
+
+    @Override
+    public SyntheticRecord decode(final BinaryInput input) {
+        return new SyntheticRecord(
+                input.readString(),
+                input.readSymbol(),
+                input.readUnsignedInt(),
+                input.readUnsignedInt(),
+                input.readByte(),
+                input.readBases());
+    }
+}
@@ -0,0 +1,319 @@
+package org.htsjdk.generator;
+
+import org.htsjdk.core.utils.ParamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A deterministic synthetic reference genome, derived from a seed.
+ *
+ * Bases are a pure function of the seed, the contig and the position, so any range can be regenerated at random
+ * and in parallel, without storing the reference: records generated by {@link RecordGenerator} copy their bases
+ * from it, and a FASTA written by {@link #writeFasta(OutputStream, int)} is identical on every run.
+ *
+ * Contigs are split into tiles of {@value #TILE_SIZE} bases. Most tiles hold uniformly random bases, but a
+ * configurable fraction are runs of {@code N}, and another fraction are short tandem repeats, so that the
+ * reference has the low-complexity regions that real data aligns poorly to.
+ */
+public final class SyntheticReference {
+
+    /**
+     * Number of bases per tile.
+     */
+    public static final int TILE_SIZE = 4096;
+
+    private static final byte[] BASES = { 'A', 'C', 'G', 'T' };
+    private static final int MAX_REPEAT_UNIT = 6;
+
+    private final long seed;
+    private final List<String> contigNames;
+    private final int[] contigLengths;
+    private final double nFraction;
+    private final double repeatFraction;
+
+    private SyntheticReference(final Builder builder) {
+        this.seed = builder.seed;
+        this.contigNames = Collections.unmodifiableList(new ArrayList<>(builder.contigNames));
+        this.contigLengths = builder.contigLengths.stream().mapToInt(Integer::intValue).toArray();
+        this.nFraction = builder.nFraction;
+        this.repeatFraction = builder.repeatFraction;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the seed from which the bases are derived
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return number of contigs
+     */
+    public int getContigCount() {
+        return contigLengths.length;
+    }
+
+    /**
+     * @return names of the contigs, in order
+     */
+    public List<String> getContigNames() {
+        return contigNames;
+    }
+
+    /**
+     * @param contigIndex index of the contig
+     * @return name of the contig
+     */
+    public String getContigName(final int contigIndex) {
+        return contigNames.get(contigIndex);
+    }
+
+    /**
+     * @param contigIndex index of the contig
+     * @return length of the contig, in bases
+     */
+    public int getContigLength(final int contigIndex) {
+        ParamUtils.validateIndex(contigIndex, contigLengths.length);
+        return contigLengths[contigIndex];
+    }
+
+    /**
+     * @return total length of all the contigs, in bases
+     */
+    public long getTotalLength() {
+        long total = 0;
+        for (final int length : contigLengths) {
+            total += length;
+        }
+        return total;
+    }
+
+    /**
+     * Determine if a position lies in a low-complexity tile (a run of {@code N} or a tandem repeat).
+     *
+     * @param contigIndex index of the contig
+     * @param position 1-based position
+     * @return true if the position is in a low-complexity tile
+     */
+    public boolean isLowComplexity(final int contigIndex, final int position) {
+        return tileKind(contigIndex, (position - 1) / TILE_SIZE) != TileKind.RANDOM;
+    }
+
+    /**
+     * Get the bases of a range of a contig.
+     *
+     * @param contigIndex index of the contig
+     * @param start 1-based start of the range
+     * @param length number of bases. The range must lie within the contig.
+     * @return the bases, as upper case ASCII
+     */
+    public byte[] getBases(final int contigIndex, final int start, final int length) {
+        final byte[] bases = new byte[length];
+        getBases(contigIndex, start, bases, 0, length);
+        return bases;
+    }
+
+    /**
+     * Get the bases of a range of a contig.
+     *
+     * @param contigIndex index of the contig
+     * @param start 1-based start of the range
+     * @param destination array into which the bases are written, as upper case ASCII
+     * @param offset index in {@code destination} of the first base
+     * @param length number of bases. The range must lie within the contig.
+     */
+    public void getBases(final int contigIndex, final int start, final byte[] destination, final int offset, final int length) {
+        final int contigLength = getContigLength(contigIndex);
+        ParamUtils.validate(start >= 1 && length >= 0 && (long) start - 1 + length <= contigLength,
+                () -> String.format("range %d+%d is outside of contig %s of length %d",
+                        start, length, contigNames.get(contigIndex), contigLength));
+        int index = 0;
+        while (index < length) {
+            final int position = start + index;
+            final int tile = (position - 1) / TILE_SIZE;
+            final int tileEnd = (int) Math.min(length, index + (long) (tile + 1) * TILE_SIZE + 1 - position);
+            final TileKind kind = tileKind(contigIndex, tile);
+            if (kind == TileKind.N) {
+                for (; index < tileEnd; index++) {
+                    destination[offset + index] = 'N';
+                }
+            } else if (kind == TileKind.REPEAT) {
+                final long tileHash = mix(seed, contigIndex, tile, 1);
+                final int period = 1 + (int) ((tileHash >>> 32) % MAX_REPEAT_UNIT);
+                for (; index < tileEnd; index++) {
+                    final int phase = (start + index - 1) % period;
+                    destination[offset + index] = BASES[(int) (tileHash >>> (2 * phase)) & 3];
+                }
+            } else {
+                // each hash gives the bases of 32 consecutive positions, so hash once per word
+                int word = -1;
+                long bits = 0;
+                for (; index < tileEnd; index++) {
+                    final int zeroBased = start + index - 1;
+                    if (zeroBased >>> 5 != word) {
+                        word = zeroBased >>> 5;
+                        bits = mix(seed, contigIndex, word, 2);
+                    }
+                    destination[offset + index] = BASES[(int) (bits >>> (2 * (zeroBased & 31))) & 3];
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the reference as FASTA.
+     *
+     * @param outputStream the stream to write to. It is not closed.
+     * @param lineWidth number of bases per line. Must be positive.
+     * @throws IOException if writing fails
+     */
+    public void writeFasta(final OutputStream outputStream, final int lineWidth) throws IOException {
+        ParamUtils.nonNull(outputStream, () -> "output stream cannot be null");
+        ParamUtils.validate(lineWidth > 0, () -> "line width must be positive: " + lineWidth);
+        final int linesPerChunk = Math.max(1, 64 * 1024 / lineWidth);
+        final byte[] chunk = new byte[linesPerChunk * (lineWidth + 1)];
+        for (int contigIndex = 0; contigIndex < contigLengths.length; contigIndex++) {
+            outputStream.write(('>' + contigNames.get(contigIndex) + '\n').getBytes(StandardCharsets.US_ASCII));
+            final int contigLength = contigLengths[contigIndex];
+            int position = 1;
+            while (position <= contigLength) {
+                int size = 0;
+                for (int line = 0; line < linesPerChunk && position <= contigLength; line++) {
+                    final int lineLength = Math.min(lineWidth, contigLength - position + 1);
+                    getBases(contigIndex, position, chunk, size, lineLength);
+                    size += lineLength;
+                    chunk[size++] = '\n';
+                    position += lineLength;
+                }
+                outputStream.write(chunk, 0, size);
+            }
+        }
+    }
+
+    private TileKind tileKind(final int contigIndex, final int tile) {
+        final double draw = (mix(seed, contigIndex, tile, 0) >>> 11) * 0x1.0p-53;
+        if (draw < nFraction) {
+            return TileKind.N;
+        }
+        return draw < nFraction + repeatFraction ? TileKind.REPEAT : TileKind.RANDOM;
+    }
+
+    // SplitMix64 finalizer over the combined inputs; package-private so that the record generator derives its
+    // random streams the same way
+    static long mix(final long seed, final long a, final long b, final long c) {
+        long z = seed + 0x9e3779b97f4a7c15L * (1 + a) + 0xc2b2ae3d27d4eb4fL * (1 + b) + 0x165667b19e3779f9L * (1 + c);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private enum TileKind { RANDOM, N, REPEAT }
+
+    /**
+     * Builder for {@link SyntheticReference}.
+     */
+    public static final class Builder {
+        private long seed;
+        private final List<String> contigNames = new ArrayList<>();
+        private final List<Integer> contigLengths = new ArrayList<>();
+        private double nFraction;
+        private double repeatFraction;
+
+        private Builder() {}
+
+        /**
+         * Set the seed from which the bases are derived (defaults to 0).
+         *
+         * @param seed the seed
+         * @return this builder
+         */
+        public Builder setSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Add a contig.
+         *
+         * @param name name of the contig. May not be null or empty, and must be unique.
+         * @param length length of the contig, in bases. Must be positive.
+         * @return this builder
+         */
+        public Builder addContig(final String name, final int length) {
+            ParamUtils.validate(name != null && !name.isEmpty(), () -> "contig name cannot be null or empty");
+            ParamUtils.validate(!contigNames.contains(name), () -> "duplicate contig name: " + name);
+            ParamUtils.validate(length > 0, () -> "contig length must be positive: " + length);
+            contigNames.add(name);
+            contigLengths.add(length);
+            return this;
+        }
+
+        /**
+         * Add {@code count} contigs named {@code chr1}, {@code chr2}..., splitting {@code totalLength} bases
+         * evenly between them.
+         *
+         * @param count number of contigs. Must be positive.
+         * @param totalLength total length of the contigs, in bases. Must be at least {@code count}, and each
+         *                    contig must fit in an {@code int}.
+         * @return this builder
+         */
+        public Builder addContigs(final int count, final long totalLength) {
+            ParamUtils.validate(count > 0, () -> "contig count must be positive: " + count);
+            ParamUtils.validate(totalLength >= count && (totalLength + count - 1) / count <= Integer.MAX_VALUE,
+                    () -> String.format("cannot split %d bases into %d contigs", totalLength, count));
+            final int first = contigNames.size();
+            for (int i = 0; i < count; i++) {
+                final long length = totalLength / count + (i < totalLength % count ? 1 : 0);
+                addContig("chr" + (first + i + 1), (int) length);
+            }
+            return this;
+        }
+
+        /**
+         * Set the fraction of tiles made only of {@code N} (defaults to 0).
+         *
+         * @param nFraction fraction between 0 and 1
+         * @return this builder
+         */
+        public Builder setNFraction(final double nFraction) {
+            ParamUtils.validate(nFraction >= 0 && nFraction <= 1, () -> "N fraction must be between 0 and 1: " + nFraction);
+            this.nFraction = nFraction;
+            return this;
+        }
+
+        /**
+         * Set the fraction of tiles made of short tandem repeats (defaults to 0).
+         *
+         * @param repeatFraction fraction between 0 and 1
+         * @return this builder
+         */
+        public Builder setRepeatFraction(final double repeatFraction) {
+            ParamUtils.validate(repeatFraction >= 0 && repeatFraction <= 1,
+                    () -> "repeat fraction must be between 0 and 1: " + repeatFraction);
+            this.repeatFraction = repeatFraction;
+            return this;
+        }
+
+        /**
+         * @return a new {@link SyntheticReference}
+         */
+        public SyntheticReference build() {
+            ParamUtils.validate(!contigNames.isEmpty(), () -> "reference must have at least one contig");
+            ParamUtils.validate(nFraction + repeatFraction <= 1,
+                    () -> String.format("N and repeat fractions add up to more than 1: %f + %f", nFraction, repeatFraction));
+            return new SyntheticReference(this);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.htsjdk.generator;
+
+import org.htsjdk.core.api.io.IOResource;
+import org.htsjdk.core.api.io.WriteOptions;
+import org.htsjdk.core.partition.ShardFormat;
+import org.htsjdk.core.utils.IOUtils;
+import org.htsjdk.core.utils.PathSpecifier;
+import org.htsjdk.test.HtsjdkBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+public class SyntheticDataTest extends HtsjdkBaseTest {
+
+    private static SyntheticReference reference(final long seed) {
+        return SyntheticReference.builder()
+                .setSeed(seed)
+                .addContigs(3, 300_000)
+                .setNFraction(0.1)
+                .setRepeatFraction(0.1)
+                .build();
+    }
+
+    private static List<SyntheticRecord> toList(final Iterator<SyntheticRecord> records) {
+        final List<SyntheticRecord> list = new ArrayList<>();
+        records.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    public void testReferenceIsDeterministic() throws IOException {
+        final SyntheticReference reference = reference(1);
+        Assert.assertEquals(reference.getContigNames().toString(), "[chr1, chr2, chr3]");
+        Assert.assertEquals(reference.getTotalLength(), 300_000);
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        reference.writeFasta(first, 70);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        reference(1).writeFasta(second, 70);
+        Assert.assertEquals(first.toByteArray(), second.toByteArray());
+        final ByteArrayOutputStream otherSeed = new ByteArrayOutputStream();
+        reference(2).writeFasta(otherSeed, 70);
+        Assert.assertNotEquals(first.toByteArray(), otherSeed.toByteArray());
+
+        // the FASTA holds the same bases as random access, and has N runs and repeats
+        final String[] lines = new String(first.toByteArray(), StandardCharsets.US_ASCII).split("\n");
+        final StringBuilder chr2 = new StringBuilder();
+        boolean inChr2 = false;
+        for (final String line : lines) {
+            if (line.startsWith(">")) {
+                inChr2 = line.equals(">chr2");
+            } else if (inChr2) {
+                Assert.assertTrue(line.length() <= 70);
+                chr2.append(line);
+            }
+        }
+        Assert.assertEquals(chr2.toString(), new String(reference.getBases(1, 1, 100_000), StandardCharsets.US_ASCII));
+        Assert.assertEquals(new String(reference.getBases(1, 4000, 200), StandardCharsets.US_ASCII),
+                chr2.substring(3999, 4199));
+        Assert.assertTrue(chr2.toString().matches("[ACGTN]+"));
+        final String allBases = String.join("", lines).replaceAll(">chr\\d", "");
+        Assert.assertTrue(allBases.contains(new String(new char[SyntheticReference.TILE_SIZE]).replace('\0', 'N')));
+    }
+
+    @DataProvider
+    public Object[][] skews() {
+        final List<Object[]> skews = new ArrayList<>();
+        for (final RecordGenerator.Skew skew : RecordGenerator.Skew.values()) {
+            skews.add(new Object[] { skew });
+        }
+        return skews.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "skews")
+    public void testRecords(final RecordGenerator.Skew skew) {
+        final SyntheticReference reference = reference(3);
+        final RecordGenerator generator = RecordGenerator.builder(reference)
+                .setSeed(7).setCoverage(5).setRecordLength(100).setMismatchRate(0).setSkew(skew).build();
+        final List<SyntheticRecord> records = toList(generator.records());
+
+        // the expected count, with some slack for stacks; with hotspots, the count depends on the few hot windows
+        if (skew != RecordGenerator.Skew.HOTSPOTS) {
+            Assert.assertEquals(records.size(), generator.getExpectedRecordCount(), generator.getExpectedRecordCount() * 0.25);
+        }
+        Assert.assertEquals(toList(generator.records()), records);
+        final List<SyntheticRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(SyntheticRecord::getContig).thenComparing(SyntheticRecord::getStart));
+        Assert.assertEquals(records, sorted);
+
+        final List<SyntheticRecord> byContig = new ArrayList<>();
+        for (int i = 0; i < reference.getContigCount(); i++) {
+            byContig.addAll(toList(generator.contigRecords(i)));
+        }
+        Assert.assertEquals(byContig, records);
+
+        for (final SyntheticRecord record : records) {
+            final int contigIndex = reference.getContigNames().indexOf(record.getContig());
+            Assert.assertTrue(record.getEnd() <= reference.getContigLength(contigIndex));
+            Assert.assertEquals(record.getBases(),
+                    reference.getBases(contigIndex, record.getStart(), record.getLengthOnReference()));
+        }
+
+        switch (skew) {
+            case FIRST_CONTIG:
+                Assert.assertTrue(records.stream().allMatch(r -> r.getContig().equals("chr1")));
+                break;
+            case STACKED:
+                Assert.assertTrue(records.stream().filter(r -> (r.getFlags() & SyntheticRecord.DUPLICATE) != 0).count()
+                        > records.size() / 2);
+                break;
+            case LONG_RECORDS:
+                Assert.assertTrue(records.stream().anyMatch(r -> r.getLengthOnReference() > 1000));
+                break;
+            default:
+                Assert.assertTrue(records.stream().noneMatch(r -> (r.getFlags() & SyntheticRecord.DUPLICATE) != 0));
+        }
+    }
+
+    @Test
+    public void testHotspots() {
+        final SyntheticReference reference = SyntheticReference.builder().setSeed(4).addContigs(1, 5_000_000).build();
+        final RecordGenerator generator = RecordGenerator.builder(reference)
+                .setCoverage(1).setSkew(RecordGenerator.Skew.HOTSPOTS).build();
+        final int[] windowCounts = new int[5_000_000 / RecordGenerator.WINDOW_SIZE];
+        generator.records().forEachRemaining(r -> windowCounts[(r.getStart() - 1) / RecordGenerator.WINDOW_SIZE]++);
+        final int[] sorted = windowCounts.clone();
+        Arrays.sort(sorted);
+        // the hottest windows have far more records than the median one
+        Assert.assertTrue(sorted[sorted.length - 1] > 20 * sorted[sorted.length / 2]);
+    }
+
+    @Test
+    public void testMismatches() {
+        final SyntheticReference reference = reference(5);
+        final RecordGenerator generator = RecordGenerator.builder(reference).setMismatchRate(0.01).build();
+        long bases = 0;
+        long mismatches = 0;
+        final Iterator<SyntheticRecord> records = generator.contigRecords(0);
+        while (records.hasNext()) {
+            final SyntheticRecord record = records.next();
+            final byte[] expected = reference.getBases(0, record.getStart(), record.getLengthOnReference());
+            for (int i = 0; i < expected.length; i++) {
+                if (expected[i] != 'N') {
+                    bases++;
+                    mismatches += expected[i] != record.getBases()[i] ? 1 : 0;
+                }
+            }
+        }
+        Assert.assertEquals(mismatches / (double) bases, 0.01, 0.002);
+    }
+
+    @Test
+    public void testWriteDataSet() throws IOException {
+        final SyntheticReference reference = reference(6);
+        final RecordGenerator generator = RecordGenerator.builder(reference).setCoverage(2).build();
+        final WriteOptions writeOptions = WriteOptions.builder().setBufferSize(64 * 1024).build();
+
+        final Path fasta = IOUtils.createTempPath("synthetic", ".fa");
+        DataGenerator.writeReference(reference, new PathSpecifier(fasta.toString()), 60, writeOptions);
+        final ByteArrayOutputStream expectedFasta = new ByteArrayOutputStream();
+        reference.writeFasta(expectedFasta, 60);
+        Assert.assertEquals(Files.readAllBytes(fasta), expectedFasta.toByteArray());
+
+        final List<IOResource> shards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            shards.add(new PathSpecifier(IOUtils.createTempPath("synthetic", ".shard").toString()));
+        }
+        final long count = DataGenerator.writeRecords(generator, shards, 10_000, writeOptions);
+
+        final List<SyntheticRecord> expected = toList(generator.records());
+        Assert.assertEquals(count, expected.size());
+        final List<SyntheticRecord> actual = new ArrayList<>();
+        for (final IOResource shard : shards) {
+            final List<SyntheticRecord> shardRecords = ShardFormat.readAll(shard, SyntheticRecordCodec.INSTANCE);
+            Assert.assertFalse(shardRecords.isEmpty());
+            actual.addAll(shardRecords);
+        }
+        final Comparator<SyntheticRecord> order = Comparator.comparing(SyntheticRecord::getContig)
+                .thenComparing(SyntheticRecord::getStart).thenComparing(SyntheticRecord::getName);
+        actual.sort(order);
+        expected.sort(order);
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParseSize() {
+        Assert.assertEquals(DataGenerator.parseSize("123"), 123);
+        Assert.assertEquals(DataGenerator.parseSize("4k"), 4096);
+        Assert.assertEquals(DataGenerator.parseSize("3G"), 3L << 30);
+    }
+}